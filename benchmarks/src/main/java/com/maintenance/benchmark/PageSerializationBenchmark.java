@@ -0,0 +1,81 @@
+package com.maintenance.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.maintenance.dto.TicketDTO;
+import com.maintenance.entity.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the page payloads returned by {@code GET /api/tickets}. The mapper is built
+ * the same way Spring Boot builds the one used by the MVC message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Ticket> ticketPage;
+    private Page<TicketDTO> ticketDtoPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+        List<Ticket> tickets = SampleData.tickets(pageSize);
+        ticketPage = new PageImpl<>(tickets, pageRequest, 5_000L);
+        ticketDtoPage = new PageImpl<>(tickets.stream().map(PageSerializationBenchmark::toDto).toList(),
+                pageRequest, 5_000L);
+    }
+
+    @Benchmark
+    public byte[] serializeTicketPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketPage);
+    }
+
+    @Benchmark
+    public byte[] serializeTicketDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketDtoPage);
+    }
+
+    private static TicketDTO toDto(Ticket ticket) {
+        TicketDTO dto = new TicketDTO();
+        dto.setId(ticket.getId());
+        dto.setTitle(ticket.getTitle());
+        dto.setDescription(ticket.getDescription());
+        dto.setCategoryId(ticket.getCategory().getId());
+        dto.setPriority(ticket.getPriority().name());
+        dto.setStatus(ticket.getStatus().name());
+        dto.setBuildingId(ticket.getBuilding().getId());
+        dto.setRoomId(ticket.getRoom().getId());
+        dto.setAssigneeId(ticket.getAssignee() != null ? ticket.getAssignee().getId() : null);
+        dto.setEstimatedCompletion(ticket.getEstimatedCompletion());
+        dto.setResolutionNotes(ticket.getResolutionNotes());
+        return dto;
+    }
+}
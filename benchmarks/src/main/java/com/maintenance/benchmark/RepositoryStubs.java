@@ -0,0 +1,35 @@
+package com.maintenance.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Minimal repository stand-ins so service code can be benchmarked without a database.
+ * Only the methods listed in {@code answers} are supported; anything else fails fast.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static <T> T stub(Class<T> repositoryType, Map<String, Supplier<?>> answers) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    Supplier<?> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.get();
+                    }
+                    return switch (method.getName()) {
+                        case "toString" -> repositoryType.getSimpleName() + "Stub";
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        default -> throw new UnsupportedOperationException(
+                                repositoryType.getSimpleName() + "." + method.getName() + " is not stubbed");
+                    };
+                });
+        return repositoryType.cast(proxy);
+    }
+}
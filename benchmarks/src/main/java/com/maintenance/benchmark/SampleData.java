@@ -0,0 +1,96 @@
+package com.maintenance.benchmark;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Room;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.Role;
+import com.maintenance.entity.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed, detached entity graphs shaped like what the REST layer returns.
+ */
+public final class SampleData {
+
+    // Fixed so serialized sizes do not drift between runs
+    public static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private SampleData() {
+    }
+
+    public static User user(long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuN0pS3cVv7eV3xZ1p0JQkFZ1Q6r8Ykq2");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setRole(role);
+        user.setPhoneNumber("555-01" + (id % 100));
+        user.setIsActive(true);
+        user.setCreatedAt(REFERENCE_TIME.minusDays(id % 365));
+        user.setUpdatedAt(REFERENCE_TIME);
+        return user;
+    }
+
+    public static List<Ticket> tickets(int count) {
+        User manager = user(1, Role.ADMIN);
+        User technician = user(2, Role.TECHNICIAN);
+
+        Building building = new Building();
+        building.setId(1L);
+        building.setName("Main Building");
+        building.setAddress("1 Main Street");
+        building.setCity("Springfield");
+        building.setState("IL");
+        building.setZipCode("62701");
+        building.setManager(manager);
+        building.setCreatedAt(REFERENCE_TIME);
+        building.setUpdatedAt(REFERENCE_TIME);
+
+        TicketCategory category = new TicketCategory();
+        category.setId(1L);
+        category.setName("Plumbing");
+        category.setDescription("Leaks, clogs and water pressure");
+        category.setDefaultPriority(Priority.HIGH);
+        category.setCreatedAt(REFERENCE_TIME);
+
+        Priority[] priorities = Priority.values();
+        TicketStatus[] statuses = TicketStatus.values();
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Room room = new Room();
+            room.setId((long) i + 1);
+            room.setBuilding(building);
+            room.setFloorNumber(i % 10);
+            room.setRoomNumber(String.valueOf(100 + i));
+            room.setRoomType("Apartment");
+            room.setCreatedAt(REFERENCE_TIME);
+
+            Ticket ticket = new Ticket();
+            ticket.setId((long) i + 1);
+            ticket.setTitle("Leaking faucet in unit " + room.getRoomNumber());
+            ticket.setDescription("The kitchen faucet has been dripping constantly for two days "
+                    + "and water is pooling under the sink.");
+            ticket.setCategory(category);
+            ticket.setPriority(priorities[i % priorities.length]);
+            ticket.setStatus(statuses[i % statuses.length]);
+            ticket.setReporter(user(100L + i, Role.TENANT));
+            ticket.setAssignee(i % 3 == 0 ? null : technician);
+            ticket.setBuilding(building);
+            ticket.setRoom(room);
+            ticket.setEstimatedCompletion(REFERENCE_TIME.plusDays(3));
+            ticket.setCreatedAt(REFERENCE_TIME.minusHours(i));
+            ticket.setUpdatedAt(REFERENCE_TIME);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,80 @@
+package com.maintenance.controller;
+
+import com.maintenance.benchmark.SampleData;
+import com.maintenance.dto.TicketDTO;
+import com.maintenance.dto.UserDTO;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping helpers of the REST controllers. The controllers are created without
+ * collaborators because the helpers never touch them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DtoConversionBenchmark {
+
+    private AuthController authController;
+    private TicketController ticketController;
+    private User user;
+    private UserDTO userDto;
+    private TicketDTO ticketDto;
+    private Ticket ticket;
+
+    @Setup
+    public void setUp() {
+        authController = new AuthController(null, null, null, null);
+        ticketController = new TicketController(null, null, null);
+
+        user = SampleData.user(42L, Role.TENANT);
+        userDto = authController.convertToDTO(user);
+
+        ticket = SampleData.tickets(1).get(0);
+        ticketDto = new TicketDTO();
+        ticketDto.setTitle(ticket.getTitle());
+        ticketDto.setDescription(ticket.getDescription());
+        ticketDto.setCategoryId(ticket.getCategory().getId());
+        ticketDto.setPriority(ticket.getPriority().name());
+        ticketDto.setStatus(ticket.getStatus().name());
+        ticketDto.setBuildingId(ticket.getBuilding().getId());
+        ticketDto.setEstimatedCompletion(ticket.getEstimatedCompletion());
+    }
+
+    @Benchmark
+    public UserDTO userToDto() {
+        return authController.convertToDTO(user);
+    }
+
+    @Benchmark
+    public User userDtoToEntity() {
+        return authController.convertToEntity(userDto);
+    }
+
+    @Benchmark
+    public Ticket ticketDtoToEntity() {
+        return ticketController.convertToEntity(ticketDto);
+    }
+
+    @Benchmark
+    public Ticket updateTicketFields() {
+        ticketController.updateTicketFields(ticket, ticketDto);
+        return ticket;
+    }
+}
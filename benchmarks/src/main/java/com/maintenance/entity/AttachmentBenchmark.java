@@ -0,0 +1,44 @@
+package com.maintenance.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Attachment#getFileSizeFormatted()} runs once per attachment row in the ticket views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AttachmentBenchmark {
+
+    // One value per unit branch: B, KB, MB, GB
+    @Param({"512", "48000", "3500000", "2147483648"})
+    private long fileSize;
+
+    private Attachment attachment;
+
+    @Setup
+    public void setUp() {
+        attachment = new Attachment();
+        attachment.setFileSize(fileSize);
+    }
+
+    @Benchmark
+    public String getFileSizeFormatted() {
+        return attachment.getFileSizeFormatted();
+    }
+}
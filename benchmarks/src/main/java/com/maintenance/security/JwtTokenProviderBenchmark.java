@@ -0,0 +1,68 @@
+package com.maintenance.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every authenticated REST request (validate + parse) and on every login (generate).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider("mySecretKeyForBuildingMaintenanceSystem2024!mySecretKeyForBuildingMaintenance");
+
+        // Normally injected by @Value; left at 0 every token would already be expired
+        Field expiration = ReflectionUtils.findField(JwtTokenProvider.class, "jwtExpirationInMs");
+        ReflectionUtils.makeAccessible(expiration);
+        ReflectionUtils.setField(expiration, tokenProvider, TimeUnit.DAYS.toMillis(1));
+
+        authentication = new UsernamePasswordAuthenticationToken("benchmark.user", null);
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Date getExpirationDateFromToken() {
+        return tokenProvider.getExpirationDateFromToken(token);
+    }
+}
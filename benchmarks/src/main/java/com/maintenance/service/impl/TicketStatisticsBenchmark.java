@@ -0,0 +1,100 @@
+package com.maintenance.service.impl;
+
+import com.maintenance.benchmark.RepositoryStubs;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.repository.TicketStatusHistoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Map construction in the dashboard statistics methods. The repository returns canned
+ * aggregate rows and the service is called directly, so neither the database nor the
+ * {@code ticketStats} cache is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TicketStatisticsBenchmark {
+
+    // Roughly what a large portfolio configures
+    private static final int CATEGORIES = 25;
+
+    @Param({"12", "36"})
+    private int months;
+
+    private TicketServiceImpl ticketService;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> byStatus = new ArrayList<>();
+        for (TicketStatus status : TicketStatus.values()) {
+            byStatus.add(new Object[]{status, 1_000L + status.ordinal()});
+        }
+
+        List<Object[]> byPriority = new ArrayList<>();
+        for (Priority priority : Priority.values()) {
+            byPriority.add(new Object[]{priority, 2_000L + priority.ordinal()});
+        }
+
+        List<Object[]> byCategory = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            byCategory.add(new Object[]{"Category " + i, 500L + i});
+        }
+
+        List<Object[]> byMonth = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            byMonth.add(new Object[]{month, 300L + month});
+        }
+
+        TicketRepository ticketRepository = RepositoryStubs.stub(TicketRepository.class, Map.<String, Supplier<?>>of(
+                "countTicketsByStatus", () -> byStatus,
+                "countTicketsByPriority", () -> byPriority,
+                "countTicketsByCategory", () -> byCategory,
+                "countTicketsByMonth", () -> byMonth));
+        TicketStatusHistoryRepository historyRepository =
+                RepositoryStubs.stub(TicketStatusHistoryRepository.class, Map.of());
+
+        // Reference data, duplicate detection, assignment and events play no part in the statistics
+        ticketService = new TicketServiceImpl(ticketRepository, historyRepository, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Long> getMonthlyTicketCount() {
+        return ticketService.getMonthlyTicketCount(months);
+    }
+
+    @Benchmark
+    public Map<String, Long> getTicketCountByStatus() {
+        return ticketService.getTicketCountByStatus();
+    }
+
+    @Benchmark
+    public Map<String, Long> getTicketCountByPriority() {
+        return ticketService.getTicketCountByPriority();
+    }
+
+    @Benchmark
+    public Map<String, Long> getTicketCountByCategory() {
+        return ticketService.getTicketCountByCategory();
+    }
+}
@@ -0,0 +1,33 @@
+package com.maintenance.loadtest;
+
+/**
+ * An admin opens the dashboard: statistics, the latest tickets, overdue work and buildings.
+ */
+final class AdminJourney implements Journey {
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+
+    AdminJourney(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    @Override
+    public void run(Session session) {
+        if (options.ui) {
+            client.page("GET /dashboard (ui)", "/dashboard");
+        }
+        if (Journey.rejected(session, client.get("GET /api/tickets/statistics", "/api/tickets/statistics", session))) {
+            return;
+        }
+        if (Journey.rejected(session, client.get("GET /api/tickets",
+                "/api/tickets?page=0&size=20&sort=createdAt,desc", session))) {
+            return;
+        }
+        if (Journey.rejected(session, client.get("GET /api/tickets/overdue", "/api/tickets/overdue", session))) {
+            return;
+        }
+        Journey.rejected(session, client.get("GET /api/buildings", "/api/buildings?page=0&size=20", session));
+    }
+}
@@ -0,0 +1,141 @@
+package com.maintenance.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Thin HTTP client that times every call and records it against the running stage
+ * under a stable endpoint name (path templates, not concrete ids).
+ */
+final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private volatile StageResults results;
+
+    ApiClient(URI baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    void recordInto(StageResults results) {
+        this.results = results;
+    }
+
+    ApiResponse get(String endpoint, String path, Session session) {
+        return send(endpoint, request(path, session).GET());
+    }
+
+    ApiResponse post(String endpoint, String path, Session session, Object body) {
+        return send(endpoint, request(path, session).POST(json(body)));
+    }
+
+    ApiResponse patch(String endpoint, String path, Session session, Object body) {
+        return send(endpoint, request(path, session).method("PATCH", json(body)));
+    }
+
+    /**
+     * Fetches a Vaadin page. Only the server-rendered bootstrap document is timed; the
+     * client-side UIDL round trips are not scripted.
+     */
+    void page(String endpoint, String path) {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(requestTimeout)
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            record(endpoint, start, response.statusCode());
+        } catch (IOException ex) {
+            recordFailure(endpoint, start, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (session != null && session.token() != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Request body is not serializable", ex);
+        }
+    }
+
+    private ApiResponse send(String endpoint, HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            record(endpoint, start, response.statusCode());
+            return new ApiResponse(response.statusCode(), parse(response.body()));
+        } catch (IOException ex) {
+            recordFailure(endpoint, start, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return new ApiResponse(-1, MissingNode.getInstance());
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    private void record(String endpoint, long start, int status) {
+        StageResults current = results;
+        if (current != null) {
+            current.record(endpoint, System.nanoTime() - start, String.valueOf(status), status >= 400);
+        }
+    }
+
+    private void recordFailure(String endpoint, long start, IOException ex) {
+        StageResults current = results;
+        if (current != null) {
+            current.record(endpoint, System.nanoTime() - start, ex.getClass().getSimpleName(), true);
+        }
+    }
+
+    record ApiResponse(int status, JsonNode body) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        boolean isUnauthorized() {
+            return status == 401;
+        }
+    }
+}
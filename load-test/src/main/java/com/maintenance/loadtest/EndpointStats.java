@@ -0,0 +1,65 @@
+package com.maintenance.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint within one stage.
+ */
+final class EndpointStats {
+
+    // Anything slower than the request timeout is recorded as the timeout itself
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, String outcome, boolean error) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        latencyMicros.recordValue(Math.max(micros, 1));
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double errorRate() {
+        long total = requests();
+        return total == 0 ? 0.0 : (double) errors() / total;
+    }
+
+    double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+
+    double meanMillis() {
+        return latencyMicros.getMean() / 1000.0;
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> snapshot.put(outcome, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,21 @@
+package com.maintenance.loadtest;
+
+/**
+ * One scripted visit by a logged-in user. Implementations must not throw on HTTP errors;
+ * failures are already recorded by {@link ApiClient}.
+ */
+interface Journey {
+
+    void run(Session session);
+
+    /**
+     * Returns true when the journey should stop because the token was rejected.
+     */
+    static boolean rejected(Session session, ApiClient.ApiResponse response) {
+        if (response.isUnauthorized()) {
+            session.invalidate();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.maintenance.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --name=value} form. Defaults match a local app seeded by the
+ * {@code datagen} profile (usernames {@code tenant000001}, {@code technician000001}, ...).
+ */
+final class LoadTestOptions {
+
+    private static final String DEFAULTS = String.join(" ",
+            "--base-url=http://localhost:8080",
+            "--stages=5x60s,20x60s,50x120s,100x120s",
+            "--mix=tenant:60,technician:30,admin:10",
+            "--tenants=1000",
+            "--technicians=100",
+            "--admins=5",
+            "--password=password123",
+            "--categories=1-10",
+            "--think-time=500ms",
+            "--request-timeout=30s",
+            "--ui=true",
+            "--report=load-test-report.json");
+
+    final URI baseUrl;
+    final List<Stage> stages;
+    final Map<Role, Integer> mix;
+    final Map<Role, Integer> userCounts;
+    final String password;
+    final long[] categoryIds;
+    final Duration thinkTime;
+    final Duration requestTimeout;
+    final boolean ui;
+    final String report;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.baseUrl = URI.create(stripTrailingSlash(values.get("base-url")));
+        this.stages = Stage.parseAll(values.get("stages"));
+        this.mix = parseMix(values.get("mix"));
+        this.userCounts = Map.of(
+                Role.TENANT, Integer.parseInt(values.get("tenants")),
+                Role.TECHNICIAN, Integer.parseInt(values.get("technicians")),
+                Role.ADMIN, Integer.parseInt(values.get("admins")));
+        this.password = values.get("password");
+        this.categoryIds = parseRange(values.get("categories"));
+        this.thinkTime = parseDuration(values.get("think-time"));
+        this.requestTimeout = parseDuration(values.get("request-timeout"));
+        this.ui = Boolean.parseBoolean(values.get("ui"));
+        this.report = values.get("report");
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : DEFAULTS.split(" ")) {
+            put(values, arg);
+        }
+        for (String arg : args) {
+            put(values, arg);
+        }
+        return new LoadTestOptions(values);
+    }
+
+    String username(Role role, int index) {
+        return String.format("%s%06d", role.name().toLowerCase(), index + 1);
+    }
+
+    private static void put(Map<String, String> values, String arg) {
+        int separator = arg.indexOf('=');
+        if (!arg.startsWith("--") || separator < 0) {
+            throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+        }
+        values.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    private static Map<Role, Integer> parseMix(String value) {
+        Map<Role, Integer> mix = new HashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Role.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private static long[] parseRange(String value) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String[] bounds = part.split("-");
+            long from = Long.parseLong(bounds[0].trim());
+            long to = bounds.length > 1 ? Long.parseLong(bounds[1].trim()) : from;
+            for (long id = from; id <= to; id++) {
+                ids.add(id);
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * A fixed number of concurrent virtual users held for a fixed time.
+     */
+    record Stage(int concurrency, Duration duration) {
+
+        static List<Stage> parseAll(String value) {
+            List<Stage> stages = new ArrayList<>();
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split("x", 2);
+                stages.add(new Stage(Integer.parseInt(parts[0]), parseDuration(parts[1])));
+            }
+            return stages;
+        }
+
+        String name() {
+            return concurrency + " users";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.maintenance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the tenant, technician and admin journeys against a running instance, stepping the
+ * number of concurrent virtual users up stage by stage. Each virtual user loops: pick a role
+ * by the configured mix, borrow (or log in) a session, run the journey, think, repeat.
+ *
+ * <p>Exits with status 1 when the API cannot be reached or no buildings are available.
+ */
+public final class LoadTestRunner {
+
+    private final LoadTestOptions options;
+    private final ApiClient client;
+    private final SessionPool sessions;
+    private final Map<Role, Journey> journeys = new EnumMap<>(Role.class);
+    private final Role[] weightedRoles;
+
+    private LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+        this.client = new ApiClient(options.baseUrl, options.requestTimeout);
+        this.sessions = new SessionPool(client, options);
+
+        List<Role> roles = new ArrayList<>();
+        options.mix.forEach((role, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                roles.add(role);
+            }
+        });
+        this.weightedRoles = roles.toArray(new Role[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadTestRunner runner = new LoadTestRunner(options);
+        System.exit(runner.run());
+    }
+
+    private int run() throws Exception {
+        long[] buildingIds = discoverBuildings();
+        if (buildingIds.length == 0) {
+            System.err.println("No buildings found at " + options.baseUrl
+                    + "; is the app running and the database seeded (datagen profile)?");
+            return 1;
+        }
+        journeys.put(Role.TENANT, new TenantJourney(client, options, buildingIds));
+        journeys.put(Role.TECHNICIAN, new TechnicianJourney(client, options));
+        journeys.put(Role.ADMIN, new AdminJourney(client, options));
+
+        List<StageResults> completed = new ArrayList<>();
+        for (LoadTestOptions.Stage stage : options.stages) {
+            StageResults results = runStage(stage);
+            Report.print(results, System.out);
+            completed.add(results);
+        }
+
+        Path reportFile = Path.of(options.report);
+        Report.writeJson(completed, reportFile);
+        System.out.println("\nReport written to " + reportFile.toAbsolutePath());
+        return 0;
+    }
+
+    private long[] discoverBuildings() {
+        Session admin = sessions.borrow(Role.ADMIN);
+        if (admin == null) {
+            return new long[0];
+        }
+        ApiClient.ApiResponse response = client.get("GET /api/buildings", "/api/buildings?page=0&size=200", admin);
+        sessions.release(admin);
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode building : response.body().path("content")) {
+            ids.add(building.path("id").asLong());
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private StageResults runStage(LoadTestOptions.Stage stage) throws InterruptedException {
+        StageResults results = new StageResults(stage);
+        client.recordInto(results);
+        System.out.printf("%nRunning %s for %ds...%n", stage.name(), stage.duration().toSeconds());
+
+        long deadline = System.nanoTime() + stage.duration().toNanos();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(stage.concurrency());
+        results.start();
+        for (int i = 0; i < stage.concurrency(); i++) {
+            virtualUsers.submit(() -> loop(deadline));
+        }
+        virtualUsers.shutdown();
+        if (!virtualUsers.awaitTermination(stage.duration().plus(options.requestTimeout).toSeconds() + 10,
+                TimeUnit.SECONDS)) {
+            virtualUsers.shutdownNow();
+        }
+        results.finish();
+        return results;
+    }
+
+    private void loop(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Stagger the first requests so a stage does not start with a login burst
+        think(random.nextLong(Math.max(options.thinkTime.toMillis(), 1)));
+
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Role role = weightedRoles[random.nextInt(weightedRoles.length)];
+            Session session = sessions.borrow(role);
+            if (session != null) {
+                try {
+                    journeys.get(role).run(session);
+                } catch (RuntimeException ex) {
+                    System.err.println(role + " journey failed: " + ex);
+                } finally {
+                    sessions.release(session);
+                }
+            }
+            // Think time varies between 50% and 150% of the configured value
+            long thinkMillis = options.thinkTime.toMillis();
+            think(thinkMillis / 2 + random.nextLong(thinkMillis + 1));
+        }
+    }
+
+    private static void think(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
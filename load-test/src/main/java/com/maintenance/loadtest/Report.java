@@ -0,0 +1,80 @@
+package com.maintenance.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints a per-stage, per-endpoint table and writes the same numbers as JSON.
+ */
+final class Report {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 95.0, 99.0};
+    private static final String ROW_FORMAT = "%-34s %9s %9s %8s %9s %9s %9s %9s %9s%n";
+
+    private Report() {
+    }
+
+    static void print(StageResults results, PrintStream out) {
+        double seconds = Math.max(results.elapsed().toMillis() / 1000.0, 0.001);
+        out.printf("%n=== Stage: %s for %ds ===%n", results.stage().name(), results.stage().duration().toSeconds());
+        out.printf(ROW_FORMAT, "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms");
+        results.endpoints().forEach((endpoint, stats) -> printRow(out, endpoint, stats, seconds));
+        printRow(out, "ALL", results.total(), seconds);
+    }
+
+    static void writeJson(List<StageResults> stages, Path file) throws IOException {
+        List<Map<String, Object>> json = new ArrayList<>();
+        for (StageResults results : stages) {
+            double seconds = Math.max(results.elapsed().toMillis() / 1000.0, 0.001);
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            results.endpoints().forEach((endpoint, stats) -> endpoints.put(endpoint, toJson(stats, seconds)));
+
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("concurrency", results.stage().concurrency());
+            stage.put("durationSeconds", results.elapsed().toSeconds());
+            stage.put("total", toJson(results.total(), seconds));
+            stage.put("endpoints", endpoints);
+            json.add(stage);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), Map.of("stages", json));
+    }
+
+    private static void printRow(PrintStream out, String endpoint, EndpointStats stats, double seconds) {
+        out.printf(ROW_FORMAT, endpoint,
+                stats.requests(),
+                String.format("%.1f", stats.requests() / seconds),
+                String.format("%.2f%%", stats.errorRate() * 100),
+                millis(stats.percentileMillis(50.0)),
+                millis(stats.percentileMillis(90.0)),
+                millis(stats.percentileMillis(95.0)),
+                millis(stats.percentileMillis(99.0)),
+                millis(stats.maxMillis()));
+    }
+
+    private static Map<String, Object> toJson(EndpointStats stats, double seconds) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("requests", stats.requests());
+        json.put("throughput", stats.requests() / seconds);
+        json.put("errors", stats.errors());
+        json.put("errorRate", stats.errorRate());
+        json.put("meanMs", stats.meanMillis());
+        for (double percentile : PERCENTILES) {
+            json.put("p" + (int) percentile + "Ms", stats.percentileMillis(percentile));
+        }
+        json.put("maxMs", stats.maxMillis());
+        json.put("outcomes", stats.outcomes());
+        return json;
+    }
+
+    private static String millis(double value) {
+        return String.format("%.1f", value);
+    }
+}
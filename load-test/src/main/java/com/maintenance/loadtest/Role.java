@@ -0,0 +1,10 @@
+package com.maintenance.loadtest;
+
+/**
+ * Mirrors the application's roles; each role drives its own journey.
+ */
+enum Role {
+    TENANT,
+    TECHNICIAN,
+    ADMIN
+}
@@ -0,0 +1,41 @@
+package com.maintenance.loadtest;
+
+/**
+ * A logged-in virtual user holding the JWT returned by {@code /api/auth/login}.
+ */
+final class Session {
+
+    private final Role role;
+    private final String username;
+    private final String token;
+    private volatile boolean valid = true;
+
+    Session(Role role, String username, String token) {
+        this.role = role;
+        this.username = username;
+        this.token = token;
+    }
+
+    Role role() {
+        return role;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String token() {
+        return token;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Drops the session after a 401 so the next journey logs in again.
+     */
+    void invalidate() {
+        valid = false;
+    }
+}
@@ -0,0 +1,55 @@
+package com.maintenance.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reuses tokens across journeys the way real clients do, logging in new users on demand.
+ * Users are taken round-robin from the seeded accounts of each role.
+ */
+final class SessionPool {
+
+    // Seeded datasets deactivate a few accounts; skip past them instead of failing the journey
+    private static final int MAX_LOGIN_ATTEMPTS = 5;
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final Map<Role, Queue<Session>> idle = new EnumMap<>(Role.class);
+    private final Map<Role, AtomicInteger> nextUser = new EnumMap<>(Role.class);
+
+    SessionPool(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+        for (Role role : Role.values()) {
+            idle.put(role, new ConcurrentLinkedQueue<>());
+            nextUser.put(role, new AtomicInteger());
+        }
+    }
+
+    Session borrow(Role role) {
+        Session session = idle.get(role).poll();
+        return session != null ? session : login(role);
+    }
+
+    void release(Session session) {
+        if (session != null && session.isValid()) {
+            idle.get(session.role()).offer(session);
+        }
+    }
+
+    private Session login(Role role) {
+        int userCount = options.userCounts.get(role);
+        for (int attempt = 0; attempt < MAX_LOGIN_ATTEMPTS; attempt++) {
+            String username = options.username(role, Math.floorMod(nextUser.get(role).getAndIncrement(), userCount));
+            ApiClient.ApiResponse response = client.post("POST /api/auth/login", "/api/auth/login", null,
+                    Map.of("username", username, "password", options.password));
+            if (response.isSuccess() && response.body().hasNonNull("token")) {
+                return new Session(role, username, response.body().get("token").asText());
+            }
+        }
+        return null;
+    }
+}
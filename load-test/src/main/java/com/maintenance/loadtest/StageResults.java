@@ -0,0 +1,53 @@
+package com.maintenance.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint statistics collected while one stage was running.
+ */
+final class StageResults {
+
+    private final LoadTestOptions.Stage stage;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final EndpointStats total = new EndpointStats();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    StageResults(LoadTestOptions.Stage stage) {
+        this.stage = stage;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+    }
+
+    void finish() {
+        finishedAt = Instant.now();
+    }
+
+    void record(String endpoint, long latencyNanos, String outcome, boolean error) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(latencyNanos, outcome, error);
+        total.record(latencyNanos, outcome, error);
+    }
+
+    LoadTestOptions.Stage stage() {
+        return stage;
+    }
+
+    Duration elapsed() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end);
+    }
+
+    Map<String, EndpointStats> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    EndpointStats total() {
+        return total;
+    }
+}
@@ -0,0 +1,65 @@
+package com.maintenance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A technician works through their assigned queue: opens a ticket and moves it one
+ * step along the workflow, occasionally checking the unassigned pool.
+ */
+final class TechnicianJourney implements Journey {
+
+    private static final Map<String, String> NEXT_STATUS = Map.of(
+            "OPEN", "IN_PROGRESS",
+            "IN_PROGRESS", "RESOLVED",
+            "ON_HOLD", "IN_PROGRESS");
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+
+    TechnicianJourney(ApiClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    @Override
+    public void run(Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (options.ui) {
+            client.page("GET /tickets (ui)", "/tickets");
+        }
+        ApiClient.ApiResponse queue = client.get("GET /api/tickets/assigned",
+                "/api/tickets/assigned?page=0&size=20&sort=estimatedCompletion,asc", session);
+        if (Journey.rejected(session, queue)) {
+            return;
+        }
+
+        JsonNode content = queue.body().path("content");
+        if (content.isArray() && !content.isEmpty()) {
+            JsonNode ticket = content.get(random.nextInt(content.size()));
+            long id = ticket.path("id").asLong();
+
+            if (Journey.rejected(session, client.get("GET /api/tickets/{id}", "/api/tickets/" + id, session))) {
+                return;
+            }
+
+            String next = NEXT_STATUS.get(ticket.path("status").asText());
+            if (next != null) {
+                ApiClient.ApiResponse updated = client.patch("PATCH /api/tickets/{id}/status",
+                        "/api/tickets/" + id + "/status", session,
+                        Map.of("status", next, "reason", "Updated during load test"));
+                if (Journey.rejected(session, updated)) {
+                    return;
+                }
+            }
+        }
+
+        // The unassigned list is unpaged, so only a fraction of visits open it
+        if (random.nextInt(10) == 0) {
+            Journey.rejected(session, client.get("GET /api/tickets/unassigned", "/api/tickets/unassigned", session));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.maintenance.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A tenant checks their tickets and files a new one, then looks at it.
+ */
+final class TenantJourney implements Journey {
+
+    private static final String[] ISSUES = {
+            "Leaking kitchen faucet", "No hot water", "Bedroom light not working",
+            "Heating is off", "Front door lock sticks", "Mold in bathroom ceiling"
+    };
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "MEDIUM", "HIGH", "URGENT"};
+
+    private final ApiClient client;
+    private final LoadTestOptions options;
+    private final long[] buildingIds;
+
+    TenantJourney(ApiClient client, LoadTestOptions options, long[] buildingIds) {
+        this.client = client;
+        this.options = options;
+        this.buildingIds = buildingIds;
+    }
+
+    @Override
+    public void run(Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (options.ui) {
+            client.page("GET / (ui)", "/");
+        }
+        if (Journey.rejected(session, client.get("GET /api/auth/me", "/api/auth/me", session))) {
+            return;
+        }
+        if (Journey.rejected(session, client.get("GET /api/tickets/my", "/api/tickets/my?page=0&size=20", session))) {
+            return;
+        }
+
+        String issue = ISSUES[random.nextInt(ISSUES.length)];
+        Map<String, Object> ticket = Map.of(
+                "title", issue,
+                "description", issue + " reported by " + session.username() + " during load test",
+                "categoryId", options.categoryIds[random.nextInt(options.categoryIds.length)],
+                "priority", PRIORITIES[random.nextInt(PRIORITIES.length)],
+                "status", "OPEN",
+                "buildingId", buildingIds[random.nextInt(buildingIds.length)]);
+        ApiClient.ApiResponse created = client.post("POST /api/tickets", "/api/tickets", session, ticket);
+        if (Journey.rejected(session, created)) {
+            return;
+        }
+
+        JsonNode id = created.body().get("id");
+        if (id != null && id.canConvertToLong()) {
+            Journey.rejected(session, client.get("GET /api/tickets/{id}", "/api/tickets/" + id.asLong(), session));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+#!/bin/bash
+
+# Building Maintenance System Load Test Script
+# Starts MySQL in Docker, seeds it, starts the app locally and runs the load harness
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Default values
+SKIP_DB=false
+SKIP_SEED=false
+SKIP_BUILD=false
+TICKETS=200000
+APP_PORT=8080
+DB_CONTAINER="maintenance-mysql-dev"
+DB_ROOT_PASSWORD="devpassword"
+HARNESS_ARGS=()
+APP_ARGS=""
+MAVEN_PROFILE=""
+MEMORY_SAMPLES=""
+SAMPLER_PID=""
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_DIR="$(dirname "$SCRIPT_DIR")"
+APP_PID=""
+
+# Functions
+print_usage() {
+    echo "Usage: $0 [OPTIONS] [-- HARNESS_OPTIONS]"
+    echo "Options:"
+    echo "  -d, --skip-db            Use an already running database (DB_* variables)"
+    echo "  -s, --skip-seed          Do not generate the synthetic dataset"
+    echo "  -b, --skip-build         Skip building the application and the harness"
+    echo "  -t, --tickets COUNT      Tickets to generate when seeding [default: 200000]"
+    echo "  -a, --app-args ARGS      Extra arguments for the application (JAVA_OPTS is honoured too)"
+    echo "  -P, --maven-profile ID   Maven profile to build with, e.g. java21"
+    echo "  -m, --memory FILE        Sample the app's RSS and thread count into FILE (CSV) every 2s"
+    echo "  -h, --help               Show this help message"
+    echo ""
+    echo "Harness options (after --):"
+    echo "  --stages=5x60s,20x60s    Concurrent users and duration per stage"
+    echo "  --mix=tenant:60,technician:30,admin:10"
+    echo "  --think-time=500ms       Pause between journeys"
+    echo "  --ui=false               Skip the Vaadin page loads"
+    echo "  --report=FILE            JSON report location [default: load-test-report.json]"
+    echo ""
+    echo "Examples:"
+    echo "  $0                               Full run with a fresh 200k ticket dataset"
+    echo "  $0 -s -b -- --stages=50x300s     Soak an already seeded database"
+}
+
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_warning() {
+    echo -e "${YELLOW}[WARNING]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+stop_app() {
+    if [[ -n "$SAMPLER_PID" ]]; then
+        kill "$SAMPLER_PID" 2>/dev/null || true
+    fi
+    if [[ -n "$APP_PID" ]] && kill -0 "$APP_PID" 2>/dev/null; then
+        log_info "Stopping application (pid $APP_PID)..."
+        kill "$APP_PID"
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+}
+
+start_database() {
+    log_info "Starting MySQL container..."
+    docker-compose -f "$PROJECT_DIR/docker-compose.dev.yml" up -d mysql-dev
+
+    log_info "Waiting for MySQL to accept connections..."
+    for i in {1..60}; do
+        if docker exec "$DB_CONTAINER" mysqladmin ping -uroot -p"$DB_ROOT_PASSWORD" --silent &> /dev/null; then
+            break
+        fi
+        sleep 2
+    done
+
+    if ! docker exec "$DB_CONTAINER" mysql -uroot -p"$DB_ROOT_PASSWORD" -e "SELECT 1 FROM maintenance_system.tickets LIMIT 1" &> /dev/null; then
+        log_info "Creating schema..."
+        docker exec -i "$DB_CONTAINER" mysql -uroot -p"$DB_ROOT_PASSWORD" < "$PROJECT_DIR/database-schema.sql"
+    fi
+
+    export DB_HOST=localhost
+    export DB_PORT=3307
+    export DB_NAME=maintenance_system
+    export DB_USERNAME=root
+    export DB_PASSWORD="$DB_ROOT_PASSWORD"
+    log_success "MySQL is ready on port $DB_PORT"
+}
+
+build() {
+    log_info "Building application and load harness..."
+    cd "$PROJECT_DIR"
+    mvn -B -q clean package -DskipTests ${MAVEN_PROFILE:+-P"$MAVEN_PROFILE"}
+    mvn -B -q -f load-test/pom.xml clean package
+    log_success "Build completed"
+}
+
+app_jar() {
+    ls "$PROJECT_DIR"/target/building-maintenance-system-*-exec.jar | head -n 1
+}
+
+seed() {
+    log_info "Generating synthetic dataset ($TICKETS tickets)..."
+    java -jar "$(app_jar)" --spring.profiles.active=datagen --app.datagen.tickets="$TICKETS"
+    log_success "Dataset generated"
+}
+
+start_app() {
+    log_info "Starting application on port $APP_PORT..."
+    # All simulated users come from this one host; per-client rate limits would only measure themselves
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$(app_jar)" --server.port="$APP_PORT" --app.resilience.rate-limit.enabled=false $APP_ARGS > "$PROJECT_DIR/target/load-test-app.log" 2>&1 &
+    APP_PID=$!
+
+    for i in {1..90}; do
+        if curl -fs "http://localhost:$APP_PORT/actuator/health" &> /dev/null; then
+            log_success "Application is up"
+            return
+        fi
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            log_error "Application exited during startup, see target/load-test-app.log"
+            exit 1
+        fi
+        sleep 2
+    done
+
+    log_error "Application did not become healthy in time, see target/load-test-app.log"
+    exit 1
+}
+
+sample_memory() {
+    echo "epoch_seconds,rss_kb,os_threads" > "$MEMORY_SAMPLES"
+    while kill -0 "$APP_PID" 2>/dev/null; do
+        read -r rss threads < <(ps -o rss=,nlwp= -p "$APP_PID")
+        echo "$(date +%s),$rss,$threads" >> "$MEMORY_SAMPLES"
+        sleep 2
+    done
+}
+
+# Parse command line arguments
+while [[ $# -gt 0 ]]; do
+    case $1 in
+        -d|--skip-db)
+            SKIP_DB=true
+            shift
+            ;;
+        -s|--skip-seed)
+            SKIP_SEED=true
+            shift
+            ;;
+        -b|--skip-build)
+            SKIP_BUILD=true
+            shift
+            ;;
+        -t|--tickets)
+            TICKETS="$2"
+            shift 2
+            ;;
+        -a|--app-args)
+            APP_ARGS="$2"
+            shift 2
+            ;;
+        -P|--maven-profile)
+            MAVEN_PROFILE="$2"
+            shift 2
+            ;;
+        -m|--memory)
+            MEMORY_SAMPLES="$2"
+            shift 2
+            ;;
+        -h|--help)
+            print_usage
+            exit 0
+            ;;
+        --)
+            shift
+            HARNESS_ARGS=("$@")
+            break
+            ;;
+        *)
+            log_error "Unknown option: $1"
+            print_usage
+            exit 1
+            ;;
+    esac
+done
+
+trap stop_app EXIT
+
+if [[ "$SKIP_DB" == false ]]; then
+    start_database
+fi
+
+if [[ "$SKIP_BUILD" == false ]]; then
+    build
+fi
+
+if [[ "$SKIP_SEED" == false ]]; then
+    seed
+fi
+
+start_app
+
+if [[ -n "$MEMORY_SAMPLES" ]]; then
+    sample_memory &
+    SAMPLER_PID=$!
+fi
+
+log_info "Running load test..."
+java -jar "$PROJECT_DIR/load-test/target/load-test.jar" --base-url="http://localhost:$APP_PORT" "${HARNESS_ARGS[@]}"
+log_success "Load test completed"
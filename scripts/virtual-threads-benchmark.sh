@@ -0,0 +1,140 @@
+#!/bin/bash
+
+# Building Maintenance System Virtual Threads Benchmark
+# Runs the load harness against the app on platform threads and then on virtual threads
+# (Java 21 build) with the same dataset, and compares throughput, latency and memory
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Default values
+CONCURRENCY=2000
+DURATION=120s
+TICKETS=200000
+SKIP_SEED=false
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_DIR="$(dirname "$SCRIPT_DIR")"
+OUT_DIR="$PROJECT_DIR/target/virtual-threads-benchmark"
+
+# Functions
+print_usage() {
+    echo "Usage: $0 [OPTIONS]"
+    echo "Options:"
+    echo "  -c, --concurrency USERS  Concurrent users for the single stage [default: 2000]"
+    echo "  -D, --duration TIME      Length of each run [default: 120s]"
+    echo "  -t, --tickets COUNT      Tickets to generate when seeding [default: 200000]"
+    echo "  -s, --skip-seed          Reuse the dataset already in the database"
+    echo "  -h, --help               Show this help message"
+    echo ""
+    echo "Needs JDK 21 on the PATH. Results go to target/virtual-threads-benchmark/."
+}
+
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+check_java() {
+    local version
+    version=$(java -version 2>&1 | awk -F '"' '/version/ {print $2}' | cut -d. -f1)
+    if [[ "$version" -lt 21 ]]; then
+        log_error "Virtual threads need Java 21, found Java $version"
+        exit 1
+    fi
+}
+
+# Runs one mode; the adaptive concurrency limit is switched off so that it does not shed the
+# load this benchmark is meant to measure
+run_mode() {
+    local mode=$1
+    local app_args="--app.resilience.concurrency-limit.enabled=false"
+    local load_test_args=(-P java21 -m "$OUT_DIR/$mode-memory.csv")
+
+    if [[ "$mode" == "virtual" ]]; then
+        app_args="$app_args --spring.profiles.active=virtual-threads"
+    fi
+    # The first run builds and seeds, the second reuses both
+    if [[ "$mode" == "virtual" || "$SKIP_SEED" == true ]]; then
+        load_test_args+=(-s)
+    fi
+    if [[ "$mode" == "virtual" ]]; then
+        load_test_args+=(-d -b)
+    fi
+
+    log_info "Running with $mode threads: $CONCURRENCY users for $DURATION"
+    "$SCRIPT_DIR/load-test.sh" "${load_test_args[@]}" -t "$TICKETS" -a "$app_args" -- \
+        --stages="${CONCURRENCY}x${DURATION}" --report="$OUT_DIR/$mode-report.json" \
+        > "$OUT_DIR/$mode.log" 2>&1
+    log_success "Run with $mode threads completed, see $OUT_DIR/$mode.log"
+}
+
+compare() {
+    python3 - "$OUT_DIR" <<'EOF'
+import csv, json, sys, os
+
+out = sys.argv[1]
+print(f"{'Mode':<10}{'Req/s':>10}{'p50 ms':>10}{'p99 ms':>10}{'Errors':>10}{'Peak RSS MB':>14}{'Peak threads':>14}")
+for mode in ("platform", "virtual"):
+    with open(os.path.join(out, f"{mode}-report.json")) as f:
+        total = json.load(f)["stages"][-1]["total"]
+    with open(os.path.join(out, f"{mode}-memory.csv")) as f:
+        samples = [row for row in csv.DictReader(f) if row["rss_kb"]]
+    rss = max(int(row["rss_kb"]) for row in samples) / 1024 if samples else 0
+    threads = max(int(row["os_threads"]) for row in samples) if samples else 0
+    print(f"{mode:<10}{total['throughput']:>10.1f}{total['p50Ms']:>10.1f}{total['p99Ms']:>10.1f}"
+          f"{total['errorRate'] * 100:>9.2f}%{rss:>14.0f}{threads:>14}")
+EOF
+}
+
+# Parse command line arguments
+while [[ $# -gt 0 ]]; do
+    case $1 in
+        -c|--concurrency)
+            CONCURRENCY="$2"
+            shift 2
+            ;;
+        -D|--duration)
+            DURATION="$2"
+            shift 2
+            ;;
+        -t|--tickets)
+            TICKETS="$2"
+            shift 2
+            ;;
+        -s|--skip-seed)
+            SKIP_SEED=true
+            shift
+            ;;
+        -h|--help)
+            print_usage
+            exit 0
+            ;;
+        *)
+            log_error "Unknown option: $1"
+            print_usage
+            exit 1
+            ;;
+    esac
+done
+
+check_java
+mkdir -p "$OUT_DIR"
+
+run_mode platform
+run_mode virtual
+
+echo ""
+compare
@@ -1,5 +1,6 @@
 package com.maintenance;
 
+import com.maintenance.monitoring.CacheProbeAspect;
 import com.vaadin.flow.component.page.AppShellConfigurator;
 import com.vaadin.flow.server.PWA;
 import com.vaadin.flow.theme.Theme;
@@ -11,7 +12,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
+@EnableCaching(order = CacheProbeAspect.CACHE_INTERCEPTOR_ORDER)
 @EnableAsync
 @EnableScheduling
 @ConfigurationPropertiesScan
@@ -0,0 +1,7 @@
+package com.maintenance.assignment;
+
+/**
+ * A ticket handed to a technician by the assignment engine.
+ */
+public record Assignment(Long ticketId, Long technicianId) {
+}
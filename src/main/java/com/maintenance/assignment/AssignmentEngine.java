@@ -0,0 +1,338 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.repository.UserRepository;
+import com.maintenance.service.ReferenceDataChangedEvent;
+import com.maintenance.service.TicketChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Picks the technician for a ticket: the least loaded one, where load is the weighted sum
+ * of their open and in-progress tickets by priority, with some slack for technicians who
+ * often work in the ticket's building or category.
+ *
+ * <p>Technicians sit in an {@link IndexedMinHeap} by load, plus one heap per building, per
+ * category and per building and category for those familiar with them. Within each of these
+ * groups everyone gets the same slack, so the least loaded of the group is also its cheapest,
+ * and a choice only compares the tops of the four heaps that apply. The chosen technician's
+ * load is raised at once, so the next choice in the same bulk assignment already sees it;
+ * both are O(log n). If the transaction rolls back, the load is put back.
+ *
+ * <p>Loads follow {@link TicketChangedEvent}s from this instance as they commit. Everything
+ * is recomputed from the tables at start-up, when technicians change, and every
+ * {@code app.assignment.resync-interval}, which also picks up assignments made through other
+ * instances.
+ */
+@Component
+@EnableConfigurationProperties(AssignmentProperties.class)
+@ConditionalOnProperty(prefix = "app.assignment", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AssignmentEngine {
+
+    private static final Set<TicketStatus> LOADED_STATUSES = Set.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final AssignmentProperties properties;
+    private final Map<String, Counter> assigned = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private State state = new State(Set.of(), Map.of(), Map.of());
+
+    public AssignmentEngine(TicketRepository ticketRepository, UserRepository userRepository,
+                            AssignmentProperties properties, MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.properties = properties;
+        for (String affinity : List.of("building-and-category", "building", "category", "none")) {
+            assigned.put(affinity, Counter.builder("app.assignment.assigned")
+                    .description("Tickets assigned by the engine, by the affinity that decided it")
+                    .tag("affinity", affinity)
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean assignsOnCreate() {
+        return properties.isAssignOnCreate();
+    }
+
+    public int maxBulkSize() {
+        return properties.getMaxBulkSize();
+    }
+
+    /**
+     * Chooses a technician for the saved ticket and counts the ticket towards their load, or
+     * returns empty when no technician is available.
+     */
+    public Optional<Long> assign(Ticket ticket) {
+        Long buildingId = ticket.getBuilding() != null ? ticket.getBuilding().getId() : null;
+        Long categoryId = ticket.getCategory() != null ? ticket.getCategory().getId() : null;
+        Contribution previous;
+        Choice choice;
+        lock.lock();
+        try {
+            choice = state.choose(buildingId, categoryId);
+            if (choice == null) {
+                return Optional.empty();
+            }
+            previous = state.apply(ticket.getId(), new Contribution(choice.technicianId(), weight(ticket.getPriority())));
+        } finally {
+            lock.unlock();
+        }
+        assigned.get(choice.affinity()).increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Long ticketId = ticket.getId();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        apply(ticketId, previous);
+                    }
+                }
+            });
+        }
+        return Optional.of(choice.technicianId());
+    }
+
+    /**
+     * The technician's current load, in priority weights.
+     */
+    public long loadOf(Long technicianId) {
+        lock.lock();
+        try {
+            return state.loads.getOrDefault(technicianId, 0L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Ticket ticket = event.ticket();
+        boolean loaded = !event.deleted() && ticket.getAssignee() != null && LOADED_STATUSES.contains(ticket.getStatus());
+        apply(ticket.getId(), loaded ? new Contribution(ticket.getAssignee().getId(), weight(ticket.getPriority())) : null);
+    }
+
+    // Technicians may have joined or left; the aggregate queries are not the request's to wait for
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        resyncInBackground();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncInBackground() {
+        Thread thread = new Thread(this::resync, "assignment-engine-load");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.assignment.resync-interval:5m}",
+               initialDelayString = "${app.assignment.resync-interval:5m}")
+    public void resync() {
+        try {
+            State rebuilt = load();
+            lock.lock();
+            try {
+                state = rebuilt;
+            } finally {
+                lock.unlock();
+            }
+            log.debug("Assignment engine loaded {} technicians and {} open assignments",
+                    rebuilt.technicians.size(), rebuilt.contributions.size());
+        } catch (RuntimeException ex) {
+            // Keep assigning from the loads we have
+            log.warn("Could not reload technician loads: {}", ex.getMessage());
+        }
+    }
+
+    private void apply(Long ticketId, Contribution contribution) {
+        lock.lock();
+        try {
+            state.apply(ticketId, contribution);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State load() {
+        Set<Long> technicians = new HashSet<>();
+        for (User technician : userRepository.findAvailableTechnicians()) {
+            technicians.add(technician.getId());
+        }
+        LocalDateTime since = LocalDateTime.now().minus(properties.getAffinityWindow());
+        Map<Long, Set<Long>> buildings = affinities(ticketRepository.countAssignmentsByBuildingSince(since), technicians);
+        Map<Long, Set<Long>> categories = affinities(ticketRepository.countAssignmentsByCategorySince(since), technicians);
+
+        State loaded = new State(technicians, buildings, categories);
+        for (TicketRepository.OpenAssignmentRow row : ticketRepository.findOpenAssignments()) {
+            loaded.apply(row.getId(), new Contribution(row.getAssigneeId(), weight(row.getPriority())));
+        }
+        return loaded;
+    }
+
+    // Rows of technician id, building or category id and ticket count
+    private Map<Long, Set<Long>> affinities(List<Object[]> rows, Set<Long> technicians) {
+        Map<Long, Set<Long>> affinities = new HashMap<>();
+        for (Object[] row : rows) {
+            Long technicianId = (Long) row[0];
+            if (technicians.contains(technicianId) && ((Number) row[2]).longValue() >= properties.getAffinityMinTickets()) {
+                affinities.computeIfAbsent(technicianId, id -> new HashSet<>()).add((Long) row[1]);
+            }
+        }
+        return affinities;
+    }
+
+    private int weight(Priority priority) {
+        return properties.getWeights().getOrDefault(priority != null ? priority : Priority.MEDIUM, 1);
+    }
+
+    private record Contribution(long technicianId, int weight) {
+    }
+
+    private record Choice(long technicianId, String affinity) {
+    }
+
+    private record BuildingAndCategory(long buildingId, long categoryId) {
+    }
+
+    /**
+     * Loads and heaps; callers hold the lock, except while a new state is being built.
+     */
+    private final class State {
+
+        private final Set<Long> technicians;
+        private final Map<Long, Set<Long>> buildingsByTechnician;
+        private final Map<Long, Set<Long>> categoriesByTechnician;
+        private final Map<Long, Contribution> contributions = new HashMap<>();
+        private final Map<Long, Long> loads = new HashMap<>();
+
+        private final IndexedMinHeap all = new IndexedMinHeap();
+        private final Map<Long, IndexedMinHeap> byBuilding = new HashMap<>();
+        private final Map<Long, IndexedMinHeap> byCategory = new HashMap<>();
+        private final Map<BuildingAndCategory, IndexedMinHeap> byBuildingAndCategory = new HashMap<>();
+
+        State(Set<Long> technicians, Map<Long, Set<Long>> buildingsByTechnician,
+              Map<Long, Set<Long>> categoriesByTechnician) {
+            this.technicians = technicians;
+            this.buildingsByTechnician = buildingsByTechnician;
+            this.categoriesByTechnician = categoriesByTechnician;
+            for (Long technicianId : technicians) {
+                all.put(technicianId, 0);
+                buildingsByTechnician.getOrDefault(technicianId, Set.of()).forEach(buildingId ->
+                        byBuilding.computeIfAbsent(buildingId, id -> new IndexedMinHeap()).put(technicianId, 0));
+                categoriesByTechnician.getOrDefault(technicianId, Set.of()).forEach(categoryId ->
+                        byCategory.computeIfAbsent(categoryId, id -> new IndexedMinHeap()).put(technicianId, 0));
+                forEachBuildingAndCategory(technicianId, key ->
+                        byBuildingAndCategory.computeIfAbsent(key, k -> new IndexedMinHeap()).put(technicianId, 0));
+            }
+        }
+
+        /**
+         * Makes the ticket count as given, or not at all for {@code null}; returns what it counted as before.
+         */
+        Contribution apply(Long ticketId, Contribution contribution) {
+            Contribution previous = contribution != null
+                    ? contributions.put(ticketId, contribution)
+                    : contributions.remove(ticketId);
+            if (previous != null) {
+                adjust(previous.technicianId(), -previous.weight());
+            }
+            if (contribution != null) {
+                adjust(contribution.technicianId(), contribution.weight());
+            }
+            return previous;
+        }
+
+        Choice choose(Long buildingId, Long categoryId) {
+            if (all.isEmpty()) {
+                return null;
+            }
+            long best = all.peek();
+            long bestCost = cost(best, buildingId, categoryId);
+            IndexedMinHeap familiarWithBoth = buildingId != null && categoryId != null
+                    ? byBuildingAndCategory.get(new BuildingAndCategory(buildingId, categoryId))
+                    : null;
+            for (IndexedMinHeap heap : new IndexedMinHeap[] {byBuilding.get(buildingId), byCategory.get(categoryId),
+                    familiarWithBoth}) {
+                if (heap == null || heap.isEmpty()) {
+                    continue;
+                }
+                long candidate = heap.peek();
+                long cost = cost(candidate, buildingId, categoryId);
+                if (cost < bestCost || (cost == bestCost && candidate < best)) {
+                    best = candidate;
+                    bestCost = cost;
+                }
+            }
+            boolean knowsBuilding = knows(buildingsByTechnician, best, buildingId);
+            boolean knowsCategory = knows(categoriesByTechnician, best, categoryId);
+            String affinity = knowsBuilding && knowsCategory ? "building-and-category"
+                    : knowsBuilding ? "building" : knowsCategory ? "category" : "none";
+            return new Choice(best, affinity);
+        }
+
+        private long cost(long technicianId, Long buildingId, Long categoryId) {
+            long cost = loads.getOrDefault(technicianId, 0L);
+            if (knows(buildingsByTechnician, technicianId, buildingId)) {
+                cost -= properties.getBuildingAffinity();
+            }
+            if (knows(categoriesByTechnician, technicianId, categoryId)) {
+                cost -= properties.getCategoryAffinity();
+            }
+            return cost;
+        }
+
+        private void adjust(long technicianId, int delta) {
+            long load = loads.merge(technicianId, (long) delta, Long::sum);
+            if (!technicians.contains(technicianId)) {
+                // Assigned to someone the engine no longer picks, such as a technician since deactivated
+                return;
+            }
+            all.put(technicianId, load);
+            buildingsByTechnician.getOrDefault(technicianId, Set.of())
+                    .forEach(buildingId -> byBuilding.get(buildingId).put(technicianId, load));
+            categoriesByTechnician.getOrDefault(technicianId, Set.of())
+                    .forEach(categoryId -> byCategory.get(categoryId).put(technicianId, load));
+            forEachBuildingAndCategory(technicianId, key -> byBuildingAndCategory.get(key).put(technicianId, load));
+        }
+
+        private void forEachBuildingAndCategory(long technicianId, Consumer<BuildingAndCategory> action) {
+            for (Long buildingId : buildingsByTechnician.getOrDefault(technicianId, Set.of())) {
+                for (Long categoryId : categoriesByTechnician.getOrDefault(technicianId, Set.of())) {
+                    action.accept(new BuildingAndCategory(buildingId, categoryId));
+                }
+            }
+        }
+
+        private static boolean knows(Map<Long, Set<Long>> affinities, long technicianId, Long id) {
+            return id != null && affinities.getOrDefault(technicianId, Set.of()).contains(id);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.enums.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.assignment")
+public class AssignmentProperties {
+
+    private boolean enabled = true;
+
+    // Assign every new ticket to a technician as it is created
+    private boolean assignOnCreate = true;
+
+    // Load an open or in-progress ticket adds to its technician, by priority
+    private Map<Priority, Integer> weights = new EnumMap<>(Map.of(
+            Priority.LOW, 1, Priority.MEDIUM, 2, Priority.HIGH, 4, Priority.URGENT, 8));
+
+    // Load a technician may carry above the least loaded one and still be preferred for a
+    // building or category they work in a lot
+    private int buildingAffinity = 4;
+    private int categoryAffinity = 2;
+
+    // Tickets within affinity-window that make a technician familiar with a building or category
+    private int affinityMinTickets = 5;
+    private Duration affinityWindow = Duration.ofDays(180);
+
+    // How often loads and affinities are recomputed from the tables, for changes made through other instances
+    private Duration resyncInterval = Duration.ofMinutes(5);
+
+    // Most tickets a bulk assignment takes on in one transaction; the rest wait for the next one
+    private int maxBulkSize = 1_000;
+}
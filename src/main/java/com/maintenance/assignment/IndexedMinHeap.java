@@ -0,0 +1,155 @@
+package com.maintenance.assignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Binary min-heap of ids by a long key (technicians by load, tickets by due time), with the
+ * position of every id kept so that an id's key can be changed or the id removed in
+ * O(log n) rather than by a scan. Ties go to the lower id, so the order is the same on every
+ * instance. Not thread-safe.
+ */
+final class IndexedMinHeap {
+
+    private long[] ids = new long[16];
+    private long[] keys = new long[16];
+    private int size;
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /**
+     * Adds the id, or moves it to its place for the new key.
+     */
+    void put(long id, long key) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            set(size, id, key);
+            siftUp(size++);
+            return;
+        }
+        long previous = keys[position];
+        keys[position] = key;
+        if (key < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    void remove(long id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return;
+        }
+        int last = --size;
+        if (position == last) {
+            return;
+        }
+        set(position, ids[last], keys[last]);
+        siftDown(position);
+        siftUp(positions.get(ids[last]));
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * The id with the lowest key; the heap must not be empty.
+     */
+    long peek() {
+        return ids[0];
+    }
+
+    /**
+     * Up to {@code n} ids with the lowest keys, lowest first, in O(n log n) and without
+     * changing the heap: a node's children can only follow it.
+     */
+    long[] peek(int n) {
+        int count = Math.min(n, size);
+        long[] result = new long[count];
+        PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> less(a, b) ? -1 : less(b, a) ? 1 : 0);
+        if (count > 0) {
+            frontier.add(0);
+        }
+        for (int i = 0; i < count; i++) {
+            int position = frontier.poll();
+            result[i] = ids[position];
+            int left = 2 * position + 1;
+            if (left < size) {
+                frontier.add(left);
+            }
+            if (left + 1 < size) {
+                frontier.add(left + 1);
+            }
+        }
+        return result;
+    }
+
+    boolean contains(long id) {
+        return positions.containsKey(id);
+    }
+
+    /**
+     * The key of an id in the heap.
+     */
+    long keyOf(long id) {
+        return keys[positions.get(id)];
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && less(left, smallest)) {
+                smallest = left;
+            }
+            if (right < size && less(right, smallest)) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && ids[a] < ids[b]);
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        long key = keys[a];
+        set(a, ids[b], keys[b]);
+        set(b, id, key);
+    }
+
+    private void set(int position, long id, long key) {
+        ids[position] = id;
+        keys[position] = key;
+        positions.put(id, position);
+    }
+}
@@ -0,0 +1,12 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket in a technician's work queue, with the time it should be started by and whether it
+ * is already assigned to them rather than waiting in one of their teams' queues.
+ */
+public record WorkItem(Ticket ticket, LocalDateTime dueAt, boolean assignedToMe) {
+}
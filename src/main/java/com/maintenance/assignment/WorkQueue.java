@@ -0,0 +1,316 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.service.TicketChangedEvent;
+import com.maintenance.service.TicketService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * What a technician should work on next: the open tickets assigned to them, and the open
+ * unassigned tickets of their teams, most pressing first. A team is a ticket category, so a
+ * plumber's team queue is the unassigned plumbing tickets.
+ *
+ * <p>Each technician and each team has an {@link IndexedMinHeap} of its tickets keyed by the
+ * time the ticket should be started by: its creation plus the SLA for its priority, or its
+ * estimated completion when that is earlier. The key folds priority, deadline and age into one
+ * instant that does not move as time passes, so the heaps never need rescoring; an urgent
+ * ticket created just now still comes before a low one from last week, until the low one's
+ * week is nearly up. A ticket change moves the ticket between heaps in O(log n).
+ *
+ * <p>Claiming is the database's job: a conditional update takes the ticket only while it is
+ * still open and not someone else's, so of two technicians pulling the same ticket one gets
+ * it and the other moves on to the next. The heaps follow {@link TicketChangedEvent}s from
+ * this instance as they commit, and changes through other instances every
+ * {@code app.work-queue.refresh-interval}; until then a peek may show a ticket another
+ * instance has handed out, which a claim then finds taken.
+ */
+@Component
+@EnableConfigurationProperties(WorkQueueProperties.class)
+@ConditionalOnProperty(prefix = "app.work-queue", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WorkQueue {
+
+    // Tickets updated this long before the last refresh are read again, for transactions that committed late
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    // Team of tickets without a category
+    private static final long NO_TEAM = -1L;
+
+    private final TicketRepository ticketRepository;
+    private final TicketService ticketService;
+    private final WorkQueueProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final Map<Long, IndexedMinHeap> byTechnician = new HashMap<>();
+    private final Map<Long, IndexedMinHeap> byTeam = new HashMap<>();
+    private final Map<Long, Placement> placements = new HashMap<>();
+
+    // Set once the initial build is done; refreshes start from there
+    private volatile LocalDateTime lastRefresh;
+
+    public WorkQueue(TicketRepository ticketRepository, TicketService ticketService,
+                     WorkQueueProperties properties, MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.ticketService = ticketService;
+        this.properties = properties;
+        Gauge.builder("app.work-queue.tickets", this, WorkQueue::size)
+                .description("Open tickets in technician and team work queues")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Up to {@code limit} tickets the technician could work on, most pressing first. Without
+     * teams, every team's unassigned tickets are included.
+     */
+    public List<WorkItem> peek(User technician, Collection<Long> teams, int limit) {
+        int n = Math.max(1, Math.min(limit, properties.getMaxPeek()));
+        List<Entry> entries = top(technician.getId(), teams, n);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Ticket> tickets = ticketRepository.findAllByIdWithDetails(entries.stream().map(Entry::ticketId).toList())
+                .stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        List<WorkItem> items = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            Ticket ticket = tickets.get(entry.ticketId());
+            if (!claimable(ticket, technician)) {
+                // Changed through another instance since the last refresh; put it where it belongs now
+                if (ticket != null) {
+                    place(ticket);
+                } else {
+                    evict(entry.ticketId());
+                }
+                continue;
+            }
+            items.add(new WorkItem(ticket, toDateTime(entry.dueAt()), ticket.getAssignee() != null));
+        }
+        return items;
+    }
+
+    /**
+     * Claims the most pressing ticket the technician could work on and starts it, or returns
+     * empty when their queues are empty or every ticket tried was claimed by someone else first.
+     */
+    public Optional<Ticket> pullNext(User technician, Collection<Long> teams) {
+        for (int attempt = 0; attempt < properties.getClaimAttempts(); attempt++) {
+            List<Entry> next = top(technician.getId(), teams, 1);
+            if (next.isEmpty()) {
+                return Optional.empty();
+            }
+            Long ticketId = next.get(0).ticketId();
+            Optional<Ticket> claimed = ticketService.claimTicket(ticketId, technician);
+            if (claimed.isPresent()) {
+                return claimed;
+            }
+            // Taken through another instance, or no longer open; the next refresh would drop it too
+            evict(ticketId);
+        }
+        log.debug("Technician {} found no claimable ticket in {} attempts", technician.getUsername(),
+                properties.getClaimAttempts());
+        return Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.deleted()) {
+            evict(event.ticket().getId());
+            return;
+        }
+        place(event.ticket());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildQueues() {
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            try {
+                long afterId = 0;
+                List<TicketRepository.WorkQueueRow> batch;
+                do {
+                    batch = ticketRepository.findWorkQueueRows(afterId, PageRequest.of(0, properties.getLoadBatchSize()));
+                    batch.forEach(this::place);
+                    if (!batch.isEmpty()) {
+                        afterId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == properties.getLoadBatchSize());
+                lastRefresh = startedAt;
+                log.info("Loaded {} open tickets into work queues in {} ms", size(),
+                        Duration.ofNanos(System.nanoTime() - started).toMillis());
+            } catch (RuntimeException ex) {
+                // Queues still fill with tickets changed through this instance from now on
+                log.warn("Could not build the work queues: {}", ex.getMessage());
+            }
+        }, "work-queue-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.work-queue.refresh-interval:1m}",
+               initialDelayString = "${app.work-queue.refresh-interval:1m}")
+    public void refresh() {
+        LocalDateTime since = lastRefresh;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ticketRepository.findWorkQueueRowsUpdatedAfter(since.minus(REFRESH_OVERLAP)).forEach(this::place);
+        lastRefresh = now;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return placements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The {@code n} most pressing entries across the technician's heap and the team heaps, in
+     * O(k n log n) for k heaps, as each heap gives up its own n first.
+     */
+    private List<Entry> top(Long technicianId, Collection<Long> teams, int n) {
+        List<Entry> entries = new ArrayList<>();
+        lock.lock();
+        try {
+            collect(byTechnician.get(technicianId), n, entries);
+            if (teams == null || teams.isEmpty()) {
+                byTeam.values().forEach(heap -> collect(heap, n, entries));
+            } else {
+                teams.forEach(team -> collect(byTeam.get(team), n, entries));
+            }
+        } finally {
+            lock.unlock();
+        }
+        entries.sort(Comparator.comparingLong(Entry::dueAt).thenComparingLong(Entry::ticketId));
+        return entries.size() > n ? entries.subList(0, n) : entries;
+    }
+
+    private static void collect(IndexedMinHeap heap, int n, List<Entry> entries) {
+        if (heap == null) {
+            return;
+        }
+        for (long ticketId : heap.peek(n)) {
+            entries.add(new Entry(ticketId, heap.keyOf(ticketId)));
+        }
+    }
+
+    private void place(Ticket ticket) {
+        place(ticket.getId(), ticket.getAssignee() != null ? ticket.getAssignee().getId() : null,
+                ticket.getCategory() != null ? ticket.getCategory().getId() : null, ticket.getPriority(),
+                ticket.getStatus(), ticket.getCreatedAt(), ticket.getEstimatedCompletion(), ticket.getDuplicateOfId());
+    }
+
+    private void place(TicketRepository.WorkQueueRow row) {
+        place(row.getId(), row.getAssigneeId(), row.getCategoryId(), row.getPriority(), row.getStatus(),
+                row.getCreatedAt(), row.getEstimatedCompletion(), row.getDuplicateOfId());
+    }
+
+    private void place(Long ticketId, Long assigneeId, Long categoryId, Priority priority, TicketStatus status,
+                       LocalDateTime createdAt, LocalDateTime estimatedCompletion, Long duplicateOfId) {
+        // A duplicate is done when the ticket it duplicates is, so it is not work of its own
+        if (status != TicketStatus.OPEN || duplicateOfId != null) {
+            evict(ticketId);
+            return;
+        }
+        long dueAt = dueAt(priority, createdAt, estimatedCompletion);
+        Placement placement = assigneeId != null
+                ? new Placement(true, assigneeId)
+                : new Placement(false, categoryId != null ? categoryId : NO_TEAM);
+        lock.lock();
+        try {
+            Placement previous = placements.put(ticketId, placement);
+            if (previous != null && !previous.equals(placement)) {
+                removeFrom(previous, ticketId);
+            }
+            (placement.assigned() ? byTechnician : byTeam)
+                    .computeIfAbsent(placement.owner(), id -> new IndexedMinHeap())
+                    .put(ticketId, dueAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(Long ticketId) {
+        lock.lock();
+        try {
+            Placement previous = placements.remove(ticketId);
+            if (previous != null) {
+                removeFrom(previous, ticketId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeFrom(Placement placement, long ticketId) {
+        Map<Long, IndexedMinHeap> heaps = placement.assigned() ? byTechnician : byTeam;
+        IndexedMinHeap heap = heaps.get(placement.owner());
+        if (heap != null) {
+            heap.remove(ticketId);
+            if (heap.isEmpty()) {
+                heaps.remove(placement.owner());
+            }
+        }
+    }
+
+    private long dueAt(Priority priority, LocalDateTime createdAt, LocalDateTime estimatedCompletion) {
+        Duration sla = properties.getSla().getOrDefault(priority != null ? priority : Priority.MEDIUM,
+                properties.getSla().getOrDefault(Priority.MEDIUM, Duration.ofDays(3)));
+        LocalDateTime due = (createdAt != null ? createdAt : LocalDateTime.now()).plus(sla);
+        if (estimatedCompletion != null && estimatedCompletion.isBefore(due)) {
+            due = estimatedCompletion;
+        }
+        return due.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+                (int) Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static boolean claimable(Ticket ticket, User technician) {
+        return ticket != null && ticket.getStatus() == TicketStatus.OPEN && ticket.getDuplicateOfId() == null
+                && (ticket.getAssignee() == null || ticket.getAssignee().getId().equals(technician.getId()));
+    }
+
+    // A technician's own heap, or a team's
+    private record Placement(boolean assigned, long owner) {
+    }
+
+    private record Entry(long ticketId, long dueAt) {
+    }
+}
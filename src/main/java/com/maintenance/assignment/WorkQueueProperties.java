@@ -0,0 +1,34 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.enums.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.work-queue")
+public class WorkQueueProperties {
+
+    private boolean enabled = true;
+
+    // Time from creation within which a ticket should be started, by priority; an earlier
+    // estimated completion takes precedence
+    private Map<Priority, Duration> sla = new EnumMap<>(Map.of(
+            Priority.URGENT, Duration.ofHours(4), Priority.HIGH, Duration.ofDays(1),
+            Priority.MEDIUM, Duration.ofDays(3), Priority.LOW, Duration.ofDays(7)));
+
+    // Most tickets a peek returns
+    private int maxPeek = 50;
+
+    // Tickets "pull next" tries before giving up when others keep claiming them first
+    private int claimAttempts = 5;
+
+    // How often tickets changed through other instances are read back into the queues
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    // Rows read per query while the queues are built at start-up
+    private int loadBatchSize = 5_000;
+}
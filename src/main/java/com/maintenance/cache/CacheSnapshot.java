@@ -0,0 +1,180 @@
+package com.maintenance.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cache contents worth keeping across a restart, and their binary file format.
+ *
+ * <p>Layout, big-endian: magic and version, time written, the high-water mark of each table,
+ * then every statistics cache as key/value pairs (a value is a count or a map of counts) and
+ * every entity cache as the ids it held, most recently used first. Strings are a length and
+ * UTF-8 bytes.
+ */
+record CacheSnapshot(Instant writtenAt,
+                     Map<String, HighWaterMark> marks,
+                     Map<String, Map<String, Object>> stats,
+                     Map<String, List<Long>> ids) {
+
+    private static final int MAGIC = 0x4A435331; // "JCS1"
+    private static final short VERSION = 1;
+
+    private static final byte COUNT = 1;
+    private static final byte COUNTS = 2;
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(writtenAt.toEpochMilli());
+
+            out.writeShort(marks.size());
+            for (HighWaterMark mark : marks.values()) {
+                writeString(out, mark.table());
+                out.writeLong(mark.maxUpdatedAt());
+                out.writeLong(mark.maxId());
+                out.writeLong(mark.rows());
+            }
+
+            out.writeShort(stats.size());
+            for (Map.Entry<String, Map<String, Object>> cache : stats.entrySet()) {
+                writeString(out, cache.getKey());
+                out.writeInt(cache.getValue().size());
+                for (Map.Entry<String, Object> entry : cache.getValue().entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+
+            out.writeShort(ids.size());
+            for (Map.Entry<String, List<Long>> cache : ids.entrySet()) {
+                writeString(out, cache.getKey());
+                out.writeInt(cache.getValue().size());
+                for (long id : cache.getValue()) {
+                    out.writeLong(id);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the file and decodes it; the mapping is released with the buffer.
+     */
+    static CacheSnapshot read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a cache snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported cache snapshot version " + version);
+        }
+        Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+
+        Map<String, HighWaterMark> marks = new LinkedHashMap<>();
+        for (int i = buffer.getShort(); i > 0; i--) {
+            HighWaterMark mark = new HighWaterMark(readString(buffer), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            marks.put(mark.table(), mark);
+        }
+
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (int i = buffer.getShort(); i > 0; i--) {
+            String cache = readString(buffer);
+            Map<String, Object> entries = new LinkedHashMap<>();
+            for (int n = buffer.getInt(); n > 0; n--) {
+                entries.put(readString(buffer), readValue(buffer));
+            }
+            stats.put(cache, entries);
+        }
+
+        Map<String, List<Long>> ids = new LinkedHashMap<>();
+        for (int i = buffer.getShort(); i > 0; i--) {
+            String cache = readString(buffer);
+            int n = buffer.getInt();
+            List<Long> cacheIds = new ArrayList<>(n);
+            for (; n > 0; n--) {
+                cacheIds.add(buffer.getLong());
+            }
+            ids.put(cache, cacheIds);
+        }
+        return new CacheSnapshot(writtenAt, marks, stats, ids);
+    }
+
+    /**
+     * Whether a statistics value can be stored: a count, or counts by name.
+     */
+    static boolean isStorable(Object value) {
+        if (value instanceof Long) {
+            return true;
+        }
+        return value instanceof Map<?, ?> map && map.entrySet().stream()
+                .allMatch(entry -> entry.getKey() instanceof String && entry.getValue() instanceof Long);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long count) {
+            out.writeByte(COUNT);
+            out.writeLong(count);
+            return;
+        }
+        Map<?, ?> counts = (Map<?, ?>) value;
+        out.writeByte(COUNTS);
+        out.writeInt(counts.size());
+        for (Map.Entry<?, ?> entry : counts.entrySet()) {
+            writeString(out, (String) entry.getKey());
+            out.writeLong((Long) entry.getValue());
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        if (type == COUNT) {
+            return buffer.getLong();
+        }
+        if (type != COUNTS) {
+            throw new IOException("Unknown value type " + type);
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int n = buffer.getInt(); n > 0; n--) {
+            counts.put(readString(buffer), buffer.getLong());
+        }
+        return counts;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,261 @@
+package com.maintenance.cache;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Ticket;
+import com.maintenance.repository.BuildingRepository;
+import com.maintenance.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Keeps the application caches across restarts. Every {@code app.cache.snapshot.interval},
+ * and on shutdown, the statistics caches and the ids held by the entity caches are written to
+ * {@link CacheSnapshot}, together with a {@link HighWaterMark} of the tables they come from.
+ *
+ * <p>On start-up, before the warm-up runs, statistics are restored only if their table has
+ * not changed since the snapshot; counts cannot be patched, so a changed table means they are
+ * recomputed on first use. Statistics that go stale without a write to that table are never
+ * snapshotted: those measured against the current time, such as overdue counts, and those
+ * keyed by another table's rows, such as counts by category name. Entities are never read
+ * from the file. The remembered ids are fetched fresh in batches, in the background once the
+ * application is ready.
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.cache.snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(CacheSnapshotProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheSnapshotManager implements ApplicationRunner, Ordered {
+
+    static final String ENTRIES = "app.cache.snapshot.entries";
+
+    // Statistics caches, and the table whose writes invalidate each of them
+    private static final Map<String, String> STATS_CACHES = Map.of(
+            "ticketStats", "tickets",
+            "buildingStats", "buildings");
+    // Key prefixes of statistics that move with more than their table: with the clock (overdue, last n
+    // months), or with category renames, which the tickets table's mark does not see
+    private static final List<String> UNSNAPSHOTTED_KEYS = List.of("countOverdue", "monthlyCount_", "countByCategory");
+    private static final List<String> ENTITY_CACHES = List.of("tickets", "buildings");
+    private static final List<String> TABLES = List.of("tickets", "buildings");
+
+    private final CacheSnapshotProperties properties;
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketRepository ticketRepository;
+    private final BuildingRepository buildingRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Entity ids from the restored snapshot, reloaded once the application is ready
+    private volatile Map<String, List<Long>> pendingIds = Map.of();
+
+    /**
+     * Runs before the other application runners, so the warm-up finds restored statistics.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = Path.of(properties.getFile());
+        if (!Files.exists(file)) {
+            log.info("No cache snapshot at {}, starting with empty caches", file);
+            return;
+        }
+
+        CacheSnapshot snapshot;
+        try {
+            snapshot = CacheSnapshot.read(file);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable cache snapshot {}: {}", file, ex.getMessage());
+            return;
+        }
+
+        Map<String, HighWaterMark> current = highWaterMarks();
+        STATS_CACHES.forEach((cacheName, table) -> {
+            Map<String, Object> entries = snapshot.stats().getOrDefault(cacheName, Map.of());
+            if (entries.isEmpty()) {
+                return;
+            }
+            if (!Objects.equals(snapshot.marks().get(table), current.get(table))) {
+                log.info("Table {} changed since the cache snapshot, not restoring {}", table, cacheName);
+                entriesCounter(cacheName, "stale").increment(entries.size());
+                return;
+            }
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                entries.forEach(cache::put);
+                entriesCounter(cacheName, "restored").increment(entries.size());
+            }
+        });
+        pendingIds = snapshot.ids();
+        log.info("Restored cache snapshot written at {}", snapshot.writtenAt());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadEntities() {
+        Map<String, List<Long>> ids = pendingIds;
+        pendingIds = Map.of();
+        if (ids.values().stream().allMatch(List::isEmpty)) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            reload("tickets", ids.getOrDefault("tickets", List.of()),
+                    ticketRepository::findAllByIdWithDetails, Ticket::getId);
+            reload("buildings", ids.getOrDefault("buildings", List.of()),
+                    buildingRepository::findByIdIn, Building::getId);
+        }, "cache-snapshot-reload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.snapshot.interval:5m}",
+               initialDelayString = "${app.cache.snapshot.interval:5m}")
+    public void writeSnapshot() {
+        Path file = Path.of(properties.getFile());
+        try {
+            // Marks before contents: a write landing in between makes the snapshot look stale, never fresh
+            Map<String, HighWaterMark> marks = highWaterMarks();
+
+            Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+            for (String cacheName : STATS_CACHES.keySet()) {
+                Map<String, Object> entries = new LinkedHashMap<>();
+                nativeEntries(cacheName, 0).forEach((key, value) -> {
+                    if (key instanceof String name && !isUnsnapshotted(name) && CacheSnapshot.isStorable(value)) {
+                        entries.put(name, value);
+                    }
+                });
+                stats.put(cacheName, entries);
+            }
+
+            Map<String, List<Long>> ids = new LinkedHashMap<>();
+            for (String cacheName : ENTITY_CACHES) {
+                List<Long> cacheIds = new ArrayList<>();
+                nativeEntries(cacheName, properties.getMaxEntityEntries()).forEach((key, value) -> {
+                    if (key instanceof Long id && !(value instanceof NullValue)) {
+                        cacheIds.add(id);
+                    }
+                });
+                ids.put(cacheName, cacheIds);
+            }
+
+            new CacheSnapshot(Instant.now(), marks, stats, ids).write(file);
+            log.debug("Wrote cache snapshot to {}", file);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write cache snapshot {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        writeSnapshot();
+    }
+
+    private <T> void reload(String cacheName, List<Long> ids, Function<List<Long>, List<T>> loader,
+                            Function<T, Long> idOf) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+
+        int loaded = 0;
+        int batchSize = Math.max(1, properties.getReloadBatchSize());
+        try {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                // Requests since start-up may already have cached some of them
+                List<Long> missing = ids.subList(from, Math.min(ids.size(), from + batchSize)).stream()
+                        .filter(id -> cache.get(id) == null)
+                        .toList();
+                if (missing.isEmpty()) {
+                    continue;
+                }
+                for (T entity : loader.apply(missing)) {
+                    cache.putIfAbsent(idOf.apply(entity), entity);
+                    loaded++;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Stopped reloading {} from the cache snapshot: {}", cacheName, ex.getMessage());
+        }
+        entriesCounter(cacheName, "reloaded").increment(loaded);
+        log.info("Reloaded {} of {} {} remembered by the cache snapshot", loaded, ids.size(), cacheName);
+    }
+
+    /**
+     * The cache's entries, or with a limit only that many of the most recently used ones.
+     */
+    private Map<Object, Object> nativeEntries(String cacheName, int limit) {
+        if (!(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            return Map.of();
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        if (limit <= 0) {
+            return nativeCache.asMap();
+        }
+        return nativeCache.policy().eviction()
+                .map(eviction -> eviction.hottest(limit))
+                .orElseGet(nativeCache::asMap);
+    }
+
+    private Map<String, HighWaterMark> highWaterMarks() {
+        Map<String, HighWaterMark> marks = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            HighWaterMark mark = jdbcTemplate.queryForObject(
+                    "SELECT MAX(updated_at), MAX(id), COUNT(*) FROM " + table,
+                    (rs, rowNum) -> {
+                        Timestamp maxUpdatedAt = rs.getTimestamp(1);
+                        return new HighWaterMark(table,
+                                maxUpdatedAt != null ? ChronoUnit.MICROS.between(Instant.EPOCH, maxUpdatedAt.toInstant()) : 0,
+                                rs.getLong(2), rs.getLong(3));
+                    });
+            marks.put(table, mark);
+        }
+        return marks;
+    }
+
+    private static boolean isUnsnapshotted(String key) {
+        return UNSNAPSHOTTED_KEYS.stream().anyMatch(key::startsWith);
+    }
+
+    private Counter entriesCounter(String cacheName, String outcome) {
+        return Counter.builder(ENTRIES)
+                .description("Cache entries restored from, dropped from or reloaded after the cache snapshot")
+                .tags("cache", cacheName, "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.maintenance.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache.snapshot")
+public class CacheSnapshotProperties {
+
+    private boolean enabled = true;
+
+    // Written to a temporary file next to it and moved into place, so a crash never leaves half a snapshot
+    private String file = "./cache-snapshot/caches.bin";
+
+    // How often the snapshot is rewritten; it is also written on shutdown
+    private Duration interval = Duration.ofMinutes(5);
+
+    // Most recently used entries kept per entity cache (tickets, buildings)
+    private int maxEntityEntries = 500;
+
+    // Entities fetched per query when reloading the entity caches after a restart
+    private int reloadBatchSize = 100;
+}
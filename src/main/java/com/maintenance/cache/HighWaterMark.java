@@ -0,0 +1,9 @@
+package com.maintenance.cache;
+
+/**
+ * How far a table had got when the snapshot was taken: its latest {@code updated_at} (epoch
+ * microseconds), highest id and row count. Inserts move the id, updates the timestamp and
+ * deletes the count, so any write since the snapshot changes at least one of them.
+ */
+record HighWaterMark(String table, long maxUpdatedAt, long maxId, long rows) {
+}
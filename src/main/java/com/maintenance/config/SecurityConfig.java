@@ -1,7 +1,10 @@
 package com.maintenance.config;
 
+import com.maintenance.monitoring.TimedPasswordEncoder;
 import com.maintenance.security.JwtAuthenticationEntryPoint;
 import com.maintenance.security.JwtAuthenticationFilter;
+import com.maintenance.security.PasswordHashingExecutor;
+import com.maintenance.security.PasswordHashingProperties;
 import com.maintenance.service.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -38,9 +41,17 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private PasswordHashingProperties passwordHashingProperties;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = passwordHashingProperties.getStrength();
+        return passwordHashingExecutor.encoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(strength)), strength);
     }
     
     @Bean
@@ -48,6 +59,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes on login when the stored hash's cost differs from the configured one
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -66,7 +79,10 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
+                .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/slowqueries").hasRole("ADMIN")
                 
                 // Vaadin endpoints
                 .requestMatchers("/").permitAll()
@@ -6,9 +6,12 @@ import com.maintenance.dto.UserDTO;
 import com.maintenance.entity.User;
 import com.maintenance.exception.UserAlreadyExistsException;
 import com.maintenance.security.JwtTokenProvider;
+import com.maintenance.security.TokenRevocationList;
 import com.maintenance.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,7 +21,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -31,7 +33,7 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
     
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and get JWT token")
@@ -74,9 +76,9 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
         
-        // Create new user
+        // Create new user; saveUser hashes the password
         User user = convertToEntity(userDTO);
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(userDTO.getPassword());
         
         User createdUser = userService.saveUser(user);
         
@@ -94,14 +96,22 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    @Operation(summary = "User logout", description = "Logout the current user")
-    public ResponseEntity<Void> logout() {
+    @Operation(summary = "User logout", description = "Logout the current user and revoke the token")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        // Parsed already by the security filter chain
+        Claims claims = tokenProvider.resolveClaims(request);
+        if (claims != null) {
+            // Tokens issued before revocation existed carry no jti and stay valid until they expire
+            if (claims.getId() != null) {
+                tokenRevocationList.revokeToken(claims.getId(), claims.getSubject(), claims.getExpiration());
+            }
+        }
         SecurityContextHolder.clearContext();
         return ResponseEntity.ok().build();
     }
     
     // Helper methods
-    private User convertToEntity(UserDTO dto) {
+    User convertToEntity(UserDTO dto) {
         User user = new User();
         user.setUsername(dto.getUsername());
         user.setEmail(dto.getEmail());
@@ -112,7 +122,7 @@ public class AuthController {
         return user;
     }
     
-    private UserDTO convertToDTO(User user) {
+    UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
         dto.setUsername(user.getUsername());
@@ -1,15 +1,20 @@
 package com.maintenance.controller;
 
+import com.maintenance.assignment.Assignment;
 import com.maintenance.dto.TicketDTO;
 import com.maintenance.dto.TicketStatusUpdateDTO;
 import com.maintenance.dto.TicketDTO;
 import com.maintenance.dto.TicketStatusUpdateDTO;
+import com.maintenance.duplicates.DuplicateCandidate;
 import com.maintenance.entity.Ticket;
 import com.maintenance.entity.User;
 import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.Role;
 import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.exception.ResourceNotFoundException;
 import com.maintenance.security.SecurityService;
 import com.maintenance.service.TicketService;
+import com.maintenance.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -38,6 +43,7 @@ public class TicketController {
     
     private final TicketService ticketService;
     private final SecurityService securityService;
+    private final UserService userService;
     
     @GetMapping
     @Operation(summary = "Get all tickets", description = "Retrieve all tickets with pagination")
@@ -167,26 +173,48 @@ public class TicketController {
     }
     
     @PatchMapping("/{id}/assign")
-    @Operation(summary = "Assign ticket", description = "Assign a ticket to a user")
+    @Operation(summary = "Assign ticket", description = "Assign a ticket to a user, or to the best placed technician when no user is given")
     @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN')")
     public ResponseEntity<Ticket> assignTicket(
             @Parameter(description = "Ticket ID") @PathVariable Long id,
-            @Parameter(description = "User ID to assign to") @RequestParam Long userId) {
+            @Parameter(description = "User ID to assign to") @RequestParam(required = false) Long userId) {
         
         User currentUser = securityService.getAuthenticatedUser()
                 .orElseThrow(() -> new RuntimeException("User not authenticated"));
         
+        if (userId == null) {
+            log.info("Auto-assigning ticket {} by user: {}", id, currentUser.getUsername());
+            return ticketService.autoAssignTicket(id, currentUser)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+        }
+        
         log.info("Assigning ticket {} to user {} by user: {}", 
                 id, userId, currentUser.getUsername());
         
-        // This would need user service to get the assignee user
-        // For now, just return the ticket
-        Ticket ticket = ticketService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Ticket not found"));
+        User assignee = userService.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        if (assignee.getRole() != Role.TECHNICIAN || !Boolean.TRUE.equals(assignee.getIsActive())) {
+            throw new IllegalArgumentException("User " + userId + " is not an active technician");
+        }
         
+        Ticket ticket = ticketService.assignTicket(id, assignee, currentUser);
         return ResponseEntity.ok(ticket);
     }
     
+    @PostMapping("/unassigned/assign")
+    @Operation(summary = "Assign unassigned tickets", description = "Assign the backlog of unassigned open tickets, most urgent first, in one transaction")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Assignment>> assignUnassignedTickets() {
+        
+        User currentUser = securityService.getAuthenticatedUser()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        
+        log.info("Assigning unassigned tickets by user: {}", currentUser.getUsername());
+        List<Assignment> assignments = ticketService.autoAssignUnassigned(currentUser);
+        return ResponseEntity.ok(assignments);
+    }
+    
     @GetMapping("/search")
     @Operation(summary = "Search tickets", description = "Search tickets by various criteria")
     @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN')")
@@ -199,6 +227,16 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
     
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "Get likely duplicates", description = "Open tickets in the same building and category that likely report the same problem")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN')")
+    public ResponseEntity<List<DuplicateCandidate>> getLikelyDuplicates(
+            @Parameter(description = "Ticket ID") @PathVariable Long id) {
+        
+        log.info("Fetching likely duplicates of ticket with ID: {}", id);
+        return ResponseEntity.ok(ticketService.findLikelyDuplicates(id));
+    }
+    
     @GetMapping("/overdue")
     @Operation(summary = "Get overdue tickets", description = "Retrieve all overdue tickets")
     @PreAuthorize("hasAnyRole('ADMIN', 'TECHNICIAN')")
@@ -239,7 +277,7 @@ public class TicketController {
     }
     
     // Helper methods
-    private Ticket convertToEntity(TicketDTO dto) {
+    Ticket convertToEntity(TicketDTO dto) {
         Ticket ticket = new Ticket();
         ticket.setTitle(dto.getTitle());
         ticket.setDescription(dto.getDescription());
@@ -249,7 +287,7 @@ public class TicketController {
         return ticket;
     }
     
-    private void updateTicketFields(Ticket ticket, TicketDTO dto) {
+    void updateTicketFields(Ticket ticket, TicketDTO dto) {
         if (dto.getTitle() != null) {
             ticket.setTitle(dto.getTitle());
         }
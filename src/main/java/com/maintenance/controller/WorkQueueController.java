@@ -0,0 +1,79 @@
+package com.maintenance.controller;
+
+import com.maintenance.assignment.WorkItem;
+import com.maintenance.assignment.WorkQueue;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.security.SecurityService;
+import com.maintenance.service.TicketService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.work-queue", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Work Queue", description = "Technician work queue endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class WorkQueueController {
+    
+    private final WorkQueue workQueue;
+    private final TicketService ticketService;
+    private final SecurityService securityService;
+    
+    @GetMapping
+    @Operation(summary = "Peek at my queue", description = "The most pressing open tickets assigned to me or waiting in my teams' queues, without claiming them")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<List<WorkItem>> peek(
+            @Parameter(description = "Number of tickets") @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "Category IDs of my teams; all teams when omitted") @RequestParam(required = false) List<Long> team) {
+        
+        User currentUser = securityService.getAuthenticatedUser()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        
+        log.info("Peeking at the work queue of user: {}", currentUser.getUsername());
+        return ResponseEntity.ok(workQueue.peek(currentUser, team, limit));
+    }
+    
+    @PostMapping("/next")
+    @Operation(summary = "Pull next ticket", description = "Claim and start the most pressing ticket in my queue")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<Ticket> pullNext(
+            @Parameter(description = "Category IDs of my teams; all teams when omitted") @RequestParam(required = false) List<Long> team) {
+        
+        User currentUser = securityService.getAuthenticatedUser()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        
+        log.info("Pulling the next ticket for user: {}", currentUser.getUsername());
+        return workQueue.pullNext(currentUser, team)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+    
+    @PostMapping("/{id}/claim")
+    @Operation(summary = "Claim ticket", description = "Claim and start an open ticket unless another technician already has it")
+    @PreAuthorize("hasRole('TECHNICIAN')")
+    public ResponseEntity<Ticket> claimTicket(
+            @Parameter(description = "Ticket ID") @PathVariable Long id) {
+        
+        User currentUser = securityService.getAuthenticatedUser()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+        
+        log.info("Claiming ticket {} for user: {}", id, currentUser.getUsername());
+        return ticketService.claimTicket(id, currentUser)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -0,0 +1,450 @@
+package com.maintenance.datagen;
+
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.Role;
+import com.maintenance.entity.enums.TicketStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a large, realistic and reproducible dataset for load testing.
+ * Rows are written with multi-row inserts on a single connection; the same seed
+ * always yields the same dataset relative to the configured reference time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataGenerator {
+
+    private static final String[] CITIES = {"Springfield", "Riverside", "Fairview", "Franklin", "Greenville",
+            "Bristol", "Clinton", "Georgetown", "Salem", "Madison"};
+    private static final String[] STATES = {"IL", "CA", "TX", "NY", "OR", "MA", "WA", "OH", "GA", "CO"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Park Blvd",
+            "Elm St", "Lake Rd", "Hill St", "Pine Ave", "River Rd"};
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+            "Thomas", "Sarah", "Carlos", "Karen", "Wei", "Aisha", "Olga", "Kenji", "Fatima", "Luca"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Nguyen", "Kim", "Patel", "Schmidt"};
+    private static final String[] ROOM_TYPES = {"APARTMENT", "OFFICE", "BATHROOM", "KITCHEN", "HALLWAY",
+            "STORAGE", "LOBBY", "LAUNDRY", "GARAGE", "MECHANICAL"};
+
+    private static final Map<String, String[]> ISSUES_BY_CATEGORY = Map.of(
+            "PLUMBING", new String[]{"Leaking faucet", "Clogged drain", "Running toilet", "No hot water",
+                    "Burst pipe", "Low water pressure", "Water stain on ceiling"},
+            "ELECTRICAL", new String[]{"Power outlet not working", "Flickering lights", "Tripped breaker",
+                    "Light fixture broken", "Exposed wiring", "Doorbell not working"},
+            "HVAC", new String[]{"No heating", "Air conditioning not cooling", "Thermostat unresponsive",
+                    "Noisy radiator", "Vent blowing warm air", "Strange smell from vents"},
+            "CLEANING", new String[]{"Spill in hallway", "Trash room overflowing", "Carpet stain",
+                    "Dirty windows", "Graffiti on wall"},
+            "SECURITY", new String[]{"Front door lock broken", "Intercom not working", "Key card reader offline",
+                    "Security camera down", "Gate stuck open"},
+            "STRUCTURAL", new String[]{"Crack in wall", "Loose floor tile", "Ceiling plaster falling",
+                    "Stair railing loose", "Window frame rotting"},
+            "PEST_CONTROL", new String[]{"Mice sighted", "Cockroaches in kitchen", "Ants near window",
+                    "Wasp nest on balcony", "Bed bugs reported"},
+            "LANDSCAPING", new String[]{"Overgrown hedge", "Dead tree in courtyard", "Sprinkler leaking",
+                    "Snow not cleared", "Leaves blocking drain"},
+            "EQUIPMENT", new String[]{"Elevator out of service", "Washing machine broken", "Dryer not heating",
+                    "Garage door stuck", "Dishwasher leaking"}
+    );
+    private static final String[] GENERIC_ISSUES = {"General maintenance request", "Something is broken",
+            "Noise complaint", "Inspection requested"};
+    private static final Map<String, Double> CATEGORY_WEIGHTS = Map.of(
+            "PLUMBING", 0.22, "ELECTRICAL", 0.15, "HVAC", 0.20, "CLEANING", 0.10, "SECURITY", 0.05,
+            "STRUCTURAL", 0.04, "PEST_CONTROL", 0.05, "LANDSCAPING", 0.03, "EQUIPMENT", 0.11, "OTHER", 0.05);
+
+    // Average length of the status path generated before padding (create, assign, progress, resolve, close)
+    private static final double BASE_HISTORY_ROWS = 4.5;
+    private static final int TICKETS_PER_COMMIT = 20_000;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final DataGeneratorProperties properties;
+
+    public void generate(LocalDateTime referenceTime) throws SQLException {
+        log.info("Generating dataset with seed {}: {} buildings, {} rooms, {} users, {} tickets",
+                properties.getSeed(), properties.getBuildings(), properties.getRooms(),
+                properties.getTenants() + properties.getTechnicians() + properties.getAdmins(),
+                properties.getTickets());
+
+        SkewedRandom random = new SkewedRandom(properties.getSeed());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            setConstraintChecks(connection, false);
+            try {
+                Dataset dataset = new Dataset();
+                loadCategories(connection, dataset);
+                generateUsers(connection, random, dataset, referenceTime);
+                generateBuildings(connection, random, dataset, referenceTime);
+                generateRooms(connection, random, dataset, referenceTime);
+                connection.commit();
+                generateTickets(connection, random, dataset, referenceTime);
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                setConstraintChecks(connection, true);
+            }
+        }
+    }
+
+    private void loadCategories(Connection connection, Dataset dataset) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT id, name, default_priority FROM ticket_categories WHERE is_active = true ORDER BY id")) {
+            while (rs.next()) {
+                dataset.categoryIds.add(rs.getLong("id"));
+                dataset.categoryNames.add(rs.getString("name"));
+                dataset.categoryPriorities.add(Priority.valueOf(rs.getString("default_priority")));
+            }
+        }
+
+        if (dataset.categoryIds.isEmpty()) {
+            throw new IllegalStateException("No active ticket categories found; apply database-schema.sql first");
+        }
+
+        double[] weights = new double[dataset.categoryNames.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = CATEGORY_WEIGHTS.getOrDefault(dataset.categoryNames.get(i), 0.05);
+        }
+        dataset.categoryWeights = SkewedRandom.cumulative(weights);
+    }
+
+    private void generateUsers(Connection connection, SkewedRandom random, Dataset dataset,
+                               LocalDateTime referenceTime) throws SQLException {
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+        long nextId = nextId(connection, "users");
+        long adminNumber = nextUserNumber(connection, Role.ADMIN);
+        long technicianNumber = nextUserNumber(connection, Role.TECHNICIAN);
+        long tenantNumber = nextUserNumber(connection, Role.TENANT);
+
+        String[] columns = {"id", "username", "email", "password_hash", "first_name", "last_name", "role",
+                "phone_number", "is_active", "created_at", "updated_at"};
+        try (MultiRowInserter users = new MultiRowInserter(connection, "users", columns, properties.getBatchSize())) {
+            dataset.adminStart = nextId;
+            nextId = addUsers(users, random, nextId, adminNumber, properties.getAdmins(), Role.ADMIN,
+                    passwordHash, referenceTime);
+            dataset.technicianStart = nextId;
+            nextId = addUsers(users, random, nextId, technicianNumber, properties.getTechnicians(), Role.TECHNICIAN,
+                    passwordHash, referenceTime);
+            dataset.tenantStart = nextId;
+            addUsers(users, random, nextId, tenantNumber, properties.getTenants(), Role.TENANT,
+                    passwordHash, referenceTime);
+        }
+
+        dataset.technicianWeights = SkewedRandom.zipf(properties.getTechnicians(), properties.getSkew() / 2);
+        dataset.tenantWeights = SkewedRandom.zipf(properties.getTenants(), properties.getSkew());
+        log.info("Generated {} users", properties.getAdmins() + properties.getTechnicians() + properties.getTenants());
+    }
+
+    private long addUsers(MultiRowInserter users, SkewedRandom random, long firstId, long firstNumber, int count,
+                          Role role, String passwordHash, LocalDateTime referenceTime) throws SQLException {
+        String prefix = role.name().toLowerCase();
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            String username = String.format("%s%06d", prefix, firstNumber + i);
+            Timestamp createdAt = Timestamp.valueOf(referenceTime.minusDays(random.nextInt(365 * 3)));
+            users.add(id, username, username + "@example.com", passwordHash,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    role.name(), String.format("555-%04d", random.nextInt(10_000)),
+                    !random.chance(0.03), createdAt, createdAt);
+        }
+        return firstId + count;
+    }
+
+    private void generateBuildings(Connection connection, SkewedRandom random, Dataset dataset,
+                                   LocalDateTime referenceTime) throws SQLException {
+        dataset.buildingStart = nextId(connection, "buildings");
+
+        String[] columns = {"id", "name", "address", "city", "state", "zip_code", "manager_id", "is_active",
+                "created_at", "updated_at"};
+        try (MultiRowInserter buildings = new MultiRowInserter(connection, "buildings", columns, properties.getBatchSize())) {
+            for (int i = 0; i < properties.getBuildings(); i++) {
+                int cityIndex = random.nextInt(CITIES.length);
+                long managerId = random.chance(0.5)
+                        ? dataset.adminStart + random.nextInt(Math.max(1, properties.getAdmins()))
+                        : dataset.technicianStart + random.nextInt(Math.max(1, properties.getTechnicians()));
+                Timestamp createdAt = Timestamp.valueOf(referenceTime.minusDays(365 * 3 + random.nextInt(365)));
+                buildings.add(dataset.buildingStart + i, String.format("Building %03d", i + 1),
+                        (100 + random.nextInt(9_900)) + " " + STREETS[random.nextInt(STREETS.length)],
+                        CITIES[cityIndex], STATES[cityIndex], String.format("%05d", 10_000 + random.nextInt(89_999)),
+                        managerId, true, createdAt, createdAt);
+            }
+        }
+
+        dataset.buildingWeights = SkewedRandom.zipf(properties.getBuildings(), properties.getSkew());
+        log.info("Generated {} buildings", properties.getBuildings());
+    }
+
+    private void generateRooms(Connection connection, SkewedRandom random, Dataset dataset,
+                               LocalDateTime referenceTime) throws SQLException {
+        int buildingCount = properties.getBuildings();
+        dataset.roomStart = new long[buildingCount];
+        dataset.roomCount = new int[buildingCount];
+
+        // Large towers get most rooms: split the total by the building popularity weights
+        double totalWeight = dataset.buildingWeights[buildingCount - 1];
+        long nextId = nextId(connection, "rooms");
+
+        String[] columns = {"id", "building_id", "floor_number", "room_number", "room_type", "description",
+                "is_active", "created_at", "updated_at"};
+        try (MultiRowInserter rooms = new MultiRowInserter(connection, "rooms", columns, properties.getBatchSize())) {
+            for (int b = 0; b < buildingCount; b++) {
+                double weight = dataset.buildingWeights[b] - (b > 0 ? dataset.buildingWeights[b - 1] : 0);
+                int count = Math.max(1, (int) Math.round(properties.getRooms() * weight / totalWeight));
+                int roomsPerFloor = random.nextInt(8, 40);
+                Timestamp createdAt = Timestamp.valueOf(referenceTime.minusDays(365 * 3));
+
+                dataset.roomStart[b] = nextId;
+                dataset.roomCount[b] = count;
+                for (int r = 0; r < count; r++) {
+                    int floor = r / roomsPerFloor + 1;
+                    String roomNumber = String.format("%d%02d", floor, r % roomsPerFloor + 1);
+                    rooms.add(nextId++, dataset.buildingStart + b, floor, roomNumber,
+                            ROOM_TYPES[random.nextInt(ROOM_TYPES.length)], null, true, createdAt, createdAt);
+                }
+            }
+        }
+        log.info("Generated {} rooms", Arrays.stream(dataset.roomCount).sum());
+    }
+
+    private void generateTickets(Connection connection, SkewedRandom random, Dataset dataset,
+                                 LocalDateTime referenceTime) throws SQLException {
+        long ticketId = nextId(connection, "tickets");
+        long commentId = nextId(connection, "comments");
+        long historyId = nextId(connection, "ticket_status_history");
+        long windowMinutes = properties.getHistoryMonths() * 30L * 24 * 60;
+        double extraHistory = Math.max(0, properties.getHistoryPerTicket() - BASE_HISTORY_ROWS);
+        long started = System.nanoTime();
+
+        String[] ticketColumns = {"id", "title", "description", "category_id", "priority", "status", "reporter_id",
+                "assignee_id", "building_id", "room_id", "estimated_completion", "actual_completion",
+                "resolution_notes", "created_at", "updated_at"};
+        String[] historyColumns = {"id", "ticket_id", "old_status", "new_status", "changed_by", "change_reason",
+                "created_at"};
+        String[] commentColumns = {"id", "ticket_id", "author_id", "content", "is_internal", "created_at",
+                "updated_at"};
+
+        try (MultiRowInserter tickets = new MultiRowInserter(connection, "tickets", ticketColumns, properties.getBatchSize());
+             MultiRowInserter history = new MultiRowInserter(connection, "ticket_status_history", historyColumns,
+                     properties.getBatchSize(), tickets);
+             MultiRowInserter comments = new MultiRowInserter(connection, "comments", commentColumns,
+                     properties.getBatchSize(), tickets)) {
+
+            for (long n = 0; n < properties.getTickets(); n++, ticketId++) {
+                int building = random.weighted(dataset.buildingWeights);
+                Long roomId = random.chance(0.8)
+                        ? dataset.roomStart[building] + random.nextInt(dataset.roomCount[building])
+                        : null;
+                int category = random.weighted(dataset.categoryWeights);
+                long reporterId = dataset.tenantStart + random.weighted(dataset.tenantWeights);
+
+                // Bias creation time towards the recent past
+                long ageMinutes = (long) (windowMinutes * Math.pow(random.nextDouble(), 1.6));
+                LocalDateTime createdAt = referenceTime.minusMinutes(ageMinutes);
+                TicketStatus status = pickStatus(random, ageMinutes);
+                Priority priority = random.chance(0.7)
+                        ? dataset.categoryPriorities.get(category)
+                        : Priority.values()[random.nextInt(Priority.values().length)];
+
+                Long assigneeId = status == TicketStatus.OPEN && random.chance(0.6)
+                        ? null
+                        : dataset.technicianStart + random.weighted(dataset.technicianWeights);
+                LocalDateTime estimatedCompletion = createdAt.plusDays(daysToComplete(priority));
+                LocalDateTime actualCompletion = status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED
+                        ? createdAt.plusHours(random.nextInt(1, 24 * 21))
+                        : null;
+                if (actualCompletion != null && actualCompletion.isAfter(referenceTime)) {
+                    actualCompletion = referenceTime;
+                }
+
+                String issue = pickIssue(random, dataset.categoryNames.get(category));
+                String location = roomId != null ? "room " + (roomId - dataset.roomStart[building] + 1) : "common area";
+                String title = issue + " in " + location;
+                String description = issue + " reported in " + location + " of Building "
+                        + String.format("%03d", building + 1) + ". Please send someone to take a look.";
+
+                LocalDateTime endOfLife = actualCompletion != null ? actualCompletion : referenceTime;
+                long lifeMinutes = Math.max(1, Duration.between(createdAt, endOfLife).toMinutes());
+                long adminId = dataset.adminStart + random.nextInt(Math.max(1, properties.getAdmins()));
+                long actorId = assigneeId != null ? assigneeId : adminId;
+
+                // Status history: created, assigned, work states, then padding to the configured average
+                List<Object[]> path = new ArrayList<>();
+                path.add(new Object[]{null, TicketStatus.OPEN, reporterId, "Ticket created"});
+                if (assigneeId != null) {
+                    path.add(new Object[]{TicketStatus.OPEN, TicketStatus.OPEN, adminId, "Ticket assigned"});
+                }
+                if (status != TicketStatus.OPEN) {
+                    path.add(new Object[]{TicketStatus.OPEN, TicketStatus.IN_PROGRESS, actorId, "Work started"});
+                    int holds = random.geometric(0.3);
+                    for (int h = 0; h < holds; h++) {
+                        path.add(new Object[]{TicketStatus.IN_PROGRESS, TicketStatus.ON_HOLD, actorId, "Waiting for parts"});
+                        path.add(new Object[]{TicketStatus.ON_HOLD, TicketStatus.IN_PROGRESS, actorId, "Work resumed"});
+                    }
+                    if (status == TicketStatus.ON_HOLD) {
+                        path.add(new Object[]{TicketStatus.IN_PROGRESS, TicketStatus.ON_HOLD, actorId, "Waiting for parts"});
+                    }
+                    if (status == TicketStatus.RESOLVED || status == TicketStatus.CLOSED) {
+                        path.add(new Object[]{TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, actorId, "Issue resolved"});
+                    }
+                    if (status == TicketStatus.CLOSED) {
+                        path.add(new Object[]{TicketStatus.RESOLVED, TicketStatus.CLOSED, adminId, "Ticket closed"});
+                    }
+                }
+                int padding = random.geometric(extraHistory);
+                for (int p = 0; p < padding; p++) {
+                    path.add(1, new Object[]{TicketStatus.OPEN, TicketStatus.OPEN, adminId, "Priority reviewed"});
+                }
+
+                // The ticket goes in ahead of its history and comments, which flush it first
+                LocalDateTime updatedAt = createdAt.plusMinutes(lifeMinutes * (path.size() - 1) / path.size());
+                tickets.add(ticketId, title, description, dataset.categoryIds.get(category), priority.name(),
+                        status.name(), reporterId, assigneeId, dataset.buildingStart + building, roomId,
+                        Timestamp.valueOf(estimatedCompletion),
+                        actualCompletion != null ? Timestamp.valueOf(actualCompletion) : null,
+                        actualCompletion != null ? "Resolved by maintenance team." : null,
+                        Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt));
+
+                for (int i = 0; i < path.size(); i++) {
+                    Object[] step = path.get(i);
+                    LocalDateTime at = createdAt.plusMinutes(lifeMinutes * i / path.size());
+                    TicketStatus oldStatus = (TicketStatus) step[0];
+                    history.add(historyId++, ticketId, oldStatus != null ? oldStatus.name() : null,
+                            ((TicketStatus) step[1]).name(), step[2], step[3], Timestamp.valueOf(at));
+                }
+
+                int commentCount = random.geometric(properties.getCommentsPerTicket());
+                for (int c = 0; c < commentCount; c++) {
+                    boolean byTechnician = assigneeId != null && random.chance(0.5);
+                    Timestamp at = Timestamp.valueOf(createdAt.plusMinutes(lifeMinutes * (c + 1) / (commentCount + 1)));
+                    comments.add(commentId++, ticketId, byTechnician ? assigneeId : reporterId,
+                            byTechnician ? "Checked on site, follow-up scheduled." : "Any update on this?",
+                            byTechnician && random.chance(0.4), at, at);
+                }
+
+                if ((n + 1) % TICKETS_PER_COMMIT == 0) {
+                    tickets.flush();
+                    history.flush();
+                    comments.flush();
+                    connection.commit();
+                }
+                if ((n + 1) % 100_000 == 0) {
+                    double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                    log.info("Generated {} tickets, {} history rows, {} comments ({} tickets/s)",
+                            n + 1, history.getRowsWritten(), comments.getRowsWritten(), (long) ((n + 1) / seconds));
+                }
+            }
+
+            tickets.flush();
+            history.flush();
+            comments.flush();
+            log.info("Generated {} tickets, {} history rows, {} comments",
+                    tickets.getRowsWritten(), history.getRowsWritten(), comments.getRowsWritten());
+        }
+    }
+
+    private TicketStatus pickStatus(SkewedRandom random, long ageMinutes) {
+        double roll = random.nextDouble();
+        if (ageMinutes < 2 * 24 * 60) {
+            return roll < 0.6 ? TicketStatus.OPEN : roll < 0.9 ? TicketStatus.IN_PROGRESS : TicketStatus.ON_HOLD;
+        }
+        if (ageMinutes < 14 * 24 * 60) {
+            return roll < 0.2 ? TicketStatus.OPEN : roll < 0.55 ? TicketStatus.IN_PROGRESS
+                    : roll < 0.65 ? TicketStatus.ON_HOLD : roll < 0.9 ? TicketStatus.RESOLVED : TicketStatus.CLOSED;
+        }
+        return roll < 0.02 ? TicketStatus.OPEN : roll < 0.05 ? TicketStatus.IN_PROGRESS
+                : roll < 0.07 ? TicketStatus.ON_HOLD : roll < 0.2 ? TicketStatus.RESOLVED : TicketStatus.CLOSED;
+    }
+
+    private int daysToComplete(Priority priority) {
+        switch (priority) {
+            case URGENT:
+                return 1;
+            case HIGH:
+                return 3;
+            case MEDIUM:
+                return 7;
+            default:
+                return 14;
+        }
+    }
+
+    private String pickIssue(SkewedRandom random, String categoryName) {
+        String[] issues = ISSUES_BY_CATEGORY.getOrDefault(categoryName, GENERIC_ISSUES);
+        return issues[random.nextInt(issues.length)];
+    }
+
+    private long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // Numbers carry on after the users of earlier runs, so that a second run adds users instead of clashing
+    private long nextUserNumber(Connection connection, Role role) throws SQLException {
+        String prefix = role.name().toLowerCase();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COALESCE(MAX(CAST(SUBSTRING(username, ?) AS UNSIGNED)), 0) + 1 FROM users "
+                        + "WHERE username REGEXP ?")) {
+            statement.setInt(1, prefix.length() + 1);
+            statement.setString(2, "^" + prefix + "[0-9]{6,}$");
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private void setConstraintChecks(Connection connection, boolean enabled) throws SQLException {
+        if (!properties.isDisableConstraintChecks()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET FOREIGN_KEY_CHECKS = " + (enabled ? 1 : 0));
+            statement.execute("SET UNIQUE_CHECKS = " + (enabled ? 1 : 0));
+        }
+    }
+
+    /**
+     * Id ranges and sampling weights shared between the generation steps.
+     */
+    private static class Dataset {
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<String> categoryNames = new ArrayList<>();
+        private final List<Priority> categoryPriorities = new ArrayList<>();
+        private double[] categoryWeights;
+        private long adminStart;
+        private long technicianStart;
+        private long tenantStart;
+        private double[] technicianWeights;
+        private double[] tenantWeights;
+        private long buildingStart;
+        private double[] buildingWeights;
+        private long[] roomStart;
+        private int[] roomCount;
+    }
+}
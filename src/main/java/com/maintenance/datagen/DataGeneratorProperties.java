@@ -0,0 +1,47 @@
+package com.maintenance.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDateTime;
+
+@Data
+@ConfigurationProperties(prefix = "app.datagen")
+public class DataGeneratorProperties {
+
+    // Same seed, same dataset: keeps benchmark runs comparable
+    private long seed = 42L;
+
+    private int buildings = 200;
+
+    private int rooms = 50_000;
+
+    private int tenants = 40_000;
+
+    private int technicians = 400;
+
+    private int admins = 20;
+
+    private long tickets = 5_000_000L;
+
+    // Average history rows per ticket (5M tickets x 6 = ~30M history rows)
+    private double historyPerTicket = 6.0;
+
+    private double commentsPerTicket = 2.0;
+
+    // Zipf exponent used for buildings, reporters and assignees; higher means more skew
+    private double skew = 1.1;
+
+    // Tickets are spread over this many months before the reference time
+    private int historyMonths = 36;
+
+    // Fixed "now" for the generated timestamps; defaults to the current time when unset
+    private LocalDateTime referenceTime;
+
+    private int batchSize = 1_000;
+
+    // Plain-text password shared by every generated user
+    private String password = "password123";
+
+    private boolean disableConstraintChecks = true;
+}
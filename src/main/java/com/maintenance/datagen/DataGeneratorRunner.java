@@ -0,0 +1,39 @@
+package com.maintenance.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Loads the synthetic dataset and exits. Run with {@code --spring.profiles.active=datagen}.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+@Slf4j
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private final DataGenerator dataGenerator;
+    private final DataGeneratorProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        LocalDateTime referenceTime = properties.getReferenceTime() != null
+                ? properties.getReferenceTime()
+                : LocalDateTime.now();
+
+        long started = System.currentTimeMillis();
+        dataGenerator.generate(referenceTime);
+        log.info("Dataset generated in {} s", (System.currentTimeMillis() - started) / 1000);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
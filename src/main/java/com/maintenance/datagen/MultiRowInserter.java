@@ -0,0 +1,105 @@
+package com.maintenance.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers rows and writes them as multi-row {@code INSERT ... VALUES (...), (...)} statements.
+ * An inserter for child rows can be given the inserter of their parent rows, which is then
+ * flushed first, so foreign keys hold even while constraint checks are on.
+ */
+class MultiRowInserter implements AutoCloseable {
+
+    private final Connection connection;
+    private final String insertPrefix;
+    private final String rowPlaceholder;
+    private final int columnCount;
+    private final int batchSize;
+    private final List<Object[]> buffer;
+    private final MultiRowInserter parent;
+    private PreparedStatement fullBatchStatement;
+    private long rowsWritten;
+
+    MultiRowInserter(Connection connection, String table, String[] columns, int batchSize) {
+        this(connection, table, columns, batchSize, null);
+    }
+
+    MultiRowInserter(Connection connection, String table, String[] columns, int batchSize, MultiRowInserter parent) {
+        this.connection = connection;
+        this.insertPrefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        this.rowPlaceholder = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        this.columnCount = columns.length;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayList<>(batchSize);
+        this.parent = parent;
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Expected " + columnCount + " values but got " + values.length);
+        }
+        buffer.add(values);
+        if (buffer.size() == batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        if (parent != null) {
+            parent.flush();
+        }
+
+        if (buffer.size() == batchSize) {
+            if (fullBatchStatement == null) {
+                fullBatchStatement = connection.prepareStatement(buildSql(batchSize));
+            }
+            write(fullBatchStatement);
+        } else {
+            try (PreparedStatement tail = connection.prepareStatement(buildSql(buffer.size()))) {
+                write(tail);
+            }
+        }
+    }
+
+    long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        if (fullBatchStatement != null) {
+            fullBatchStatement.close();
+        }
+    }
+
+    private void write(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        for (Object[] row : buffer) {
+            for (Object value : row) {
+                statement.setObject(index++, value);
+            }
+        }
+        statement.executeUpdate();
+        rowsWritten += buffer.size();
+        buffer.clear();
+    }
+
+    private String buildSql(int rows) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + rows * (rowPlaceholder.length() + 2));
+        sql.append(insertPrefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholder);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.maintenance.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic random source with the skewed distributions used by the generator.
+ */
+class SkewedRandom {
+
+    private final SplittableRandom random;
+
+    SkewedRandom(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    double nextDouble() {
+        return random.nextDouble();
+    }
+
+    boolean chance(double probability) {
+        return random.nextDouble() < probability;
+    }
+
+    /**
+     * Geometric count with the given mean, so most tickets get a few rows and some get many.
+     */
+    int geometric(double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1.0 / (mean + 1.0);
+        return (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    /**
+     * Picks an index using the given cumulative weights (last element is the total).
+     */
+    int weighted(double[] cumulativeWeights) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Cumulative Zipf weights for {@code size} ranks: rank 0 is the most popular.
+     */
+    static double[] zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return cumulative(weights);
+    }
+}
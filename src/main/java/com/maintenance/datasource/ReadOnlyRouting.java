@@ -0,0 +1,31 @@
+package com.maintenance.datasource;
+
+/**
+ * Whether connections taken by the current thread may come from a replica. Set by
+ * {@link ReadReplicaRoutingAspect} around read-only transactions.
+ */
+public final class ReadOnlyRouting {
+
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+    private ReadOnlyRouting() {
+    }
+
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA.get());
+    }
+
+    static Boolean set(boolean replicaAllowed) {
+        Boolean previous = REPLICA.get();
+        REPLICA.set(replicaAllowed);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            REPLICA.remove();
+        } else {
+            REPLICA.set(previous);
+        }
+    }
+}
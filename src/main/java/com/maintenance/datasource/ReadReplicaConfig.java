@@ -0,0 +1,57 @@
+package com.maintenance.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ReadWriteRoutingDataSource} in front of the primary DataSource. It wraps the
+ * bulkhead partitioning (so writes and lagging-replica fallbacks still honour partitions) and
+ * is itself wrapped by statement timing, which runs later as an unordered post-processor.
+ *
+ * <p>Requires {@code spring.jpa.open-in-view=false}. With open-in-view the request's
+ * EntityManager holds on to the first connection it takes until the response is written, so a
+ * write after a read-only call in the same request would go to the replica.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingPostProcessor(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("Read replicas need spring.jpa.open-in-view=false (JPA_OPEN_IN_VIEW=false): "
+                    + "with open-in-view a request keeps its first connection, and writes after a read would go to a replica");
+        }
+        // Bound by hand: post-processors are created before configuration properties beans
+        ReadReplicaProperties properties = Binder.get(environment)
+                .bind("app.read-replicas", ReadReplicaProperties.class)
+                .orElseGet(ReadReplicaProperties::new);
+        return new RoutingPostProcessor(properties);
+    }
+
+    private record RoutingPostProcessor(ReadReplicaProperties properties) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof ReadWriteRoutingDataSource)
+                    && !properties.getNodes().isEmpty()) {
+                return new ReadWriteRoutingDataSource(dataSource, properties);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.maintenance.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.read-replicas")
+public class ReadReplicaProperties {
+
+    // Send read-only transactions to the replicas below
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    // Replicas further behind the primary than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    // Set to false for replicas that cannot report their lag (e.g. an H2 stand-in in tests)
+    private boolean lagCheck = true;
+
+    // Reads by a user within this long of their own write go to the primary
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    @Data
+    public static class Node {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,69 @@
+package com.maintenance.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marks read-only transactions as replica-safe before the transaction interceptor takes a
+ * connection. Ordered just outside the transaction interceptor and inside the bulkhead
+ * aspect, so the mark is set on the thread that runs the transaction.
+ *
+ * <p>A transaction started within the stickiness window after the same user's last write
+ * stays on the primary (read-your-writes). Nested transactions that join an outer one keep
+ * its connection whatever they are marked.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 5)
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadReplicaRoutingAspect {
+
+    private final TransactionAttributeSource transactionAttributes = new AnnotationTransactionAttributeSource(false);
+    private final RecentWriters recentWriters;
+
+    @Around("within(com.maintenance..*) && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        TransactionAttribute attribute = transactionAttributes.getTransactionAttribute(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        if (attribute == null) {
+            return joinPoint.proceed();
+        }
+
+        boolean outermost = !TransactionSynchronizationManager.isActualTransactionActive();
+        String username = currentUsername();
+        boolean replica = attribute.isReadOnly() && (username == null || !recentWriters.recentlyWrote(username));
+
+        Boolean previous = ReadOnlyRouting.set(replica);
+        try {
+            Object result = joinPoint.proceed();
+            if (outermost && !attribute.isReadOnly() && username != null) {
+                recentWriters.wrote(username);
+            }
+            return result;
+        } finally {
+            ReadOnlyRouting.restore(previous);
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
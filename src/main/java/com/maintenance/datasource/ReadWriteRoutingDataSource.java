@@ -0,0 +1,153 @@
+package com.maintenance.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives read-only transactions a connection from a healthy replica, round robin, and
+ * everything else a connection from the primary. A replica that is lagging, down or out of
+ * connections is skipped; with none left, reads fall back to the primary.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    final LongAdder primaryReads = new LongAdder();
+    final LongAdder replicaReads = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplicaProperties properties) {
+        this.primary = primary;
+        List<Replica> nodes = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            nodes.add(new Replica("replica-" + (i + 1), replicaPool(properties.getNodes().get(i), i + 1)));
+        }
+        this.replicas = Collections.unmodifiableList(nodes);
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadOnlyRouting.isReplicaAllowed()) {
+            return primary.getConnection();
+        }
+
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                log.warn("Replica {} unavailable, trying the next one: {}", replica.name, ex.getMessage());
+                replica.markDown();
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routing DataSource does not support explicit credentials");
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicas.forEach(replica -> replica.pool.close());
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static HikariDataSource replicaPool(ReadReplicaProperties.Node node, int index) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica-" + index);
+        pool.setJdbcUrl(node.getUrl());
+        pool.setUsername(node.getUsername());
+        pool.setPassword(node.getPassword());
+        pool.setMaximumPoolSize(node.getMaximumPoolSize());
+        pool.setMinimumIdle(Math.min(2, node.getMaximumPoolSize()));
+        // Fail over to the primary quickly rather than queueing on a struggling replica
+        pool.setConnectionTimeout(2_000);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * One replica and its latest health check.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        HikariDataSource getPool() {
+            return pool;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+
+        void update(boolean healthy, double lagSeconds) {
+            if (this.healthy != healthy) {
+                log.info("Replica {} is now {} (lag {} s)", name, healthy ? "in use" : "skipped", lagSeconds);
+            }
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+        }
+
+        void markDown() {
+            update(false, lagSeconds);
+        }
+    }
+}
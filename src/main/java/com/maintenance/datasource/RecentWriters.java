@@ -0,0 +1,33 @@
+package com.maintenance.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users who committed a write within the stickiness window, so their next reads see it even
+ * if the replicas have not caught up yet. Per instance: a user whose requests are spread over
+ * several instances only gets read-your-writes on the instance that took the write.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+public class RecentWriters {
+
+    private final Cache<String, Boolean> writers;
+
+    public RecentWriters(ReadReplicaProperties properties) {
+        this.writers = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getStickiness())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    void wrote(String username) {
+        writers.put(username, Boolean.TRUE);
+    }
+
+    boolean recentlyWrote(String username) {
+        return writers.getIfPresent(username) != null;
+    }
+}
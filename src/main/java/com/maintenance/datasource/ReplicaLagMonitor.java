@@ -0,0 +1,90 @@
+package com.maintenance.datasource;
+
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks every replica's replication lag on a fixed delay and takes replicas that are too far
+ * behind, or not replicating at all, out of rotation until they catch up. Publishes the lag,
+ * health and where reads went.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final ReadWriteRoutingDataSource routing;
+    private final ReadReplicaProperties properties;
+
+    public ReplicaLagMonitor(DataSource dataSource, ReadReplicaProperties properties, MeterRegistry meterRegistry)
+            throws SQLException {
+        this.routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        this.properties = properties;
+
+        for (ReadWriteRoutingDataSource.Replica replica : routing.getReplicas()) {
+            replica.getPool().setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            Gauge.builder("app.replica.lag", replica, ReadWriteRoutingDataSource.Replica::getLagSeconds)
+                    .description("Replication lag behind the primary")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("app.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the replica is taking read-only transactions")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+        readCounter(meterRegistry, "replica", routing.replicaReads);
+        readCounter(meterRegistry, "primary", routing.primaryReads);
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replicas.lag-check-interval:5s}")
+    public void checkLag() {
+        for (ReadWriteRoutingDataSource.Replica replica : routing.getReplicas()) {
+            try (Connection connection = replica.getPool().getConnection()) {
+                if (!properties.isLagCheck()) {
+                    replica.update(connection.isValid(2), 0);
+                    continue;
+                }
+                double lag = lagSeconds(connection);
+                replica.update(lag >= 0 && lag <= properties.getMaxLag().toSeconds(), Math.max(lag, 0));
+            } catch (SQLException ex) {
+                log.debug("Lag check failed for {}", replica.getName(), ex);
+                replica.markDown();
+            }
+        }
+    }
+
+    /**
+     * Seconds behind the primary as reported by MySQL, or {@code -1} when replication is not running.
+     */
+    private static double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return -1;
+            }
+            long seconds = status.getLong("Seconds_Behind_Source");
+            return status.wasNull() ? -1 : seconds;
+        }
+    }
+
+    private static void readCounter(MeterRegistry meterRegistry, String target, LongAdder reads) {
+        FunctionCounter.builder("app.replica.reads", reads, LongAdder::sum)
+                .description("Connections for read-only transactions; primary means no replica was usable")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
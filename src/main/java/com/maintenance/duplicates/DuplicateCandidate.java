@@ -0,0 +1,8 @@
+package com.maintenance.duplicates;
+
+/**
+ * An open ticket that likely reports the same problem, with the estimated Jaccard
+ * similarity of the two tickets' text.
+ */
+public record DuplicateCandidate(Long ticketId, double similarity) {
+}
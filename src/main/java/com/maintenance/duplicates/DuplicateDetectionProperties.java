@@ -0,0 +1,43 @@
+package com.maintenance.duplicates;
+
+import com.maintenance.entity.enums.TicketStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "app.duplicates")
+public class DuplicateDetectionProperties {
+
+    private boolean enabled = true;
+
+    // LSH bands and values per band; the signature holds bands * rows values of one byte each
+    private int bands = 8;
+    private int rows = 4;
+
+    // Estimated similarity (0..1) from which a ticket is reported as a likely duplicate
+    private double threshold = 0.5;
+
+    // Likely duplicates reported per ticket
+    private int maxResults = 5;
+
+    // Link a new ticket to its closest match at or above auto-link-threshold
+    private boolean autoLink = false;
+    private double autoLinkThreshold = 0.8;
+
+    // Tickets in these statuses, created within max-age, are candidates
+    private Set<TicketStatus> statuses = EnumSet.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.ON_HOLD);
+    private Duration maxAge = Duration.ofDays(90);
+
+    // How often tickets changed through other instances are re-indexed
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    // Tickets read per query while the index is first built
+    private int loadBatchSize = 5_000;
+
+    // Tickets the index is sized for up front; it grows as needed
+    private int initialCapacity = 100_000;
+}
@@ -0,0 +1,197 @@
+package com.maintenance.duplicates;
+
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.service.TicketChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Finds open tickets that likely report the same problem as a new one: the same building and
+ * category, and text whose MinHash signatures estimate a Jaccard similarity of at least
+ * {@code app.duplicates.threshold}. Signatures of candidate tickets are kept in an in-memory
+ * {@link LshIndex}, so a lookup touches a handful of buckets rather than the table.
+ *
+ * <p>The index is built in the background after start-up from tickets in the candidate
+ * statuses created within {@code max-age}, and then kept current: tickets changed here are
+ * re-indexed as their transaction commits, and those changed through other instances every
+ * {@code refresh-interval}, when tickets created more than {@code max-age} ago are dropped
+ * as well. Tickets deleted through another instance stay indexed until the next restart, so
+ * callers check that a match still exists before relying on it.
+ */
+@Component
+@EnableConfigurationProperties(DuplicateDetectionProperties.class)
+@ConditionalOnProperty(prefix = "app.duplicates", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class DuplicateDetector {
+
+    // Tickets updated this long before the last refresh are read again, for transactions that committed late
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final TicketRepository ticketRepository;
+    private final DuplicateDetectionProperties properties;
+    private final MinHasher minHasher;
+    private final LshIndex index;
+
+    private final Timer lookupsFound;
+    private final Timer lookupsNone;
+
+    // Set once the initial build is done; refreshes start from there
+    private volatile LocalDateTime lastRefresh;
+
+    public DuplicateDetector(TicketRepository ticketRepository, DuplicateDetectionProperties properties,
+                             MeterRegistry meterRegistry) {
+        if (properties.getBands() < 1 || properties.getRows() < 1) {
+            throw new IllegalArgumentException("app.duplicates.bands and rows must be positive");
+        }
+        this.ticketRepository = ticketRepository;
+        this.properties = properties;
+        this.minHasher = new MinHasher(properties.getBands() * properties.getRows());
+        this.index = new LshIndex(properties.getBands(), properties.getRows(), properties.getInitialCapacity());
+
+        this.lookupsFound = lookupTimer("true", meterRegistry);
+        this.lookupsNone = lookupTimer("false", meterRegistry);
+        Gauge.builder("app.duplicates.index.tickets", index, LshIndex::size)
+                .description("Tickets in the duplicate detection index")
+                .register(meterRegistry);
+        Gauge.builder("app.duplicates.index.bytes", index, LshIndex::memoryBytes)
+                .description("Memory held by the duplicate detection index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Likely duplicates of the ticket among other indexed tickets, most similar first.
+     */
+    public List<DuplicateCandidate> findDuplicates(Ticket ticket) {
+        if (ticket.getBuilding() == null || ticket.getCategory() == null) {
+            return List.of();
+        }
+        Timer.Sample sample = Timer.start();
+        byte[] signature = minHasher.signature(ticket.getTitle(), ticket.getDescription());
+        List<DuplicateCandidate> candidates = signature == null ? List.of() : index.query(
+                        partition(ticket.getBuilding().getId(), ticket.getCategory().getId()), signature,
+                        properties.getThreshold(), ticket.getId() != null ? ticket.getId() : -1,
+                        properties.getMaxResults())
+                .stream()
+                .map(match -> new DuplicateCandidate(match.ticketId(), match.similarity()))
+                .toList();
+        sample.stop(candidates.isEmpty() ? lookupsNone : lookupsFound);
+        return candidates;
+    }
+
+    /**
+     * Whether a new ticket should be linked to this candidate rather than only told about it.
+     */
+    public boolean shouldAutoLink(DuplicateCandidate candidate) {
+        return properties.isAutoLink() && candidate.similarity() >= properties.getAutoLinkThreshold();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Ticket ticket = event.ticket();
+        if (event.deleted()) {
+            index.remove(ticket.getId());
+            return;
+        }
+        index(ticket.getId(), ticket.getBuilding() != null ? ticket.getBuilding().getId() : null,
+                ticket.getCategory() != null ? ticket.getCategory().getId() : null,
+                ticket.getTitle(), ticket.getDescription(), ticket.getStatus(), ticket.getCreatedAt());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        Thread thread = new Thread(() -> {
+            long started = System.nanoTime();
+            LocalDateTime startedAt = LocalDateTime.now();
+            LocalDateTime since = startedAt.minus(properties.getMaxAge());
+            try {
+                long afterId = 0;
+                List<TicketRepository.DuplicateIndexRow> batch;
+                do {
+                    batch = ticketRepository.findDuplicateIndexRows(properties.getStatuses(), since, afterId,
+                            PageRequest.of(0, properties.getLoadBatchSize()));
+                    batch.forEach(this::index);
+                    if (!batch.isEmpty()) {
+                        afterId = batch.get(batch.size() - 1).getId();
+                    }
+                } while (batch.size() == properties.getLoadBatchSize());
+                lastRefresh = startedAt;
+                log.info("Indexed {} tickets for duplicate detection in {} ms ({} KB)", index.size(),
+                        Duration.ofNanos(System.nanoTime() - started).toMillis(), index.memoryBytes() / 1024);
+            } catch (RuntimeException ex) {
+                // Lookups still see tickets changed through this instance from now on
+                log.warn("Could not build the duplicate detection index: {}", ex.getMessage());
+            }
+        }, "duplicate-index-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.duplicates.refresh-interval:1m}",
+               initialDelayString = "${app.duplicates.refresh-interval:1m}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        int aged = index.removeCreatedBefore(epochSecond(now.minus(properties.getMaxAge())));
+        if (aged > 0) {
+            log.debug("Dropped {} tickets older than {} from the duplicate detection index", aged,
+                    properties.getMaxAge());
+        }
+
+        LocalDateTime since = lastRefresh;
+        if (since == null) {
+            return;
+        }
+        ticketRepository.findDuplicateIndexRowsUpdatedAfter(since.minus(REFRESH_OVERLAP)).forEach(this::index);
+        lastRefresh = now;
+    }
+
+    private void index(TicketRepository.DuplicateIndexRow row) {
+        index(row.getId(), row.getBuildingId(), row.getCategoryId(), row.getTitle(), row.getDescription(),
+                row.getStatus(), row.getCreatedAt());
+    }
+
+    private void index(Long id, Long buildingId, Long categoryId, String title, String description,
+                       TicketStatus status, LocalDateTime createdAt) {
+        boolean candidate = buildingId != null && categoryId != null
+                && properties.getStatuses().contains(status)
+                && (createdAt == null || createdAt.isAfter(LocalDateTime.now().minus(properties.getMaxAge())));
+        byte[] signature = candidate ? minHasher.signature(title, description) : null;
+        if (signature == null) {
+            index.remove(id);
+            return;
+        }
+        index.put(id, partition(buildingId, categoryId), createdAt != null ? epochSecond(createdAt) : null, signature);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long partition(Long buildingId, Long categoryId) {
+        return MinHasher.mix(MinHasher.mix(buildingId) ^ categoryId);
+    }
+
+    private static Timer lookupTimer(String found, MeterRegistry meterRegistry) {
+        return Timer.builder("app.duplicates.lookup")
+                .description("Duplicate lookups for new tickets, by whether any likely duplicate was found")
+                .tag("found", found)
+                .register(meterRegistry);
+    }
+}
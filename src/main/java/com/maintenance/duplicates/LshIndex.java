@@ -0,0 +1,346 @@
+package com.maintenance.duplicates;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures. Each signature is cut into
+ * {@code bands} bands of {@code rows} values; two tickets become candidates when any band
+ * matches exactly, which for 8 bands of 4 happens to pairs above roughly 0.6 similarity and
+ * rarely to pairs below 0.3. Band keys are hashed together with the ticket's partition, so
+ * only tickets of the same building and category ever meet.
+ *
+ * <p>Everything lives in flat primitive arrays: per ticket a slot holding its id, partition,
+ * creation time and signature, plus one 8-byte bucket entry per band, so with the default
+ * 32-value signature a ticket costs 160 to 210 bytes and a million of them fit in 210 MB.
+ * Both hash tables use linear probing with tombstones, and are rebuilt when tombstones pile
+ * up.
+ */
+final class LshIndex {
+
+    // Bucket entries: band key in the high half, slot in the low half; slots are never negative
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    // slotsById entries: slot + 1
+    private static final int FREE = 0;
+    private static final int REMOVED = -1;
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private static final double MAX_LOAD = 0.75;
+
+    private final int bands;
+    private final int rows;
+    private final int signatureLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] partitions;
+    // Seconds since the epoch; NEVER for free slots and tickets of unknown age
+    private long[] createdAt;
+    private byte[] signatures;
+    private int highestSlot;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int size;
+
+    private int[] slotsById;
+    private int slotsByIdUsed;
+
+    private long[] buckets;
+    private int bucketsUsed;
+
+    LshIndex(int bands, int rows, int initialCapacity) {
+        this.bands = bands;
+        this.rows = rows;
+        this.signatureLength = bands * rows;
+        int capacity = Math.max(16, initialCapacity);
+        this.ids = new long[capacity];
+        this.partitions = new long[capacity];
+        this.createdAt = new long[capacity];
+        Arrays.fill(createdAt, NEVER);
+        this.signatures = new byte[capacity * signatureLength];
+        this.slotsById = new int[tableSize(capacity)];
+        this.buckets = newBuckets(tableSize((long) capacity * bands));
+    }
+
+    /**
+     * Adds the ticket, replacing whatever was indexed for it before.
+     *
+     * @param created seconds since the epoch, or {@code null} to keep the ticket however old
+     */
+    void put(long id, long partition, Long created, byte[] signature) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int slot = allocateSlot();
+            ids[slot] = id;
+            partitions[slot] = partition;
+            createdAt[slot] = created != null ? created : NEVER;
+            System.arraycopy(signature, 0, signatures, slot * signatureLength, signatureLength);
+            insertSlotById(id, slot);
+            for (int band = 0; band < bands; band++) {
+                insertBucket(bandKey(partition, band, signature, 0), slot);
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the tickets created before {@code cutoff}, in seconds since the epoch.
+     *
+     * @return how many were removed
+     */
+    int removeCreatedBefore(long cutoff) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int slot = 0; slot < highestSlot; slot++) {
+                if (createdAt[slot] < cutoff) {
+                    removeLocked(ids[slot]);
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tickets of the partition whose estimated similarity to the signature is at least
+     * {@code threshold}, most similar first.
+     */
+    List<Match> query(long partition, byte[] signature, double threshold, long excludeId, int limit) {
+        // A ticket matching in several bands is found once per band; scoring it again is cheaper than tracking it
+        Map<Long, Match> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int mask = buckets.length - 1;
+            for (int band = 0; band < bands; band++) {
+                int key = bandKey(partition, band, signature, 0);
+                for (int i = bucketIndex(key, mask); buckets[i] != EMPTY; i = (i + 1) & mask) {
+                    long entry = buckets[i];
+                    if (entry == DELETED || (int) (entry >>> 32) != key) {
+                        continue;
+                    }
+                    int slot = (int) entry;
+                    if (partitions[slot] != partition || ids[slot] == excludeId) {
+                        continue;
+                    }
+                    double similarity = MinHasher.similarity(signature, signatures, slot * signatureLength);
+                    if (similarity >= threshold) {
+                        matches.putIfAbsent(ids[slot], new Match(ids[slot], similarity));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.values().stream()
+                .sorted(Comparator.comparingDouble(Match::similarity).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return 8L * ids.length + 8L * partitions.length + 8L * createdAt.length + signatures.length + 4L * freeSlots.length
+                    + 4L * slotsById.length + 8L * buckets.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        int slot = findSlotById(id);
+        if (slot < 0) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            deleteBucket(bandKey(partitions[slot], band, signatures, slot * signatureLength), slot);
+        }
+        deleteSlotById(id);
+        createdAt[slot] = NEVER;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highestSlot == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            partitions = Arrays.copyOf(partitions, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            Arrays.fill(createdAt, highestSlot, capacity, NEVER);
+            signatures = Arrays.copyOf(signatures, capacity * signatureLength);
+        }
+        return highestSlot++;
+    }
+
+    private int bandKey(long partition, int band, byte[] signature, int offset) {
+        long hash = partition ^ ((band + 1) * 0x9E3779B97F4A7C15L);
+        int start = offset + band * rows;
+        for (int row = 0; row < rows; row++) {
+            hash = (hash << 8 | hash >>> 56) ^ (signature[start + row] & 0xFF);
+        }
+        return (int) (MinHasher.mix(hash) >>> 32);
+    }
+
+    // Ticket id to slot
+
+    private int findSlotById(long id) {
+        int mask = slotsById.length - 1;
+        for (int i = idIndex(id, mask); slotsById[i] != FREE; i = (i + 1) & mask) {
+            int entry = slotsById[i];
+            if (entry != REMOVED && ids[entry - 1] == id) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insertSlotById(long id, int slot) {
+        if (slotsByIdUsed + 1 > slotsById.length * MAX_LOAD) {
+            resizeSlotsById();
+        }
+        int mask = slotsById.length - 1;
+        int i = idIndex(id, mask);
+        while (slotsById[i] != FREE) {
+            i = (i + 1) & mask;
+        }
+        slotsById[i] = slot + 1;
+        slotsByIdUsed++;
+    }
+
+    private void deleteSlotById(long id) {
+        int mask = slotsById.length - 1;
+        for (int i = idIndex(id, mask); slotsById[i] != FREE; i = (i + 1) & mask) {
+            int entry = slotsById[i];
+            if (entry != REMOVED && ids[entry - 1] == id) {
+                slotsById[i] = REMOVED;
+                return;
+            }
+        }
+    }
+
+    private void resizeSlotsById() {
+        int[] old = slotsById;
+        // Half as much room again as the live entries need, so growth does not resize at every insert
+        slotsById = new int[tableSize((size + 1) * 3L / 2)];
+        slotsByIdUsed = 0;
+        int mask = slotsById.length - 1;
+        for (int entry : old) {
+            if (entry > 0) {
+                int i = idIndex(ids[entry - 1], mask);
+                while (slotsById[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                slotsById[i] = entry;
+                slotsByIdUsed++;
+            }
+        }
+    }
+
+    // Band key to slots
+
+    private void insertBucket(int key, int slot) {
+        if (bucketsUsed + 1 > buckets.length * MAX_LOAD) {
+            resizeBuckets();
+        }
+        int mask = buckets.length - 1;
+        int i = bucketIndex(key, mask);
+        while (buckets[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        buckets[i] = (long) key << 32 | slot;
+        bucketsUsed++;
+    }
+
+    private void deleteBucket(int key, int slot) {
+        long wanted = (long) key << 32 | slot;
+        int mask = buckets.length - 1;
+        for (int i = bucketIndex(key, mask); buckets[i] != EMPTY; i = (i + 1) & mask) {
+            if (buckets[i] == wanted) {
+                buckets[i] = DELETED;
+                return;
+            }
+        }
+    }
+
+    private void resizeBuckets() {
+        long[] old = buckets;
+        buckets = newBuckets(tableSize((size + 1) * (long) bands * 3 / 2));
+        bucketsUsed = 0;
+        int mask = buckets.length - 1;
+        for (long entry : old) {
+            if (entry != EMPTY && entry != DELETED) {
+                int i = bucketIndex((int) (entry >>> 32), mask);
+                while (buckets[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                buckets[i] = entry;
+                bucketsUsed++;
+            }
+        }
+    }
+
+    private static int idIndex(long id, int mask) {
+        return (int) MinHasher.mix(id) & mask;
+    }
+
+    private static int bucketIndex(int key, int mask) {
+        // Band keys are already well mixed
+        return key & mask;
+    }
+
+    // A power of two large enough to hold the entries below the maximum load
+    private static int tableSize(long entries) {
+        int size = 16;
+        while (size < 1 << 30 && size * MAX_LOAD < entries) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static long[] newBuckets(int size) {
+        long[] table = new long[size];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    record Match(long ticketId, double similarity) {
+    }
+}
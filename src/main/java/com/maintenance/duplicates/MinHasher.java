@@ -0,0 +1,138 @@
+package com.maintenance.duplicates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures of a ticket's title and description. The text is reduced to words,
+ * lightly stemmed and stripped of stop words, and shingled into single words and adjacent
+ * pairs; "water leaking under sink" and "sink leak, water under it" then share most of their
+ * shingles. Each signature value keeps only the low 8 bits of its minimum hash, which is
+ * enough to estimate similarity at a quarter of the memory.
+ */
+final class MinHasher {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "can", "could", "do", "does",
+            "for", "from", "has", "have", "he", "her", "his", "i", "if", "in", "into", "is", "it", "its",
+            "me", "my", "no", "not", "of", "on", "or", "our", "please", "she", "so", "that", "the", "their",
+            "them", "there", "they", "this", "to", "up", "us", "was", "we", "were", "when", "which", "with",
+            "would", "you", "your");
+
+    private final long[] seeds;
+
+    MinHasher(int signatureLength) {
+        this.seeds = new long[signatureLength];
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < signatureLength; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+    }
+
+    int signatureLength() {
+        return seeds.length;
+    }
+
+    /**
+     * The signature of the text, or {@code null} when nothing in it is worth comparing.
+     */
+    byte[] signature(String title, String description) {
+        List<String> words = new ArrayList<>();
+        addWords(title, words);
+        addWords(description, words);
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        long[] minimums = new long[seeds.length];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        String previous = null;
+        for (String word : words) {
+            update(minimums, hash(word));
+            if (previous != null) {
+                update(minimums, hash(previous + ' ' + word));
+            }
+            previous = word;
+        }
+
+        byte[] signature = new byte[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            signature[i] = (byte) minimums[i];
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the two texts' shingles, from the signature of one and
+     * the signature stored at {@code offset} in {@code stored}.
+     */
+    static double similarity(byte[] signature, byte[] stored, int offset) {
+        int matches = 0;
+        for (int i = 0; i < signature.length; i++) {
+            if (signature[i] == stored[offset + i]) {
+                matches++;
+            }
+        }
+        // One in 256 values agree by chance when only 8 bits are kept
+        double estimate = ((double) matches / signature.length - 1.0 / 256) / (1 - 1.0 / 256);
+        return Math.max(0, Math.min(1, estimate));
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void update(long[] minimums, long shingle) {
+        for (int i = 0; i < seeds.length; i++) {
+            long value = mix(shingle ^ seeds[i]);
+            if (value < minimums[i]) {
+                minimums[i] = value;
+            }
+        }
+    }
+
+    private static void addWords(String text, List<String> words) {
+        if (text == null) {
+            return;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            words.add(stem(token));
+        }
+    }
+
+    // Just enough to make "leaks", "leaking" and "leaked" one word
+    private static String stem(String word) {
+        if (word.length() > 5 && word.endsWith("ing")) {
+            return word.substring(0, word.length() - 3);
+        }
+        if (word.length() > 4 && word.endsWith("ed")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    // FNV-1a over the UTF-16 code units
+    private static long hash(String shingle) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < shingle.length(); i++) {
+            hash ^= shingle.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+}
@@ -0,0 +1,67 @@
+package com.maintenance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of a request sent with an {@code Idempotency-Key}; while {@code responseStatus}
+ * is empty the request is still being processed.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Username is required")
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @NotNull(message = "Idempotency key is required")
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of method, path and body, so a key cannot be reused for a different request
+    @NotNull(message = "Fingerprint is required")
+    @Column(name = "fingerprint", nullable = false, columnDefinition = "CHAR(64)")
+    private String fingerprint;
+
+    @Column(name = "response_status", columnDefinition = "SMALLINT")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+
+    // Gzip-compressed
+    @Lob
+    @Column(name = "response_body", columnDefinition = "MEDIUMBLOB")
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Renewed while the request runs; once it stops, the instance running it is gone
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @NotNull(message = "Expiry is required")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        heartbeatAt = createdAt;
+    }
+}
@@ -81,6 +81,10 @@ public class Ticket {
     @Column(name = "resolution_notes", columnDefinition = "TEXT")
     private String resolutionNotes;
     
+    // Earlier open ticket this one was auto-linked to as a near-duplicate
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -0,0 +1,49 @@
+package com.maintenance.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT ({@code jti} set), or all of a user's tokens issued before
+ * {@code notBefore} ({@code jti} empty).
+ */
+@Entity
+@Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "jti", length = 36, unique = true)
+    private String jti;
+
+    @NotNull(message = "Username is required")
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @Column(name = "not_before")
+    private LocalDateTime notBefore;
+
+    // After this, every token the row covers has expired anyway
+    @NotNull(message = "Expiry is required")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
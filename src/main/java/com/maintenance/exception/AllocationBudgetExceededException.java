@@ -0,0 +1,15 @@
+package com.maintenance.exception;
+
+/**
+ * Thrown in strict allocation monitoring mode when a request allocates more heap than its budget.
+ */
+public class AllocationBudgetExceededException extends RuntimeException {
+    
+    public AllocationBudgetExceededException(String message) {
+        super(message);
+    }
+    
+    public AllocationBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.maintenance.exception;
+
+/**
+ * Thrown when a bulkhead partition, or the password hashing pool, cannot take or finish a
+ * call in time.
+ */
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+    
+    public BulkheadFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
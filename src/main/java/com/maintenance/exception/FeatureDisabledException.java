@@ -0,0 +1,12 @@
+package com.maintenance.exception;
+
+/**
+ * Thrown when a request needs a feature that is switched off in this deployment's
+ * configuration, such as automatic assignment.
+ */
+public class FeatureDisabledException extends RuntimeException {
+    
+    public FeatureDisabledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.maintenance.exception;
+
+/**
+ * Thrown in strict SQL monitoring mode when a request issues more statements than its budget.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+    
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+    
+    public StatementBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
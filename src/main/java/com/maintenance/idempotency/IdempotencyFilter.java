@@ -0,0 +1,267 @@
+package com.maintenance.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Makes the configured mutating routes safe to retry. A request carrying an
+ * {@code Idempotency-Key} header runs once per user and key; retries get the recorded status
+ * and body, marked {@code Idempotent-Replayed: true}, without reaching the controller. A
+ * retry while the first attempt is still running gets 409, and reusing a key for a different
+ * request gets 422. Server errors are not recorded, so the client may retry them with the
+ * same key. A keyed request with a body over {@code max-body-size} gets 413, since its body
+ * is held in memory to be fingerprinted.
+ *
+ * <p>Runs after the security filter chain, since keys belong to the signed-in user.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final List<Route> routes;
+    private final int maxBodySize;
+    private final Map<IdempotencyStore.Outcome, Counter> requests = new EnumMap<>(IdempotencyStore.Outcome.class);
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.routes = properties.getRoutes().stream().map(Route::parse).toList();
+        this.maxBodySize = (int) Math.min(Integer.MAX_VALUE - 1, properties.getMaxBodySize().toBytes());
+        for (IdempotencyStore.Outcome outcome : IdempotencyStore.Outcome.values()) {
+            requests.put(outcome, Counter.builder("app.idempotency.requests")
+                    .description("Requests with an Idempotency-Key, by what became of them")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String key = request.getHeader(KEY_HEADER);
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String username = authenticatedUsername();
+        if (!StringUtils.hasText(key) || username == null || !isIdempotent(request.getMethod(), path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must not exceed " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeBodyTooLarge(response);
+            return;
+        }
+
+        // One byte past the limit is enough to tell, however much a body sent without a length holds
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeBodyTooLarge(response);
+            return;
+        }
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        IdempotencyStore.Claim claim = store.claim(username, key, fingerprint(request, body));
+        requests.get(claim.outcome()).increment();
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_FLIGHT -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still being processed");
+            }
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This " + KEY_HEADER + " was already used for a different request");
+            case ACQUIRED -> runOnce(cachedRequest, response, filterChain, username, key);
+        }
+    }
+
+    private void runOnce(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String username, String key) throws ServletException, IOException {
+        ContentCachingResponseWrapper recording = new ContentCachingResponseWrapper(response);
+        boolean recorded = false;
+        try {
+            filterChain.doFilter(request, recording);
+            if (recording.getStatus() < 500) {
+                try {
+                    store.complete(username, key, new IdempotencyStore.StoredResponse(
+                            recording.getStatus(), recording.getContentType(), recording.getContentAsByteArray()));
+                } catch (RuntimeException ex) {
+                    // The work is done; left in progress, the key holds off retries for the in-flight timeout
+                    log.warn("Could not record the response for an idempotency key of {}: {}", username, ex.getMessage());
+                }
+                recorded = true;
+            }
+        } finally {
+            if (!recorded) {
+                store.release(username, key);
+            }
+            recording.copyBodyToResponse();
+        }
+    }
+
+    private boolean isIdempotent(String method, String path) {
+        return routes.stream().anyMatch(route -> route.matches(method, path));
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeBodyTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                "Requests with an " + KEY_HEADER + " must not exceed " + maxBodySize + " bytes");
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(String.format(
+                "{\"timestamp\":\"%s\",\"status\":%d,\"error\":\"%s\",\"message\":\"%s\"}",
+                LocalDateTime.now(), status.value(), status.getReasonPhrase(), message));
+    }
+
+    // Method, path, query and body: what makes a retry the same request
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?'
+                    + request.getQueryString() + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record Route(String method, String path) {
+
+        static Route parse(String pattern) {
+            String[] parts = pattern.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected \"METHOD /path\" but got: " + pattern);
+            }
+            return new Route(parts[0].toUpperCase(Locale.ROOT), parts[1]);
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            return method.equals(requestMethod) && PATH_MATCHER.match(path, requestPath);
+        }
+    }
+
+    /**
+     * The request with its body already read, so it can be both fingerprinted and processed.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
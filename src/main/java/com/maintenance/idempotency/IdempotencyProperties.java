@@ -0,0 +1,40 @@
+package com.maintenance.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // "METHOD /path" patterns (Ant style) that honour the Idempotency-Key header
+    private List<String> routes = new ArrayList<>(List.of(
+            "POST /api/tickets", "PUT /api/tickets/*", "DELETE /api/tickets/*",
+            "PATCH /api/tickets/*/status", "PATCH /api/tickets/*/assign", "POST /api/tickets/unassigned/assign",
+            "POST /api/queue/next", "POST /api/queue/*/claim"));
+
+    // How long a key's response is kept for replays
+    private Duration ttl = Duration.ofHours(24);
+
+    // A key in progress that has not been renewed for this long is taken to be abandoned by a crashed instance
+    private Duration inFlightTimeout = Duration.ofMinutes(1);
+
+    // How often an instance renews the keys of the requests it is still running; well under in-flight-timeout
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // Keys held in memory in front of the table
+    private int cacheSize = 10_000;
+
+    // Larger request bodies sent with a key are rejected with 413
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    // How often expired keys are deleted from the table
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,219 @@
+package com.maintenance.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maintenance.entity.IdempotencyRecord;
+import com.maintenance.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Idempotency keys and the responses recorded for them. A bounded in-memory cache of
+ * completed keys answers most retries without a query; the {@code idempotency_keys} table is
+ * the source of truth, and its unique (username, key) index decides which of several
+ * concurrent attempts gets to run. Keys in progress are only ever looked up in the table, so
+ * that one abandoned by a crash can be taken over. Each instance renews the keys of the
+ * requests it is still running, so however slow a request is, only a key whose instance has
+ * stopped renewing it is ever taken over.
+ */
+@Component
+@Slf4j
+class IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final TransactionTemplate transaction;
+    private final Cache<Scope, Entry> cache;
+    // Keys of the requests running here, with their record ids
+    private final Map<Scope, Long> running = new ConcurrentHashMap<>();
+
+    IdempotencyStore(IdempotencyRecordRepository repository, IdempotencyProperties properties,
+                     PlatformTransactionManager transactionManager) {
+        if (properties.getHeartbeatInterval().compareTo(properties.getInFlightTimeout()) >= 0) {
+            throw new IllegalStateException("app.idempotency.heartbeat-interval must be shorter than in-flight-timeout");
+        }
+        this.repository = repository;
+        this.properties = properties;
+        // Own transactions, committed before and after the request they guard
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Reserves the key for this request, or tells why it cannot run.
+     */
+    Claim claim(String username, String key, String fingerprint) {
+        Scope scope = new Scope(username, key);
+        Entry cached = cache.getIfPresent(scope);
+        if (cached != null) {
+            return cached.claimFor(fingerprint);
+        }
+        return claimInTable(scope, fingerprint, true);
+    }
+
+    void complete(String username, String key, StoredResponse response) {
+        Scope scope = new Scope(username, key);
+        running.remove(scope);
+        transaction.executeWithoutResult(status ->
+                repository.findByUsernameAndIdempotencyKey(username, key).ifPresent(record -> {
+                    record.setResponseStatus(response.status());
+                    record.setResponseContentType(response.contentType());
+                    record.setResponseBody(gzip(response.body()));
+                    repository.save(record);
+                    cache.put(scope, new Entry(record.getFingerprint(), response));
+                }));
+    }
+
+    /**
+     * Forgets the key, so that a retry runs the request again; used when it failed on our side.
+     */
+    void release(String username, String key) {
+        Scope scope = new Scope(username, key);
+        running.remove(scope);
+        cache.invalidate(scope);
+        repository.deleteByUsernameAndKey(username, key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.heartbeat-interval:15s}",
+               initialDelayString = "${app.idempotency.heartbeat-interval:15s}")
+    public void renewRunning() {
+        List<Long> ids = List.copyOf(running.values());
+        if (!ids.isEmpty()) {
+            repository.renewInProgress(ids, LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:1h}",
+               initialDelayString = "${app.idempotency.cleanup-interval:1h}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Claim claimInTable(Scope scope, String fingerprint, boolean mayTakeOver) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Long id = transaction.execute(status -> {
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setUsername(scope.username());
+                record.setIdempotencyKey(scope.key());
+                record.setFingerprint(fingerprint);
+                record.setExpiresAt(now.plus(properties.getTtl()));
+                return repository.saveAndFlush(record).getId();
+            });
+            running.put(scope, id);
+            return Claim.ACQUIRED;
+        } catch (DataIntegrityViolationException ex) {
+            // Someone holds the key already: this instance before a restart, or another one
+        }
+
+        IdempotencyRecord existing = repository.findByUsernameAndIdempotencyKey(scope.username(), scope.key())
+                .orElse(null);
+        if (existing == null) {
+            return Claim.IN_FLIGHT;
+        }
+        boolean expired = existing.getExpiresAt().isBefore(now);
+        boolean abandoned = existing.getResponseStatus() == null
+                && existing.getHeartbeatAt().plus(properties.getInFlightTimeout()).isBefore(now);
+        if ((expired || abandoned) && mayTakeOver) {
+            log.info("Taking over {} idempotency key of {}", expired ? "expired" : "abandoned", scope.username());
+            // By id, so that of two instances taking over at once only one deletes anything
+            repository.deleteRecord(existing.getId());
+            return claimInTable(scope, fingerprint, false);
+        }
+
+        Entry entry = existing.getResponseStatus() == null
+                ? new Entry(existing.getFingerprint(), null)
+                : new Entry(existing.getFingerprint(), new StoredResponse(existing.getResponseStatus(),
+                        existing.getResponseContentType(), gunzip(existing.getResponseBody())));
+        if (entry.response() != null) {
+            cache.put(scope, entry);
+        }
+        return entry.claimFor(fingerprint);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(32, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] stored) {
+        if (stored == null) {
+            return new byte[0];
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(stored))) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Scope(String username, String key) {
+    }
+
+    private record Entry(String fingerprint, StoredResponse response) {
+
+        Claim claimFor(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                return Claim.MISMATCH;
+            }
+            return response != null ? Claim.replay(response) : Claim.IN_FLIGHT;
+        }
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * @param response the recorded response, for {@link Outcome#REPLAY} only
+     */
+    record Claim(Outcome outcome, StoredResponse response) {
+
+        static final Claim ACQUIRED = new Claim(Outcome.ACQUIRED, null);
+        static final Claim IN_FLIGHT = new Claim(Outcome.IN_FLIGHT, null);
+        static final Claim MISMATCH = new Claim(Outcome.MISMATCH, null);
+
+        static Claim replay(StoredResponse response) {
+            return new Claim(Outcome.REPLAY, response);
+        }
+    }
+
+    enum Outcome {
+        // Run the request and record its response
+        ACQUIRED,
+        // Send the recorded response
+        REPLAY,
+        // Another attempt with this key is still running
+        IN_FLIGHT,
+        // The key was used for a different request
+        MISMATCH
+    }
+}
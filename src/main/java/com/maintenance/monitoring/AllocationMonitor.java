@@ -0,0 +1,112 @@
+package com.maintenance.monitoring;
+
+import com.maintenance.exception.AllocationBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes heap allocated per request as {@code app.request.allocated.bytes} per endpoint,
+ * checks it against the endpoint's budget and periodically logs the endpoints that allocated
+ * the most. Only the request thread is counted: work handed to other threads (async listeners,
+ * Vaadin push) is not attributed to the request.
+ */
+@Component
+@EnableConfigurationProperties(AllocationMonitoringProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class AllocationMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final AllocationMonitoringProperties properties;
+
+    private final Map<String, EndpointTotals> totals = new ConcurrentHashMap<>();
+
+    boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    void record(String endpoint, long allocatedBytes) {
+        if (allocatedBytes < 0) {
+            return;
+        }
+        DistributionSummary.builder("app.request.allocated.bytes")
+                .description("Heap allocated by the request thread per request")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(allocatedBytes);
+        totals.computeIfAbsent(endpoint, key -> new EndpointTotals()).add(allocatedBytes);
+    }
+
+    /**
+     * Warns, or in strict mode throws, when the request allocated more than its budget.
+     */
+    void checkBudget(String endpoint, long allocatedBytes) {
+        DataSize budget = properties.budgetFor(endpoint);
+        if (allocatedBytes <= budget.toBytes()) {
+            return;
+        }
+        String message = String.format("%s allocated %d MB, over its budget of %d MB",
+                endpoint, DataSize.ofBytes(allocatedBytes).toMegabytes(), budget.toMegabytes());
+        if (properties.isStrict()) {
+            throw new AllocationBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    @Scheduled(fixedDelayString = "${app.monitoring.allocation.report-interval:15m}",
+               initialDelayString = "${app.monitoring.allocation.report-interval:15m}")
+    public void logTopAllocators() {
+        if (!properties.isEnabled() || properties.getTopAllocators() <= 0 || totals.isEmpty()) {
+            return;
+        }
+
+        Map<String, long[]> snapshot = new HashMap<>();
+        totals.forEach((endpoint, endpointTotals) -> {
+            long[] sums = endpointTotals.drain();
+            if (sums[0] > 0) {
+                snapshot.put(endpoint, sums);
+            }
+        });
+
+        StringBuilder report = new StringBuilder("Top allocating endpoints since last report:");
+        snapshot.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                .limit(properties.getTopAllocators())
+                .forEach(entry -> report.append(String.format("%n  %-50s %8d MB total, %6d requests, %6d KB avg",
+                        entry.getKey(),
+                        DataSize.ofBytes(entry.getValue()[1]).toMegabytes(),
+                        entry.getValue()[0],
+                        DataSize.ofBytes(entry.getValue()[1] / entry.getValue()[0]).toKilobytes())));
+        if (!snapshot.isEmpty()) {
+            log.info(report.toString());
+        }
+    }
+
+    private static final class EndpointTotals {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        void add(long allocatedBytes) {
+            requests.increment();
+            bytes.add(allocatedBytes);
+        }
+
+        long[] drain() {
+            return new long[] {requests.sumThenReset(), bytes.sumThenReset()};
+        }
+    }
+}
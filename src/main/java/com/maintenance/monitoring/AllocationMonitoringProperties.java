@@ -0,0 +1,33 @@
+package com.maintenance.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.allocation")
+public class AllocationMonitoringProperties {
+
+    private boolean enabled = true;
+
+    // Fail requests that go over their allocation budget (meant for tests)
+    private boolean strict = false;
+
+    private DataSize defaultBudget = DataSize.ofMegabytes(64);
+
+    // Per-endpoint budgets; keys use bracket notation in YAML, e.g. "[GET /api/tickets/overdue]": 200MB
+    private Map<String, DataSize> budgets = new HashMap<>();
+
+    // How many endpoints the periodic top allocators report lists; 0 turns the report off
+    private int topAllocators = 5;
+
+    private Duration reportInterval = Duration.ofMinutes(15);
+
+    public DataSize budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,53 @@
+package com.maintenance.monitoring;
+
+/**
+ * Tells a timed {@code @Cacheable} call whether the cache interceptor let it through to the
+ * method body (miss) or answered it itself (hit), and how long the body took. Probes nest
+ * with the calls they belong to.
+ */
+final class CacheProbe {
+
+    private static final ThreadLocal<CacheProbe> CURRENT = new ThreadLocal<>();
+
+    private final CacheProbe previous;
+    private boolean invoked;
+    private long bodyNanos;
+
+    private CacheProbe(CacheProbe previous) {
+        this.previous = previous;
+    }
+
+    static CacheProbe open() {
+        CacheProbe probe = new CacheProbe(CURRENT.get());
+        CURRENT.set(probe);
+        return probe;
+    }
+
+    static CacheProbe current() {
+        return CURRENT.get();
+    }
+
+    void recordInvocation(long nanos) {
+        invoked = true;
+        bodyNanos += nanos;
+    }
+
+    void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    String outcome() {
+        return invoked ? "miss" : "hit";
+    }
+
+    /**
+     * Time spent in the cache interceptor itself: the whole call minus the method body.
+     */
+    long cacheNanos(long totalNanos) {
+        return Math.max(totalNanos - bodyNanos, 0);
+    }
+}
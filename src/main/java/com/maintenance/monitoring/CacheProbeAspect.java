@@ -0,0 +1,53 @@
+package com.maintenance.monitoring;
+
+import com.maintenance.monitoring.jfr.CacheMissEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sits between the cache interceptor and the method body: it only runs on a cache miss.
+ * Each miss is also emitted as a {@link CacheMissEvent} for flight recordings.
+ */
+@Aspect
+@Component
+@Order(CacheProbeAspect.PROBE_ORDER)
+public class CacheProbeAspect {
+
+    // The cache interceptor must wrap the probe, so it gets a lower order (runs earlier)
+    public static final int CACHE_INTERCEPTOR_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    static final int PROBE_ORDER = Ordered.LOWEST_PRECEDENCE - 50;
+
+    @Around("@annotation(cacheable) && within(com.maintenance.service..*)")
+    public Object cacheMiss(ProceedingJoinPoint joinPoint, Cacheable cacheable) throws Throwable {
+        CacheProbe probe = CacheProbe.current();
+        CacheMissEvent event = CacheMissEvent.start();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (probe != null) {
+                probe.recordInvocation(System.nanoTime() - start);
+            }
+            if (event.isEnabled()) {
+                // Bound as a plain annotation, so value/cacheNames aliasing is not resolved
+                String[] caches = cacheable.value().length > 0 ? cacheable.value() : cacheable.cacheNames();
+                event.finish(String.join(",", caches),
+                        joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                        currentUser());
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
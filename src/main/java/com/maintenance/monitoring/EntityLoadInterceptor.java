@@ -0,0 +1,20 @@
+package com.maintenance.monitoring;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entities hydrated from the database, including lazy associations initialized
+ * during rendering or JSON serialization.
+ */
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.recordEntityLoad(entity.getClass().getSimpleName());
+        }
+        return false;
+    }
+}
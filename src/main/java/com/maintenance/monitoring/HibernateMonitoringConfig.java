@@ -0,0 +1,26 @@
+package com.maintenance.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Plugs the per-request SQL counters into Hibernate.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class HibernateMonitoringConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.monitoring.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer sqlMonitoringCustomizer(SqlMonitoringProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(properties));
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+}
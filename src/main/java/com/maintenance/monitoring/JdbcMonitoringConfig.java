@@ -0,0 +1,31 @@
+package com.maintenance.monitoring;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource in a {@link TimingDataSource}. The statistics bean is looked up on
+ * first use, so the post-processor does not pull the meter registry in early.
+ */
+@Configuration
+public class JdbcMonitoringConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.monitoring.jdbc", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor timingDataSourcePostProcessor(ObjectProvider<StatementStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource(dataSource, statistics::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+}
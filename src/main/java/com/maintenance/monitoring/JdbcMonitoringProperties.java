@@ -0,0 +1,25 @@
+package com.maintenance.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.jdbc")
+public class JdbcMonitoringProperties {
+
+    // Wraps the DataSource to time every statement it executes
+    private boolean enabled = true;
+
+    // Statements at least this slow are logged with their caller
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // Size of the slowest-statements table served by /actuator/slowqueries
+    private int top = 20;
+
+    // Distinct statement shapes tracked (and tagged in metrics); the rest are counted as "other"
+    private int maxShapes = 500;
+
+    private boolean percentileHistogram = false;
+}
@@ -0,0 +1,52 @@
+package com.maintenance.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds connection pool wait and JDBC execution time to the current request. Hibernate creates
+ * one instance per session (see {@code hibernate.session.events.auto}), so the start markers
+ * need no locking.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long acquisitionStart;
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        record(TimingPhase.DB_POOL, acquisitionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(TimingPhase.DB, statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(TimingPhase.DB, batchStart);
+    }
+
+    private static void record(TimingPhase phase, long start) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null && start != 0) {
+            metrics.recordPhase(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.maintenance.monitoring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Resource usage of the HTTP request currently handled by this thread. Bound by
+ * {@link RequestMetricsFilter}; Hibernate hooks add to it through {@link #current()}.
+ * Work done outside a request (schedulers, startup) sees {@code null} and is not counted.
+ */
+public class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private final Supplier<String> endpoint;
+    private final long startNanos = System.nanoTime();
+    private final long startAllocatedBytes = ThreadAllocation.current();
+    private final long[] phaseNanos = new long[TimingPhase.values().length];
+    private final Map<String, Integer> statementShapes = new HashMap<>();
+    private final Map<String, Integer> entityLoads = new HashMap<>();
+    private int statementCount;
+    // Statements the caller had run when this was handed off; they count towards the budget here too
+    private int inheritedStatementCount;
+    private int entityLoadCount;
+
+    RequestMetrics(Supplier<String> endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static RequestMetrics begin(Supplier<String> endpoint) {
+        RequestMetrics metrics = new RequestMetrics(endpoint);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Counts work the calling thread hands off and waits for, such as bulkhead calls, against
+     * the caller's request. The other thread records into metrics of its own, which
+     * {@link Handoff#join()} adds to the caller's once the work is done. Work the caller gave
+     * up on, after a timeout, never touches the caller's metrics, which are read by then.
+     */
+    public static Handoff handOff() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return new Handoff(null, null);
+        }
+        RequestMetrics worker = new RequestMetrics(metrics.endpoint);
+        worker.statementCount = metrics.statementCount;
+        worker.inheritedStatementCount = metrics.statementCount;
+        return new Handoff(metrics, worker);
+    }
+
+    /**
+     * Endpoint name as used in metric tags, e.g. {@code GET /api/tickets/{id}}.
+     */
+    public String getEndpoint() {
+        return endpoint.get();
+    }
+
+    int recordStatement(String sql) {
+        statementShapes.merge(shapeOf(sql), 1, Integer::sum);
+        return ++statementCount;
+    }
+
+    public void recordPhase(TimingPhase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    void recordEntityLoad(String entityName) {
+        entityLoads.merge(entityName, 1, Integer::sum);
+        entityLoadCount++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcNanos() {
+        return getPhaseNanos(TimingPhase.DB);
+    }
+
+    public long getPhaseNanos(TimingPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Time since the request entered the monitoring filter.
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Heap allocated by this thread since the request entered the monitoring filter,
+     * or {@code -1} if the JVM does not track per-thread allocation.
+     */
+    public long getAllocatedBytes() {
+        return startAllocatedBytes < 0 ? -1 : ThreadAllocation.current() - startAllocatedBytes;
+    }
+
+    public int getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    public Map<String, Integer> getEntityLoads() {
+        return Collections.unmodifiableMap(entityLoads);
+    }
+
+    /**
+     * Statement shapes executed at least {@code threshold} times, most frequent first.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementShapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    private void add(RequestMetrics other) {
+        other.statementShapes.forEach((shape, count) -> statementShapes.merge(shape, count, Integer::sum));
+        other.entityLoads.forEach((entity, count) -> entityLoads.merge(entity, count, Integer::sum));
+        statementCount += other.statementCount - other.inheritedStatementCount;
+        entityLoadCount += other.entityLoadCount;
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] += other.phaseNanos[i];
+        }
+    }
+
+    /**
+     * Reduces a statement to its shape so that the same query with different
+     * literals or IN-list lengths counts as one.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Metrics of one piece of work handed to another thread; see {@link #handOff()}.
+     */
+    public static final class Handoff {
+
+        private final RequestMetrics caller;
+        private final RequestMetrics worker;
+
+        private Handoff(RequestMetrics caller, RequestMetrics worker) {
+            this.caller = caller;
+            this.worker = worker;
+        }
+
+        /**
+         * Binds the work's own metrics on the thread that runs the call.
+         */
+        public <T> Callable<T> wrap(Callable<T> call) {
+            if (worker == null) {
+                return call;
+            }
+            return () -> {
+                RequestMetrics previous = CURRENT.get();
+                CURRENT.set(worker);
+                try {
+                    return call.call();
+                } finally {
+                    if (previous != null) {
+                        CURRENT.set(previous);
+                    } else {
+                        CURRENT.remove();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Adds the work's metrics to the caller's. Call on the caller's thread once the work
+         * has finished, e.g. after {@code Future.get} returned or threw its exception.
+         */
+        public void join() {
+            if (worker != null) {
+                caller.add(worker);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.maintenance.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link RequestMetrics} to every REST and Vaadin request and, unless SQL monitoring
+ * is disabled, publishes the SQL statement count, JDBC time and entity loads per endpoint and
+ * flags repeated statement shapes (likely N+1 selects). Heap allocation is handed to
+ * {@link AllocationMonitor}. Runs ahead of the security filter chain so the user lookup done
+ * during authentication is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String JDBC_TIME_HEADER = "X-SQL-Time-Ms";
+    static final String ENTITY_LOADS_HEADER = "X-Entity-Loads";
+    static final String REPEATED_HEADER = "X-SQL-Repeated";
+
+    // Request types the Vaadin servlet understands; anything else is folded into one tag value
+    private static final Set<String> VAADIN_REQUEST_TYPES =
+            Set.of("uidl", "heartbeat", "push", "init", "upload", "webcomponent", "webcomponent-ui");
+
+    private final MeterRegistry meterRegistry;
+    private final SqlMonitoringProperties properties;
+    private final AllocationMonitor allocationMonitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestMetrics metrics = RequestMetrics.begin(() -> endpointOf(request));
+        HttpServletResponse target = properties.isEnabled() && properties.isResponseHeaders()
+                ? new SqlHeaderResponseWrapper(response, metrics, properties.getRepeatedStatementThreshold())
+                : response;
+        long allocatedBytes;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            allocatedBytes = metrics.getAllocatedBytes();
+            RequestMetrics.end();
+            if (target instanceof SqlHeaderResponseWrapper wrapper) {
+                wrapper.writeHeaders();
+            }
+            if (properties.isEnabled()) {
+                publish(metrics);
+            }
+            if (allocationMonitor.isEnabled()) {
+                allocationMonitor.record(metrics.getEndpoint(), allocatedBytes);
+            }
+        }
+        // Only once the request went through, so a failure is not masked by the budget check
+        if (allocationMonitor.isEnabled() && allocatedBytes >= 0) {
+            allocationMonitor.checkBudget(metrics.getEndpoint(), allocatedBytes);
+        }
+    }
+
+    private void publish(RequestMetrics metrics) {
+        String endpoint = metrics.getEndpoint();
+
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(metrics.getStatementCount());
+        Timer.builder("app.request.jdbc.time")
+                .description("Time spent executing JDBC statements per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(metrics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.request.entity.loads")
+                .description("Entities loaded from the database per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(metrics.getEntityLoadCount());
+
+        Map<String, Integer> repeated = metrics.getRepeatedStatements(properties.getRepeatedStatementThreshold());
+        if (!repeated.isEmpty()) {
+            Counter.builder("app.request.sql.repeated")
+                    .description("Requests that repeated a statement shape (N+1 suspects)")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            repeated.forEach((shape, count) ->
+                    log.warn("Possible N+1 in {}: {} executions of {}", endpoint, count, shape));
+        }
+    }
+
+    static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return request.getMethod() + " " + pattern;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/") || path.startsWith("/actuator/")) {
+            return "UNMAPPED";
+        }
+        if (path.startsWith("/VAADIN/")) {
+            return "VAADIN static";
+        }
+
+        // Vaadin RPCs are all posted to the servlet root and told apart by the v-r parameter
+        String query = request.getQueryString();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("v-r=")) {
+                    String type = parameter.substring(4);
+                    return VAADIN_REQUEST_TYPES.contains(type) ? "VAADIN " + type : "VAADIN other";
+                }
+            }
+        }
+        return "VAADIN page";
+    }
+
+    /**
+     * Adds the X-SQL-* headers as late as possible: right before the response is committed,
+     * or after the chain when the body fits in the buffer. Statements issued after a large
+     * body starts streaming are not reflected in the headers, only in the metrics.
+     */
+    private static class SqlHeaderResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestMetrics metrics;
+        private final int repeatedThreshold;
+        private boolean written;
+
+        SqlHeaderResponseWrapper(HttpServletResponse response, RequestMetrics metrics, int repeatedThreshold) {
+            super(response);
+            this.metrics = metrics;
+            this.repeatedThreshold = repeatedThreshold;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(metrics.getStatementCount()));
+            setHeader(JDBC_TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(metrics.getJdbcNanos())));
+            setHeader(ENTITY_LOADS_HEADER, String.valueOf(metrics.getEntityLoadCount()));
+            setHeader(REPEATED_HEADER, String.valueOf(metrics.getRepeatedStatements(repeatedThreshold).size()));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.maintenance.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports where a request spent its time in a {@code Server-Timing} header (visible in the
+ * browser dev tools) and logs a sample of slow requests with the same breakdown.
+ *
+ * <p>Runs right after the security filter chain, so the user is known when deciding whether
+ * to send the header, and everything before this point is reported as {@code auth}. The
+ * response is buffered while the header is on so that serialization is fully accounted for.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        metrics.recordPhase(TimingPhase.AUTH, metrics.getElapsedNanos());
+
+        if (!sendHeader(request)) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logIfSlow(metrics);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            buffered.setHeader(HEADER, headerValue(metrics));
+            buffered.copyBodyToResponse();
+            logIfSlow(metrics);
+        }
+    }
+
+    private boolean sendHeader(HttpServletRequest request) {
+        // Static resources can be large and say nothing about the app; push responses stream
+        if (request.getRequestURI().startsWith(request.getContextPath() + "/VAADIN/")) {
+            return false;
+        }
+        String query = request.getQueryString();
+        if (query != null && query.contains("v-r=push")) {
+            return false;
+        }
+        if (properties.isEnabled()) {
+            return true;
+        }
+        if (!properties.isAdmins()) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private void logIfSlow(RequestMetrics metrics) {
+        long elapsed = metrics.getElapsedNanos();
+        if (elapsed < properties.getSlowThreshold().toNanos()) {
+            return;
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= properties.getSlowSampleRate()) {
+            return;
+        }
+        log.warn("Slow request {} took {} ms ({} SQL statements, {} KB allocated): {}",
+                metrics.getEndpoint(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                metrics.getStatementCount(), metrics.getAllocatedBytes() / 1024, headerValue(metrics));
+    }
+
+    /**
+     * Formats the breakdown as {@code db-pool;dur=0.4, db;dur=12.3;desc="JDBC execution", ..., total;dur=40.2}.
+     * Phases that did not occur are left out; phases may overlap (e.g. lazy loading during serialization).
+     */
+    static String headerValue(RequestMetrics metrics) {
+        StringBuilder value = new StringBuilder();
+        for (TimingPhase phase : TimingPhase.values()) {
+            long nanos = metrics.getPhaseNanos(phase);
+            if (nanos > 0) {
+                append(value, phase.getMetricName(), nanos, phase.getDescription());
+            }
+        }
+        append(value, "total", metrics.getElapsedNanos(), null);
+        return value.toString();
+    }
+
+    private static void append(StringBuilder value, String name, long nanos, String description) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+        if (description != null) {
+            value.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.maintenance.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.server-timing")
+public class ServerTimingProperties {
+
+    // Sends the Server-Timing header on every response
+    private boolean enabled = false;
+
+    // Sends it to authenticated admins even when not enabled for everyone
+    private boolean admins = true;
+
+    // Requests slower than this are candidates for the slow request log
+    private Duration slowThreshold = Duration.ofSeconds(1);
+
+    // Share of slow requests that get logged, between 0 and 1
+    private double slowSampleRate = 0.2;
+}
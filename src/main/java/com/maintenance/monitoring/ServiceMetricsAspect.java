@@ -0,0 +1,168 @@
+package com.maintenance.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency histograms, in-flight gauges and error counts for every service and REST controller
+ * method. {@code @Cacheable} methods are additionally split by cache outcome so a dashboard p99
+ * can be traced to the calls that actually miss.
+ *
+ * <p>Meters are resolved once per method; the success path only touches pre-registered meters.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(ServiceMetricsProperties.class)
+@ConditionalOnProperty(prefix = "app.monitoring.service", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String LATENCY = "app.service.latency";
+    static final String IN_FLIGHT = "app.service.in.flight";
+    static final String ERRORS = "app.service.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final ServiceMetricsProperties properties;
+
+    private final Map<Method, MethodMetrics> byMethod = new ConcurrentHashMap<>();
+    // Overloads share their meters, since they share their tags
+    private final Map<String, MethodMetrics> byName = new ConcurrentHashMap<>();
+
+    @Pointcut("within(com.maintenance.service..*) && @within(org.springframework.stereotype.Service)")
+    void serviceMethods() {
+    }
+
+    @Pointcut("within(com.maintenance.controller..*) && @within(org.springframework.web.bind.annotation.RestController)")
+    void controllerMethods() {
+    }
+
+    @Around("serviceMethods() || controllerMethods()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMetrics metrics = metricsFor(joinPoint);
+        CacheProbe probe = metrics.cacheable ? CacheProbe.open() : null;
+
+        metrics.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            metrics.success(probe).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            metrics.failure(ex, probe, System.nanoTime() - start);
+            throw ex;
+        } finally {
+            metrics.inFlight.decrementAndGet();
+            if (probe != null) {
+                probe.close();
+                RequestMetrics request = RequestMetrics.current();
+                if (request != null) {
+                    request.recordPhase(TimingPhase.CACHE, probe.cacheNanos(System.nanoTime() - start));
+                }
+            }
+        }
+    }
+
+    private MethodMetrics metricsFor(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodMetrics metrics = byMethod.get(method);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        boolean cacheable = AnnotatedElementUtils.hasAnnotation(specificMethod, Cacheable.class);
+        String className = targetClass.getSimpleName();
+
+        metrics = byName.computeIfAbsent(className + "." + method.getName(),
+                key -> new MethodMetrics(className, method.getName(), cacheable));
+        byMethod.putIfAbsent(method, metrics);
+        return metrics;
+    }
+
+    private Timer timer(String className, String methodName, String outcome, String cache, String exception) {
+        return Timer.builder(LATENCY)
+                .description("Service and controller method latency")
+                .tags("class", className, "method", methodName,
+                        "outcome", outcome, "cache", cache, "exception", exception)
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .serviceLevelObjectives(properties.getSlo().toArray(new Duration[0]))
+                .minimumExpectedValue(properties.getMinimumExpectedValue())
+                .maximumExpectedValue(properties.getMaximumExpectedValue())
+                .register(meterRegistry);
+    }
+
+    private final class MethodMetrics {
+
+        private final String className;
+        private final String methodName;
+        private final boolean cacheable;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Timer success;
+        private final Timer successHit;
+        private final Timer successMiss;
+
+        MethodMetrics(String className, String methodName, boolean cacheable) {
+            this.className = className;
+            this.methodName = methodName;
+            this.cacheable = cacheable;
+
+            Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                    .description("Service and controller calls currently executing")
+                    .tags("class", className, "method", methodName)
+                    .register(meterRegistry);
+
+            if (cacheable) {
+                this.success = null;
+                this.successHit = timer(className, methodName, "success", "hit", "none");
+                this.successMiss = timer(className, methodName, "success", "miss", "none");
+            } else {
+                this.success = timer(className, methodName, "success", "none", "none");
+                this.successHit = null;
+                this.successMiss = null;
+            }
+        }
+
+        Timer success(CacheProbe probe) {
+            if (probe == null) {
+                return success;
+            }
+            return "hit".equals(probe.outcome()) ? successHit : successMiss;
+        }
+
+        void failure(Throwable ex, CacheProbe probe, long nanos) {
+            String exception = ex.getClass().getSimpleName();
+            String cache = probe != null ? probe.outcome() : "none";
+            timer(className, methodName, "error", cache, exception).record(nanos, TimeUnit.NANOSECONDS);
+            Counter.builder(ERRORS)
+                    .description("Service and controller calls that threw")
+                    .tags("class", className, "method", methodName, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
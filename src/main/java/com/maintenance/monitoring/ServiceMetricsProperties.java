@@ -0,0 +1,27 @@
+package com.maintenance.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.service")
+public class ServiceMetricsProperties {
+
+    private boolean enabled = true;
+
+    // Publishes histogram buckets so p95/p99 can be aggregated across instances in Prometheus
+    private boolean percentileHistogram = true;
+
+    // SLO boundaries added as explicit buckets, e.g. to alert on "share of calls over 250ms"
+    private List<Duration> slo = new ArrayList<>(List.of(
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)));
+
+    private Duration minimumExpectedValue = Duration.ofMillis(1);
+
+    private Duration maximumExpectedValue = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package com.maintenance.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/slowqueries} shows the slowest statements since startup (or the last
+ * {@code DELETE}) with their caller, and the statement shapes that took the most time overall.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final StatementStatistics statistics;
+    private final JdbcMonitoringProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("slowThreshold", properties.getSlowThreshold());
+        report.put("slowest", statistics.getSlowest());
+        report.put("shapes", statistics.getTopShapes(properties.getTop()));
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+}
@@ -0,0 +1,32 @@
+package com.maintenance.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.monitoring.sql")
+public class SqlMonitoringProperties {
+
+    private boolean enabled = true;
+
+    // Adds X-SQL-* headers to every response; leaks internals, so keep off in production
+    private boolean responseHeaders = false;
+
+    // The same statement shape this many times in one request is reported as an N+1 suspect
+    private int repeatedStatementThreshold = 5;
+
+    // Fail requests that go over their statement budget (meant for tests)
+    private boolean strict = false;
+
+    private int defaultBudget = 100;
+
+    // Per-endpoint budgets; keys use bracket notation in YAML, e.g. "[GET /api/tickets/{id}]": 5
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return budgets.getOrDefault(endpoint, defaultBudget);
+    }
+}
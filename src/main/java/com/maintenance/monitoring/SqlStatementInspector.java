@@ -0,0 +1,34 @@
+package com.maintenance.monitoring;
+
+import com.maintenance.exception.StatementBudgetExceededException;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares against the current request and, in strict mode,
+ * fails the request as soon as it goes over its statement budget.
+ */
+@RequiredArgsConstructor
+public class SqlStatementInspector implements StatementInspector {
+
+    private final SqlMonitoringProperties properties;
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return sql;
+        }
+
+        int count = metrics.recordStatement(sql);
+        if (properties.isStrict()) {
+            String endpoint = metrics.getEndpoint();
+            int budget = properties.budgetFor(endpoint);
+            if (count > budget) {
+                throw new StatementBudgetExceededException(
+                        endpoint + " exceeded its SQL statement budget of " + budget + " with: " + sql);
+            }
+        }
+        return sql;
+    }
+}
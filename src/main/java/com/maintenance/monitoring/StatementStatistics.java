@@ -0,0 +1,267 @@
+package com.maintenance.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency per statement shape, fed by {@link TimingDataSource}. Publishes
+ * {@code app.jdbc.statement} tagged by operation, table and shape id, logs statements over
+ * the slow threshold with the application method that issued them, and keeps the slowest
+ * statements seen for {@link SlowQueryEndpoint}.
+ */
+@Component
+@EnableConfigurationProperties(JdbcMonitoringProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class StatementStatistics {
+
+    static final String LATENCY = "app.jdbc.statement";
+
+    private static final String OTHER = "other";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcMonitoringProperties properties;
+
+    // Raw SQL to its shape; Hibernate reuses the same SQL strings, so this saves normalizing each time
+    private final Map<String, ShapeStats> bySql = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> byShape = new ConcurrentHashMap<>();
+    private final AtomicReference<ShapeStats> other = new AtomicReference<>();
+
+    // Guarded by slowestLock; not a monitor, which would pin virtual threads waiting for it on Java 21
+    private final PriorityQueue<SlowStatement> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(SlowStatement::nanos));
+    private final ReentrantLock slowestLock = new ReentrantLock();
+    private volatile long slowestFloorNanos;
+
+    void record(String sql, long nanos) {
+        ShapeStats stats = statsFor(sql);
+        stats.record(nanos);
+
+        boolean slow = nanos >= properties.getSlowThreshold().toNanos();
+        boolean top = nanos > slowestFloorNanos;
+        if (!slow && !top) {
+            return;
+        }
+
+        RequestMetrics request = RequestMetrics.current();
+        SlowStatement statement = new SlowStatement(stats.id, stats.shape, nanos, callerOf(),
+                request != null ? request.getEndpoint() : null, Instant.now());
+        if (slow) {
+            log.warn("Slow SQL ({} ms) from {} in {}: {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    statement.caller(), statement.endpoint(), stats.shape);
+        }
+        if (top) {
+            offer(statement);
+        }
+    }
+
+    public List<SlowStatement> getSlowest() {
+        List<SlowStatement> statements;
+        slowestLock.lock();
+        try {
+            statements = new ArrayList<>(slowest);
+        } finally {
+            slowestLock.unlock();
+        }
+        statements.sort(Comparator.comparingLong(SlowStatement::nanos).reversed());
+        return statements;
+    }
+
+    /**
+     * Shapes that took the most time in total, most expensive first.
+     */
+    public List<ShapeSummary> getTopShapes(int limit) {
+        List<ShapeStats> shapes = new ArrayList<>(byShape.values());
+        if (other.get() != null) {
+            shapes.add(other.get());
+        }
+        return shapes.stream()
+                .map(ShapeStats::summary)
+                .filter(summary -> summary.count() > 0)
+                .sorted(Comparator.comparingDouble(ShapeSummary::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Clears the slowest-statements table and the per-shape totals; published metrics are kept.
+     */
+    public void reset() {
+        slowestLock.lock();
+        try {
+            slowest.clear();
+            slowestFloorNanos = 0;
+        } finally {
+            slowestLock.unlock();
+        }
+        byShape.values().forEach(ShapeStats::reset);
+        if (other.get() != null) {
+            other.get().reset();
+        }
+    }
+
+    private void offer(SlowStatement statement) {
+        slowestLock.lock();
+        try {
+            slowest.add(statement);
+            if (slowest.size() > properties.getTop()) {
+                slowest.poll();
+            }
+            if (slowest.size() == properties.getTop()) {
+                slowestFloorNanos = slowest.peek().nanos();
+            }
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    private ShapeStats statsFor(String sql) {
+        ShapeStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+
+        String shape = RequestMetrics.shapeOf(sql);
+        stats = byShape.get(shape);
+        if (stats == null) {
+            stats = byShape.size() < properties.getMaxShapes()
+                    ? byShape.computeIfAbsent(shape, this::newShape)
+                    : otherShape();
+        }
+        // Statements with inlined literals would grow this without bound
+        if (bySql.size() < properties.getMaxShapes() * 4) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    private ShapeStats otherShape() {
+        ShapeStats stats = other.get();
+        if (stats == null) {
+            // A racing duplicate is harmless: it resolves to the same registered timer
+            other.compareAndSet(null, new ShapeStats(OTHER, "(shapes over app.monitoring.jdbc.max-shapes)", OTHER, OTHER));
+            stats = other.get();
+        }
+        return stats;
+    }
+
+    private ShapeStats newShape(String shape) {
+        String lower = shape.toLowerCase(Locale.ROOT);
+        int space = lower.indexOf(' ');
+        String operation = space > 0 ? lower.substring(0, space) : lower;
+        String table = switch (operation) {
+            case "select", "with", "delete" -> wordAfter(lower, " from ");
+            case "insert" -> wordAfter(lower, " into ");
+            case "update" -> wordAfter(lower, "update ");
+            default -> "-";
+        };
+        return new ShapeStats(String.format("%08x", shape.hashCode()), shape, operation, table);
+    }
+
+    private static String wordAfter(String sql, String keyword) {
+        int start = sql.indexOf(keyword);
+        if (start < 0) {
+            return "-";
+        }
+        start += keyword.length();
+        int end = start;
+        while (end < sql.length() && (Character.isLetterOrDigit(sql.charAt(end))
+                || sql.charAt(end) == '_' || sql.charAt(end) == '.' || sql.charAt(end) == '`')) {
+            end++;
+        }
+        return end > start ? sql.substring(start, end).replace("`", "") : "-";
+    }
+
+    /**
+     * The innermost application method on the stack, skipping Spring proxies; only walked for
+     * statements that are slow or make the top table.
+     */
+    private static String callerOf() {
+        Optional<String> caller = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.maintenance.")
+                        && !frame.getClassName().startsWith("com.maintenance.monitoring.")
+                        && !frame.getClassName().contains("$$"))
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .findFirst());
+        return caller.orElse("unknown");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    public record SlowStatement(String id, String sql, long nanos, String caller, String endpoint, Instant at) {
+
+        public double getMs() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    public record ShapeSummary(String id, String operation, String table, long count,
+                               double totalMs, double meanMs, double maxMs, String sql) {
+    }
+
+    private final class ShapeStats {
+
+        private final String id;
+        private final String shape;
+        private final String operation;
+        private final String table;
+        private final Timer timer;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        ShapeStats(String id, String shape, String operation, String table) {
+            this.id = id;
+            this.shape = shape;
+            this.operation = operation;
+            this.table = table;
+            this.timer = Timer.builder(LATENCY)
+                    .description("JDBC statement execution time per statement shape")
+                    .tags("operation", operation, "table", table, "statement", id)
+                    .publishPercentileHistogram(properties.isPercentileHistogram())
+                    .register(meterRegistry);
+        }
+
+        void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+
+        ShapeSummary summary() {
+            long n = count.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            return new ShapeSummary(id, operation, table, n, total, n > 0 ? total / n : 0,
+                    maxNanos.get() / 1_000_000.0, shape);
+        }
+    }
+}
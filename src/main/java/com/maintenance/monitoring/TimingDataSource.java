@@ -0,0 +1,159 @@
+package com.maintenance.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * Times every statement executed through the pool, Hibernate's and plain JDBC alike, and
+ * reports it to {@link StatementStatistics}. Connections and statements are wrapped in JDK
+ * proxies; only {@code execute*} calls do any extra work.
+ */
+public class TimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Supplier<StatementStatistics> statistics;
+
+    public TimingDataSource(DataSource targetDataSource, Supplier<StatementStatistics> statistics) {
+        super(targetDataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    /**
+     * Closes the pool on shutdown; the container infers the destroy method from this wrapper.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        StatementStatistics stats = statistics.get();
+        if (stats == null) {
+            return connection;
+        }
+        ConnectionHandler handler = new ConnectionHandler(connection, stats);
+        handler.proxy = (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {Connection.class}, handler);
+        return handler.proxy;
+    }
+
+    private abstract static class JdbcHandler<T> implements InvocationHandler {
+
+        final T target;
+
+        JdbcHandler(T target) {
+            this.target = target;
+        }
+
+        /**
+         * Object and {@link java.sql.Wrapper} methods, which must see the proxy rather than the target.
+         */
+        Object invokeCommon(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : invokeTarget(method, args);
+                case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) || (Boolean) invokeTarget(method, args);
+                default -> invokeTarget(method, args);
+            };
+        }
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends JdbcHandler<Connection> {
+
+        private final StatementStatistics statistics;
+        private Connection proxy;
+
+        ConnectionHandler(Connection target, StatementStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeCommon(proxy, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+
+            // prepareStatement/prepareCall carry the SQL up front; plain statements get it per execute
+            String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                    new StatementHandler(statement, sql, this.proxy, statistics));
+        }
+    }
+
+    private static final class StatementHandler extends JdbcHandler<Statement> {
+
+        private final String preparedSql;
+        private final Connection connection;
+        private final StatementStatistics statistics;
+        private String batchSql;
+
+        StatementHandler(Statement target, String preparedSql, Connection connection, StatementStatistics statistics) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+            if ("addBatch".equals(name) && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return invokeCommon(proxy, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text
+                    ? text
+                    : preparedSql != null ? preparedSql : batchSql;
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                if (sql != null) {
+                    statistics.record(sql, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.maintenance.monitoring;
+
+/**
+ * Where a request spent its time. Names double as {@code Server-Timing} metric names.
+ */
+public enum TimingPhase {
+
+    DB_POOL("db-pool", "Connection pool wait"),
+    DB("db", "JDBC execution"),
+    CACHE("cache", "Cache lookups"),
+    AUTH("auth", "Filters and authentication"),
+    BCRYPT("bcrypt", "Password hashing"),
+    SERIALIZE("serialize", "JSON serialization");
+
+    private final String metricName;
+    private final String description;
+
+    TimingPhase(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,45 @@
+package com.maintenance.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A {@code @Cacheable} call that had to run the method body.
+ */
+@Name("com.maintenance.CacheMiss")
+@Label("Cache Miss")
+@Category({"Building Maintenance", "Cache"})
+@Description("Application cache miss, spanning the method that computed the value")
+@StackTrace(false)
+public class CacheMissEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Method")
+    String method;
+
+    @Label("User")
+    String user;
+
+    public static CacheMissEvent start() {
+        CacheMissEvent event = new CacheMissEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String cache, String method, String user) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.cache = cache;
+        this.method = method;
+        this.user = user;
+        commit();
+    }
+}
@@ -0,0 +1,173 @@
+package com.maintenance.monitoring.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controls Java Flight Recorder recordings of the running process (admin only, see SecurityConfig):
+ * <ul>
+ *     <li>{@code GET /actuator/jfr} lists recordings</li>
+ *     <li>{@code POST /actuator/jfr} starts one: {@code {"name": "spike", "settings": "profile", "duration": "5m"}}</li>
+ *     <li>{@code GET /actuator/jfr/{id}} downloads its data so far as a {@code .jfr} file</li>
+ *     <li>{@code POST /actuator/jfr/{id}} stops it, keeping the data for download</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}} stops it and discards the data</li>
+ * </ul>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrEndpoint {
+
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(30);
+    private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(250);
+
+    @ReadOperation
+    public List<Map<String, Object>> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(JfrEndpoint::describe)
+                .toList();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String name, @Nullable String settings, @Nullable Duration duration,
+                                     @Nullable Duration maxAge, @Nullable DataSize maxSize) {
+        String settingsName = settings != null ? settings : DEFAULT_SETTINGS;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException ex) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settingsName,
+                    "Use one of " + Configuration.getConfigurations().stream().map(Configuration::getName).toList());
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName(name != null ? name : "actuator-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge != null ? maxAge : DEFAULT_MAX_AGE);
+        recording.setMaxSize((maxSize != null ? maxSize : DEFAULT_MAX_SIZE).toBytes());
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.start();
+
+        log.info("Started JFR recording {} ({}) with '{}' settings", recording.getId(), recording.getName(), settingsName);
+        return describe(recording);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector long id) throws IOException {
+        Recording recording = find(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        recording.dump(file);
+        return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()), WebEndpointResponse.STATUS_OK);
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> stop(@Selector long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {} ({})", id, recording.getName());
+        }
+        return new WebEndpointResponse<>(describe(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> close(@Selector long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        recording.close();
+        log.info("Closed JFR recording {} ({})", id, recording.getName());
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    private static Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState());
+        description.put("startTime", recording.getStartTime());
+        description.put("duration", recording.getDuration());
+        description.put("maxAge", recording.getMaxAge());
+        description.put("maxSize", recording.getMaxSize());
+        description.put("size", recording.getSize());
+        return description;
+    }
+
+    /**
+     * Deletes the dump once it has been streamed to the client. Not reported as a file so that
+     * the response is written through {@link #getInputStream()} rather than zero-copy.
+     */
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.maintenance.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Token validation and user lookup for one request carrying a bearer token.
+ */
+@Name("com.maintenance.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Building Maintenance", "Security"})
+@Description("Bearer token validation and user lookup in JwtAuthenticationFilter")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("User")
+    String user;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Path")
+    String path;
+
+    public static JwtAuthenticationEvent start(String path) {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.path = path;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String user, String outcome) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.user = user;
+        this.outcome = outcome;
+        commit();
+    }
+}
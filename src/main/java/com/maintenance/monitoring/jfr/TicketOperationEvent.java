@@ -0,0 +1,56 @@
+package com.maintenance.monitoring.jfr;
+
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.TicketStatus;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A ticket write (create, status transition, assignment) on the JFR timeline.
+ */
+@Name("com.maintenance.TicketOperation")
+@Label("Ticket Operation")
+@Category({"Building Maintenance", "Tickets"})
+@Description("Ticket create, status transition and assignment")
+@StackTrace(false)
+public class TicketOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Ticket Id")
+    long ticketId;
+
+    @Label("User")
+    String user;
+
+    @Label("From Status")
+    String fromStatus;
+
+    @Label("To Status")
+    String toStatus;
+
+    public static TicketOperationEvent start(String operation) {
+        TicketOperationEvent event = new TicketOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(Ticket ticket, User user, TicketStatus fromStatus) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.ticketId = ticket.getId() != null ? ticket.getId() : 0L;
+        this.user = user != null ? user.getUsername() : null;
+        this.fromStatus = fromStatus != null ? fromStatus.name() : null;
+        this.toStatus = ticket.getStatus() != null ? ticket.getStatus().name() : null;
+        commit();
+    }
+}
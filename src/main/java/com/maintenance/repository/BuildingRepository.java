@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,9 @@ public interface BuildingRepository extends JpaRepository<Building, Long> {
     @EntityGraph(attributePaths = {"manager", "rooms"})
     Optional<Building> findById(Long id);
     
+    @EntityGraph(attributePaths = {"manager", "rooms"})
+    List<Building> findByIdIn(Collection<Long> ids);
+    
     // Search functionality
     @Query("SELECT b FROM Building b WHERE " +
            "LOWER(b.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -7,11 +7,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +62,11 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
            "WHERE t.id = :id")
     Optional<Ticket> findByIdWithDetails(@Param("id") Long id);
     
+    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.reporter LEFT JOIN FETCH t.assignee " +
+           "LEFT JOIN FETCH t.building LEFT JOIN FETCH t.room LEFT JOIN FETCH t.category " +
+           "WHERE t.id IN :ids")
+    List<Ticket> findAllByIdWithDetails(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.comments LEFT JOIN FETCH t.attachments WHERE t.id = :id")
     Optional<Ticket> findByIdWithCommentsAndAttachments(@Param("id") Long id);
     
@@ -108,6 +115,11 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT t FROM Ticket t WHERE t.assignee IS NULL AND t.status = 'OPEN'")
     List<Ticket> findUnassignedTickets();
     
+    // Most urgent first, oldest first within a priority; tickets linked as duplicates are left to their original
+    @Query("SELECT t FROM Ticket t WHERE t.assignee IS NULL AND t.status = 'OPEN' AND t.duplicateOfId IS NULL ORDER BY " +
+           "CASE t.priority WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END, t.createdAt")
+    List<Ticket> findUnassignedBacklog(Pageable pageable);
+    
     // Statistics for user
     @Query("SELECT COUNT(t) FROM Ticket t WHERE t.reporter = :reporter")
     long countByReporter(@Param("reporter") User reporter);
@@ -124,4 +136,86 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     // Recent activity
     @Query("SELECT t FROM Ticket t WHERE t.updatedAt > :since ORDER BY t.updatedAt DESC")
     List<Ticket> findRecentlyUpdated(@Param("since") LocalDateTime since);
+    
+    // Duplicate detection index
+    @Query("SELECT t.id AS id, t.building.id AS buildingId, t.category.id AS categoryId, " +
+           "t.title AS title, t.description AS description, t.status AS status, t.createdAt AS createdAt " +
+           "FROM Ticket t WHERE t.status IN :statuses AND t.createdAt >= :since AND t.id > :afterId ORDER BY t.id")
+    List<DuplicateIndexRow> findDuplicateIndexRows(@Param("statuses") Collection<TicketStatus> statuses,
+                                                   @Param("since") LocalDateTime since,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+    
+    @Query("SELECT t.id AS id, t.building.id AS buildingId, t.category.id AS categoryId, " +
+           "t.title AS title, t.description AS description, t.status AS status, t.createdAt AS createdAt " +
+           "FROM Ticket t WHERE t.updatedAt > :since")
+    List<DuplicateIndexRow> findDuplicateIndexRowsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    // Assignment engine
+    @Query("SELECT t.id AS id, t.assignee.id AS assigneeId, t.priority AS priority FROM Ticket t " +
+           "WHERE t.status IN ('OPEN', 'IN_PROGRESS') AND t.assignee IS NOT NULL")
+    List<OpenAssignmentRow> findOpenAssignments();
+    
+    @Query("SELECT t.assignee.id, t.building.id, COUNT(t) FROM Ticket t " +
+           "WHERE t.assignee IS NOT NULL AND t.createdAt >= :since GROUP BY t.assignee.id, t.building.id")
+    List<Object[]> countAssignmentsByBuildingSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT t.assignee.id, t.category.id, COUNT(t) FROM Ticket t " +
+           "WHERE t.assignee IS NOT NULL AND t.createdAt >= :since GROUP BY t.assignee.id, t.category.id")
+    List<Object[]> countAssignmentsByCategorySince(@Param("since") LocalDateTime since);
+    
+    // Work queue
+    @Query("SELECT t.id AS id, t.assignee.id AS assigneeId, t.category.id AS categoryId, t.priority AS priority, " +
+           "t.status AS status, t.createdAt AS createdAt, t.estimatedCompletion AS estimatedCompletion, " +
+           "t.duplicateOfId AS duplicateOfId " +
+           "FROM Ticket t WHERE t.status = 'OPEN' AND t.id > :afterId ORDER BY t.id")
+    List<WorkQueueRow> findWorkQueueRows(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT t.id AS id, t.assignee.id AS assigneeId, t.category.id AS categoryId, t.priority AS priority, " +
+           "t.status AS status, t.createdAt AS createdAt, t.estimatedCompletion AS estimatedCompletion, " +
+           "t.duplicateOfId AS duplicateOfId " +
+           "FROM Ticket t WHERE t.updatedAt > :since")
+    List<WorkQueueRow> findWorkQueueRowsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    // Takes an open ticket for the technician unless someone else already has; the row lock is all it needs
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Ticket t SET t.assignee = :technician, t.status = 'IN_PROGRESS', t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status = 'OPEN' AND (t.assignee IS NULL OR t.assignee = :technician)")
+    int claim(@Param("id") Long id, @Param("technician") User technician, @Param("now") LocalDateTime now);
+    
+    /**
+     * What the duplicate detector needs of a ticket, without loading the entity.
+     */
+    interface DuplicateIndexRow {
+        Long getId();
+        Long getBuildingId();
+        Long getCategoryId();
+        String getTitle();
+        String getDescription();
+        TicketStatus getStatus();
+        LocalDateTime getCreatedAt();
+    }
+    
+    /**
+     * An open or in-progress ticket counted towards its assignee's load.
+     */
+    interface OpenAssignmentRow {
+        Long getId();
+        Long getAssigneeId();
+        Priority getPriority();
+    }
+    
+    /**
+     * A ticket as the work queue ranks it.
+     */
+    interface WorkQueueRow {
+        Long getId();
+        Long getAssigneeId();
+        Long getCategoryId();
+        Priority getPriority();
+        TicketStatus getStatus();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getEstimatedCompletion();
+        Long getDuplicateOfId();
+    }
 }
\ No newline at end of file
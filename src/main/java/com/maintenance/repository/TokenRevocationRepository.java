@@ -0,0 +1,29 @@
+package com.maintenance.repository;
+
+import com.maintenance.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    boolean existsByJti(String jti);
+
+    boolean existsByUsernameAndNotBeforeAfter(String username, LocalDateTime issuedAt);
+
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    List<TokenRevocation> findByCreatedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.maintenance.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a service method in an isolated partition: on that partition's executor and with
+ * connections from its own pool, so heavy work cannot take threads or connections from
+ * interactive requests. Partitions are configured under {@code app.resilience.bulkheads}.
+ *
+ * <p>The method runs in its own transaction on another thread, so it must not rely on the
+ * caller's transaction or persistence context; return values, not lazy entities.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /**
+     * Partition name, e.g. {@code reporting}.
+     */
+    String value();
+}
@@ -0,0 +1,45 @@
+package com.maintenance.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@link Bulkhead} methods onto their partition's executor. Ordered inside the cache
+ * interceptor, so cache hits stay on the calling thread, and outside the transaction
+ * interceptor, so the transaction (and its connection) belongs to the partition thread.
+ * Advice further down the chain runs on the partition thread too.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@RequiredArgsConstructor
+public class BulkheadAspect {
+
+    private final BulkheadExecutors executors;
+
+    @Around("@annotation(bulkhead)")
+    public Object isolate(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        // Already on this partition's thread, e.g. one reporting method calling another
+        if (bulkhead.value().equals(BulkheadContext.current())) {
+            return joinPoint.proceed();
+        }
+        ProxyMethodInvocation invocation = (ProxyMethodInvocation) ExposeInvocationInterceptor.currentInvocation();
+        return executors.call(bulkhead.value(), () -> {
+            try {
+                // Re-exposed on the partition thread, where AspectJ advice down the chain looks it up
+                return ExposeInvocationInterceptor.INSTANCE.invoke(invocation.invocableClone());
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.maintenance.resilience;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Splits the Hikari pool into a main pool and one pool per bulkhead partition. Runs ahead of
+ * other DataSource post-processors so that wrappers such as statement timing sit outside the
+ * routing and see every partition.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor partitionedDataSourcePostProcessor(Environment environment) {
+        // Bound by hand: post-processors are created before configuration properties beans
+        BulkheadProperties properties = Binder.get(environment)
+                .bind("app.resilience.bulkheads", BulkheadProperties.class)
+                .orElseGet(BulkheadProperties::new);
+        return new PartitioningPostProcessor(properties);
+    }
+
+    private record PartitioningPostProcessor(BulkheadProperties properties) implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            boolean anyPool = properties.getPartitions().values().stream()
+                    .anyMatch(partition -> partition.getConnections() > 0);
+            if (bean instanceof HikariDataSource hikari && anyPool) {
+                return new PartitionedDataSource(hikari, properties);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
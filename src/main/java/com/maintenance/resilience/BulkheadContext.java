@@ -0,0 +1,25 @@
+package com.maintenance.resilience;
+
+/**
+ * The bulkhead partition the current thread works for, if any. Set on partition executor
+ * threads and read by {@link PartitionedDataSource} to pick the connection pool.
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static void set(String partition) {
+        CURRENT.set(partition);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,152 @@
+package com.maintenance.resilience;
+
+import com.maintenance.exception.BulkheadFullException;
+import com.maintenance.monitoring.RequestMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One bounded executor per bulkhead partition. Publishes queue depth, active threads and
+ * saturation ({@code app.bulkhead.saturation}: busy threads plus queued calls over capacity)
+ * per partition, and the partition connection pools' Hikari metrics.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+@Slf4j
+public class BulkheadExecutors {
+
+    private final Map<String, Partition> partitions = new HashMap<>();
+
+    public BulkheadExecutors(BulkheadProperties properties, MeterRegistry meterRegistry, DataSource dataSource) {
+        properties.getPartitions().forEach((name, config) ->
+                partitions.put(name, new Partition(name, config, meterRegistry)));
+        bindPoolMetrics(dataSource, meterRegistry);
+    }
+
+    /**
+     * Runs the call on the partition's executor and waits for it, carrying over the security
+     * context. The call's request metrics are added to the caller's only if it finishes in time.
+     */
+    public <T> T call(String partitionName, Callable<T> call) throws Throwable {
+        Partition partition = partitions.get(partitionName);
+        if (partition == null) {
+            throw new IllegalStateException("No bulkhead partition configured under app.resilience.bulkheads: " + partitionName);
+        }
+
+        RequestMetrics.Handoff metrics = RequestMetrics.handOff();
+        Callable<T> task = new DelegatingSecurityContextCallable<>(metrics.wrap(() -> {
+            BulkheadContext.set(partitionName);
+            try {
+                return call.call();
+            } finally {
+                BulkheadContext.clear();
+            }
+        }));
+
+        Future<T> future;
+        try {
+            future = partition.executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            partition.rejected.increment();
+            throw new BulkheadFullException("The " + partitionName + " partition is busy, please retry shortly", ex);
+        }
+
+        try {
+            T result = future.get(partition.timeout, TimeUnit.MILLISECONDS);
+            metrics.join();
+            return result;
+        } catch (ExecutionException ex) {
+            metrics.join();
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            partition.timedOut.increment();
+            throw new BulkheadFullException("The " + partitionName + " partition did not answer in time", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitions.values().forEach(partition -> partition.executor.shutdownNow());
+    }
+
+    private static void bindPoolMetrics(DataSource dataSource, MeterRegistry meterRegistry) {
+        try {
+            if (!dataSource.isWrapperFor(PartitionedDataSource.class)) {
+                return;
+            }
+            for (HikariDataSource pool : dataSource.unwrap(PartitionedDataSource.class).getPartitions().values()) {
+                if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                }
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not bind metrics for partition connection pools", ex);
+        }
+    }
+
+    private static final class Partition {
+
+        private final ThreadPoolExecutor executor;
+        private final long timeout;
+        private final Counter rejected;
+        private final Counter timedOut;
+
+        Partition(String name, BulkheadProperties.Partition config, MeterRegistry meterRegistry) {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, config.getQueue())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.timeout = config.getTimeout().toMillis();
+
+            Tags tags = Tags.of("bulkhead", name);
+            new ExecutorServiceMetrics(executor, "bulkhead." + name, tags).bindTo(meterRegistry);
+            int capacity = config.getThreads() + Math.max(1, config.getQueue());
+            Gauge.builder("app.bulkhead.saturation", executor,
+                            pool -> (double) (pool.getActiveCount() + pool.getQueue().size()) / capacity)
+                    .description("Busy threads plus queued calls over the partition's capacity")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("app.bulkhead.rejected")
+                    .description("Calls turned away because the partition queue was full")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.timedOut = Counter.builder("app.bulkhead.timed.out")
+                    .description("Calls abandoned after the partition timeout")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.maintenance.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.resilience.bulkheads")
+public class BulkheadProperties {
+
+    private Map<String, Partition> partitions = new LinkedHashMap<>();
+
+    @Data
+    public static class Partition {
+
+        private int threads = 2;
+
+        // Calls waiting for a thread; beyond this they are rejected right away
+        private int queue = 20;
+
+        // How long a caller waits for the result before giving up
+        private Duration timeout = Duration.ofSeconds(30);
+
+        // Size of the partition's own connection pool; 0 shares the main pool
+        private int connections = 2;
+    }
+}
@@ -0,0 +1,172 @@
+package com.maintenance.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load before it reaches the connection pool: REST and Vaadin requests each pass an
+ * adaptive {@link GradientLimit}, and requests over it get an immediate 503 with
+ * {@code Retry-After} instead of waiting out the pool's connection timeout. Critical requests
+ * (login, ticket creation) may use the whole limit, others only part of it, so reports and
+ * searches are the first to go.
+ *
+ * <p>Runs before the security filter chain, which already loads the user for every request.
+ * Static resources, actuator and Vaadin push and heartbeat requests are not limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.resilience.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ConcurrencyLimitProperties properties;
+    private final LimitedPool api;
+    private final LimitedPool vaadin;
+    private final List<RoutePattern> critical;
+    private final List<RoutePattern> low;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.api = new LimitedPool("api", properties.getApi(), meterRegistry);
+        this.vaadin = new LimitedPool("vaadin", properties.getVaadin(), meterRegistry);
+        this.critical = parse(properties.getCritical());
+        this.low = parse(properties.getLow());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        LimitedPool pool = poolFor(request, path);
+        if (pool == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestPriority priority = pool == api ? priorityOf(request.getMethod(), path) : RequestPriority.NORMAL;
+        if (!pool.limit.tryAcquire(properties.shareOf(priority))) {
+            pool.rejected.get(priority).increment();
+            log.debug("Shed {} {} ({} priority): {} of {} in flight", request.getMethod(), path,
+                    priority, pool.limit.getInFlight(), pool.limit.getLimit());
+            reject(response, pool == api);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            pool.limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private LimitedPool poolFor(HttpServletRequest request, String path) {
+        if (path.startsWith("/api/")) {
+            return api;
+        }
+        if (path.startsWith("/actuator/") || path.startsWith("/VAADIN/") || path.startsWith("/images/")
+                || path.startsWith("/icons/") || path.startsWith("/frontend/")) {
+            return null;
+        }
+        // Push connections are long-lived and heartbeats are cheap; neither should count
+        String query = request.getQueryString();
+        if (query != null && (query.contains("v-r=push") || query.contains("v-r=heartbeat"))) {
+            return null;
+        }
+        return vaadin;
+    }
+
+    private RequestPriority priorityOf(String method, String path) {
+        if (matches(critical, method, path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (matches(low, method, path)) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private void reject(HttpServletResponse response, boolean json) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        if (json) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(String.format(
+                    "{\"timestamp\":\"%s\",\"status\":503,\"error\":\"Service Unavailable\","
+                            + "\"message\":\"Server is busy, please retry shortly\"}", LocalDateTime.now()));
+        }
+    }
+
+    private static boolean matches(List<RoutePattern> patterns, String method, String path) {
+        return patterns.stream()
+                .anyMatch(pattern -> pattern.method().equals(method) && PATH_MATCHER.match(pattern.path(), path));
+    }
+
+    private static List<RoutePattern> parse(List<String> patterns) {
+        return patterns.stream().map(RoutePattern::parse).toList();
+    }
+
+    private record RoutePattern(String method, String path) {
+
+        static RoutePattern parse(String pattern) {
+            String[] parts = pattern.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected \"METHOD /path\" but got: " + pattern);
+            }
+            return new RoutePattern(parts[0].toUpperCase(Locale.ROOT), parts[1]);
+        }
+    }
+
+    private static final class LimitedPool {
+
+        private final GradientLimit limit;
+        private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+        LimitedPool(String name, ConcurrencyLimitProperties.Pool config, MeterRegistry meterRegistry) {
+            this.limit = new GradientLimit(config);
+            Gauge.builder("app.concurrency.limit", limit, GradientLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            Gauge.builder("app.concurrency.in.flight", limit, GradientLimit::getInFlight)
+                    .description("Requests currently admitted by the concurrency limiter")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+            for (RequestPriority priority : RequestPriority.values()) {
+                rejected.put(priority, Counter.builder("app.concurrency.rejected")
+                        .description("Requests shed by the concurrency limiter")
+                        .tags("pool", name, "priority", priority.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+        }
+    }
+}
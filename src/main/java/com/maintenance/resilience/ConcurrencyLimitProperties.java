@@ -0,0 +1,60 @@
+package com.maintenance.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.resilience.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // REST API and Vaadin UI traffic get separate limits so one cannot starve the other
+    private Pool api = new Pool();
+    private Pool vaadin = new Pool();
+
+    // Share of the current limit normal and low priority requests may fill; critical ones get all of it
+    private double normalShare = 0.9;
+    private double lowShare = 0.5;
+
+    // "METHOD /path" patterns (Ant style); anything else is normal priority
+    private List<String> critical = new ArrayList<>(List.of(
+            "POST /api/auth/login", "POST /api/auth/register", "POST /api/tickets"));
+    private List<String> low = new ArrayList<>(List.of(
+            "GET /api/tickets/statistics", "GET /api/tickets/overdue",
+            "GET /api/tickets/search", "GET /api/buildings/search"));
+
+    // Sent as Retry-After on rejected requests
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public double shareOf(RequestPriority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case LOW -> lowShare;
+        };
+    }
+
+    @Data
+    public static class Pool {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        // Weight of each new estimate; lower reacts more slowly but is steadier
+        private double smoothing = 0.2;
+
+        // Completed requests per limit update
+        private int window = 20;
+
+        // Latency growth over the baseline that is still considered healthy
+        private double tolerance = 1.5;
+    }
+}
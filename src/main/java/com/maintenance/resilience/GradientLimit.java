@@ -0,0 +1,111 @@
+package com.maintenance.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm used by Netflix's
+ * concurrency-limits: while the recent latency stays near its long-term baseline the limit
+ * grows by about {@code sqrt(limit)} per window; when requests queue (for DB connections,
+ * mostly) latency rises and the limit shrinks in proportion, down to half per window.
+ *
+ * <p>Acquiring is a CAS on the in-flight count, and releasing adds the sample to atomic window
+ * totals. Only the request that completes a window takes the lock, to fold the window into the
+ * estimate; a sample racing that may count towards the next window instead, which the
+ * smoothing absorbs. The lock is a {@link ReentrantLock} rather than a monitor because on
+ * Java 21 a virtual thread waiting for a contended monitor pins its carrier thread.
+ */
+class GradientLimit {
+
+    // Weight of each window in the long-term latency baseline (about the last 20 windows)
+    private static final double BASELINE_WEIGHT = 0.05;
+
+    private final ConcurrencyLimitProperties.Pool config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+
+    // The current window
+    private final AtomicLong windowRttSum = new AtomicLong();
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private double baselineRtt;
+
+    GradientLimit(ConcurrencyLimitProperties.Pool config) {
+        this.config = config;
+        this.estimatedLimit = config.getInitialLimit();
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * Admits the request if fewer than {@code share} of the limit are in flight.
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightBefore);
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(long rttNanos, int inFlightBefore) {
+        windowRttSum.addAndGet(rttNanos);
+        windowMaxInFlight.accumulateAndGet(inFlightBefore, Math::max);
+        // Exactly one request sees the count reach the window size, until the window is closed
+        if (windowSamples.incrementAndGet() != config.getWindow()) {
+            return;
+        }
+        lock.lock();
+        try {
+            closeWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeWindow() {
+        int samples = windowSamples.getAndSet(0);
+        long rttSum = windowRttSum.getAndSet(0);
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+        double windowRtt = (double) rttSum / samples;
+
+        baselineRtt = baselineRtt == 0 ? windowRtt : baselineRtt * (1 - BASELINE_WEIGHT) + windowRtt * BASELINE_WEIGHT;
+        // Once the load is gone, do not let a baseline raised by the spike hold the limit up
+        if (baselineRtt > windowRtt * 2) {
+            baselineRtt *= 0.95;
+        }
+
+        // Too little traffic to tell whether more concurrency would help
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, config.getTolerance() * baselineRtt / windowRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double smoothed = estimatedLimit * (1 - config.getSmoothing()) + target * config.getSmoothing();
+        estimatedLimit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), smoothed));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,59 @@
+package com.maintenance.resilience;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the bulkhead partition the thread works for, or from
+ * the main pool otherwise. Partition pools copy the main pool's settings apart from their size
+ * and start lazily, on the first call routed to them.
+ */
+@Slf4j
+public class PartitionedDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final HikariDataSource main;
+    private final Map<String, HikariDataSource> partitions = new LinkedHashMap<>();
+
+    public PartitionedDataSource(HikariDataSource main, BulkheadProperties properties) {
+        this.main = main;
+        properties.getPartitions().forEach((name, partition) -> {
+            if (partition.getConnections() > 0) {
+                partitions.put(name, partitionPool(main, name, partition.getConnections()));
+            }
+        });
+
+        setDefaultTargetDataSource(main);
+        setTargetDataSources(new LinkedHashMap<>(partitions));
+        afterPropertiesSet();
+        log.info("Connection pool partitions: {}", partitions.keySet());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+
+    public Map<String, HikariDataSource> getPartitions() {
+        return Collections.unmodifiableMap(partitions);
+    }
+
+    @Override
+    public void close() {
+        partitions.values().forEach(HikariDataSource::close);
+        main.close();
+    }
+
+    private static HikariDataSource partitionPool(HikariDataSource main, String name, int connections) {
+        HikariDataSource pool = new HikariDataSource();
+        main.copyStateTo(pool);
+        pool.setPoolName((main.getPoolName() != null ? main.getPoolName() : "HikariPool") + "-" + name);
+        pool.setMaximumPoolSize(connections);
+        pool.setMinimumIdle(Math.min(1, connections));
+        return pool;
+    }
+}
@@ -0,0 +1,175 @@
+package com.maintenance.resilience;
+
+import com.maintenance.security.JwtTokenProvider;
+import com.maintenance.warmup.WarmupRequests;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limits by route group, applied with {@link TokenBucketLimiter}s. Signed-in
+ * clients are counted by the subject of their (verified) JWT, everyone else by address, so
+ * one kiosk or script cannot use up another's allowance. The start-up warm-up's own requests
+ * are not limited. Responses carry
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and
+ * {@code RateLimit-Policy}; refused ones get a 429 with {@code Retry-After}.
+ *
+ * <p>Runs after {@code RequestMetricsFilter}, so refused requests still show in the request
+ * metrics, and before the concurrency limiter, so they never take one of its slots. The token
+ * is verified through {@link JwtTokenProvider#resolveClaims}, whose claims the security chain
+ * then reuses. Behind a proxy, set {@code server.forward-headers-strategy} so the client
+ * address is the real one.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.resilience.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final JwtTokenProvider tokenProvider;
+    private final List<LimitedGroup> groups = new ArrayList<>();
+
+    public RateLimitFilter(RateLimitProperties properties, JwtTokenProvider tokenProvider, MeterRegistry meterRegistry) {
+        this.tokenProvider = tokenProvider;
+        properties.getGroups().forEach((name, group) ->
+                groups.add(new LimitedGroup(name, group, properties, meterRegistry)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        LimitedGroup group = groupFor(request.getMethod(), path);
+        if (group == null || WarmupRequests.isWarmup(request.getHeader(WarmupRequests.HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucketLimiter.Decision decision = group.limiter.tryAcquire(clientKey(request, group), System.nanoTime());
+        response.setHeader("RateLimit-Limit", String.valueOf(group.limiter.getBurst()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(decision.resetNanos())));
+        response.setHeader("RateLimit-Policy", group.policy);
+
+        if (!decision.allowed()) {
+            group.rejected.increment();
+            log.debug("Rate limited {} {} in group {}", request.getMethod(), path, group.name);
+            reject(response, decision);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.resilience.rate-limit.eviction-interval:1m}",
+               initialDelayString = "${app.resilience.rate-limit.eviction-interval:1m}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        groups.forEach(group -> group.limiter.evictIdle(now));
+    }
+
+    private LimitedGroup groupFor(String method, String path) {
+        for (LimitedGroup group : groups) {
+            if (group.routes.stream().anyMatch(route -> route.matches(method, path))) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, LimitedGroup group) {
+        if (group.key == RateLimitProperties.Key.USER) {
+            Claims claims = tokenProvider.resolveClaims(request);
+            // Invalid tokens are refused by the security chain; count them by address meanwhile
+            if (claims != null) {
+                return "user:" + claims.getSubject();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, TokenBucketLimiter.Decision decision) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.retryAfterNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(String.format(
+                "{\"timestamp\":\"%s\",\"status\":429,\"error\":\"Too Many Requests\","
+                        + "\"message\":\"Rate limit exceeded, please retry later\"}", LocalDateTime.now()));
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record Route(String method, String path) {
+
+        static Route parse(String pattern) {
+            String[] parts = pattern.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected \"METHOD /path\" but got: " + pattern);
+            }
+            return new Route(parts[0].toUpperCase(Locale.ROOT), parts[1]);
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            return ("*".equals(method) || method.equals(requestMethod)) && PATH_MATCHER.match(path, requestPath);
+        }
+    }
+
+    private static final class LimitedGroup {
+
+        private final String name;
+        private final List<Route> routes;
+        private final RateLimitProperties.Key key;
+        private final TokenBucketLimiter limiter;
+        private final String policy;
+        private final Counter rejected;
+
+        LimitedGroup(String name, RateLimitProperties.Group config, RateLimitProperties properties,
+                     MeterRegistry meterRegistry) {
+            this.name = name;
+            this.routes = config.getRoutes().stream().map(Route::parse).toList();
+            this.key = config.getKey();
+            this.limiter = new TokenBucketLimiter(config, properties.getStripes(), properties.getMaxBuckets());
+            this.policy = config.getLimit() + ";w=" + Math.max(1, config.getPeriod().toSeconds())
+                    + ";burst=" + limiter.getBurst();
+
+            this.rejected = Counter.builder("app.rate.limit.rejected")
+                    .description("Requests refused with 429 by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("app.rate.limit.buckets", limiter, TokenBucketLimiter::size)
+                    .description("Client buckets held by the rate limiter")
+                    .tag("group", name)
+                    .register(meterRegistry);
+        }
+    }
+}
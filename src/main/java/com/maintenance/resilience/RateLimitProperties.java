@@ -0,0 +1,55 @@
+package com.maintenance.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "app.resilience.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Checked in order; a request counts against the first group with a matching route only
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    // Buckets are spread over this many maps, each swept and capped on its own
+    private int stripes = 16;
+
+    // Buckets kept per group; beyond this, new clients share one overflow bucket until the next sweep
+    private int maxBuckets = 100_000;
+
+    // How often full, and so forgettable, buckets are removed
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    @Data
+    public static class Group {
+
+        // "METHOD /path" patterns (Ant style); "*" matches any method
+        private List<String> routes = new ArrayList<>();
+
+        // USER counts each signed-in user separately and falls back to the client IP for anonymous requests
+        private Key key = Key.USER;
+
+        // Sustained rate: this many requests per period
+        private int limit = 60;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        // Requests that may be made at once after a quiet spell; 0 means the same as limit
+        private int burst = 0;
+
+        public int effectiveBurst() {
+            return burst > 0 ? burst : limit;
+        }
+    }
+
+    public enum Key {
+        USER, IP
+    }
+}
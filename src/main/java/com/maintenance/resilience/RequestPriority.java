@@ -0,0 +1,11 @@
+package com.maintenance.resilience;
+
+/**
+ * How much of a concurrency limit a request may fill. When the limit shrinks under load,
+ * low priority requests are turned away first and critical ones last.
+ */
+public enum RequestPriority {
+    CRITICAL,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,128 @@
+package com.maintenance.resilience;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for one rate-limit group, one per client key. Each bucket is a single
+ * {@link AtomicLong} holding its theoretical arrival time (the generic cell rate algorithm):
+ * the moment the bucket would be full again. Taking a token is one compare-and-set, with no
+ * lock and no allocation.
+ *
+ * <p>Buckets are spread over stripes, each a map of its own. A full bucket carries no state
+ * beyond its key, so {@link #evictIdle} can drop it without changing any client's limit. It
+ * first retires the bucket with a compare-and-set, so a token taken at the same moment either
+ * keeps the bucket in place or sees it retired and moves to a new one, never lost. If
+ * a stripe holds its share of {@code maxBuckets} even after that, new clients in it share one
+ * overflow bucket until the next sweep, so memory stays bounded however many addresses
+ * appear.
+ */
+final class TokenBucketLimiter {
+
+    // Arrival time of a bucket nobody has used; System.nanoTime() may be negative
+    private static final long EMPTY = Long.MIN_VALUE;
+    // Arrival time of a bucket being evicted; no real arrival time gets this far
+    private static final long RETIRED = Long.MAX_VALUE;
+
+    private final long emissionInterval;
+    private final long tolerance;
+    private final int burst;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final int bucketsPerStripe;
+    private final AtomicLong overflow = new AtomicLong(EMPTY);
+    private final AtomicInteger size = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    TokenBucketLimiter(RateLimitProperties.Group group, int stripeCount, int maxBuckets) {
+        this.burst = Math.max(1, group.effectiveBurst());
+        this.emissionInterval = Math.max(1, group.getPeriod().toNanos() / Math.max(1, group.getLimit()));
+        this.tolerance = emissionInterval * (burst - 1);
+        int count = Math.max(1, stripeCount);
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.bucketsPerStripe = Math.max(1, maxBuckets / count);
+    }
+
+    /**
+     * Takes a token from the key's bucket if there is one.
+     */
+    Decision tryAcquire(String key, long now) {
+        AtomicLong bucket = bucketFor(key);
+        while (true) {
+            long tat = bucket.get();
+            if (tat == RETIRED) {
+                // Evicted since the lookup; make sure it is out of the map and start on a new one
+                remove(stripeFor(key), key, bucket);
+                bucket = bucketFor(key);
+                continue;
+            }
+            long start = Math.max(tat, now);
+            long waited = start - now;
+            if (waited > tolerance) {
+                return new Decision(false, 0, waited, waited - tolerance);
+            }
+            long next = start + emissionInterval;
+            if (bucket.compareAndSet(tat, next)) {
+                int remaining = (int) Math.min(burst, (now + tolerance + emissionInterval - next) / emissionInterval);
+                return new Decision(true, Math.max(0, remaining), next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely.
+     */
+    void evictIdle(long now) {
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.forEach((key, bucket) -> {
+                long tat = bucket.get();
+                if (tat <= now && bucket.compareAndSet(tat, RETIRED)) {
+                    remove(stripe, key, bucket);
+                }
+            });
+        }
+    }
+
+    int getBurst() {
+        return burst;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private void remove(ConcurrentHashMap<String, AtomicLong> stripe, String key, AtomicLong bucket) {
+        if (stripe.remove(key, bucket)) {
+            size.decrementAndGet();
+        }
+    }
+
+    private AtomicLong bucketFor(String key) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripeFor(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= bucketsPerStripe) {
+            return overflow;
+        }
+        return stripe.computeIfAbsent(key, k -> {
+            size.incrementAndGet();
+            return new AtomicLong(EMPTY);
+        });
+    }
+
+    /**
+     * @param resetNanos until the bucket is full again
+     * @param retryAfterNanos until the next token, when not allowed
+     */
+    record Decision(boolean allowed, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.maintenance.security;
+
+import com.maintenance.entity.User;
+import com.maintenance.repository.UserRepository;
+import com.maintenance.service.UserChangedEvent;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the signed-in {@link User} at most once per HTTP request, and once per Vaadin UI
+ * for as long as the user is not changed. The JWT filter, {@link SecurityService} and the
+ * views all go through here, so a request that authenticates, checks the user in the
+ * controller and renders a layout loads the user once.
+ *
+ * <p>A {@link UserChangedEvent} marks the username as changed; entries remembered before
+ * that are reloaded. UI entries also expire after {@link #UI_MAX_AGE}, which bounds how long
+ * a change made through another instance goes unnoticed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticatedUserCache {
+
+    static final Duration UI_MAX_AGE = Duration.ofMinutes(1);
+
+    private static final String REQUEST_ATTRIBUTE = AuthenticatedUserCache.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
+    // Username -> System.nanoTime() of its last change
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+
+    public Optional<User> get(String username) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        Entry entry = request != null
+                ? (Entry) request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (isUsable(entry, username, false)) {
+            return Optional.ofNullable(entry.user());
+        }
+
+        UI ui = UI.getCurrent();
+        Entry uiEntry = ui != null ? ComponentUtil.getData(ui, Entry.class) : null;
+        if (isUsable(uiEntry, username, true)) {
+            entry = uiEntry;
+        } else {
+            entry = new Entry(username, userRepository.findByUsername(username).orElse(null), System.nanoTime());
+            // Only found users are kept across requests
+            if (ui != null && entry.user() != null) {
+                ComponentUtil.setData(ui, Entry.class, entry);
+            }
+        }
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, entry, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.ofNullable(entry.user());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Forgetting cached user {}", event.username());
+        changedAt.put(event.username(), System.nanoTime());
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean isUsable(Entry entry, String username, boolean checkAge) {
+        if (entry == null || !entry.username().equals(username)) {
+            return false;
+        }
+        Long changed = changedAt.get(username);
+        if (changed != null && changed - entry.loadedAt() >= 0) {
+            return false;
+        }
+        return !checkAge || System.nanoTime() - entry.loadedAt() < UI_MAX_AGE.toNanos();
+    }
+
+    private record Entry(String username, User user, long loadedAt) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.maintenance.security;
 
+import com.maintenance.monitoring.jfr.JwtAuthenticationEvent;
 import com.maintenance.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,38 +26,51 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final TokenRevocationList tokenRevocationList;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        JwtAuthenticationEvent event = null;
+        String username = null;
+        String outcome = "invalid";
         try {
-            String jwt = getJwtFromRequest(request);
-            
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
+            String jwt = tokenProvider.resolveToken(request);
+
+            if (StringUtils.hasText(jwt)) {
+                event = JwtAuthenticationEvent.start(request.getRequestURI());
+            }
+            // Verified once, possibly already by the rate limiter, and used for the revocation check too
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.resolveClaims(request) : null;
+            if (claims != null) {
+                username = claims.getSubject();
+            }
+            if (claims != null && tokenRevocationList.isRevoked(claims.getId(), username, claims.getIssuedAt())) {
+                outcome = "revoked";
+            } else if (claims != null) {
+                // Remembered for the request, so SecurityService does not load the user again
+                String tokenUsername = username;
+                UserDetails userDetails = authenticatedUserCache.get(username)
+                        .map(UserDetailsServiceImpl::toUserDetails)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found: " + tokenUsername));
+                UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
+
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = "authenticated";
             }
         } catch (Exception ex) {
+            outcome = "error";
             log.error("Could not set user authentication in security context", ex);
         }
+        if (event != null) {
+            event.finish(username, outcome);
+        }
         
         filterChain.doFilter(request, response);
     }
-    
-    private String getJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -2,18 +2,25 @@ package com.maintenance.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
     
+    private static final String CLAIMS_ATTRIBUTE = JwtTokenProvider.class.getName() + ".claims";
+    // Remembered for requests without a valid token, so they are not parsed again either
+    private static final Object NO_CLAIMS = new Object();
+    
     private final SecretKey jwtSecret;
     
     @Value("${spring.security.jwt.expiration:86400000}")
@@ -28,6 +35,7 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
         
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
@@ -36,13 +44,48 @@ public class JwtTokenProvider {
     }
     
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
+        return getClaimsFromToken(token).getSubject();
+    }
+    
+    public Claims getClaimsFromToken(String token) {
+        return Jwts.parserBuilder()
                 .setSigningKey(jwtSecret)
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
-        
-        return claims.getSubject();
+    }
+    
+    /**
+     * The bearer token of the request's Authorization header, or null.
+     */
+    public String resolveToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+    
+    /**
+     * The verified claims of the request's bearer token, or null when it has none or an invalid
+     * one. The token is verified once per request; the filters and controllers that ask later
+     * get the claims the first one parsed.
+     */
+    public Claims resolveClaims(HttpServletRequest request) {
+        Object resolved = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (resolved == null) {
+            String jwt = resolveToken(request);
+            resolved = NO_CLAIMS;
+            if (StringUtils.hasText(jwt)) {
+                try {
+                    resolved = getClaimsFromToken(jwt);
+                } catch (JwtException | IllegalArgumentException ex) {
+                    log.debug("Invalid JWT token: {}", ex.getMessage());
+                }
+            }
+            request.setAttribute(CLAIMS_ATTRIBUTE, resolved);
+        }
+        return resolved instanceof Claims claims ? claims : null;
     }
     
     public Date getExpirationDateFromToken(String token) {
@@ -0,0 +1,150 @@
+package com.maintenance.security;
+
+import com.maintenance.exception.BulkheadFullException;
+import com.maintenance.monitoring.RequestMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a fixed pool sized to the processors, so a burst of logins cannot
+ * spend every request thread on bcrypt. Callers wait for their hash; when the queue is full
+ * they are turned away at once with a {@link BulkheadFullException} (503 with Retry-After).
+ *
+ * <p>Publishes {@code app.password.hash} (hashing time by operation), the pool's executor
+ * metrics under {@code password.hashing}, {@code app.password.hashing.queue} and
+ * {@code app.password.hashing.rejected}.
+ */
+@Component
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeout;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueue())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeout = properties.getTimeout().toMillis();
+
+        new ExecutorServiceMetrics(executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder("app.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+        this.rejected = Counter.builder("app.password.hashing.rejected")
+                .description("Password hashes turned away because the hashing queue was full or too slow")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps an encoder so that its hashing runs here; {@code strength} is the configured bcrypt
+     * cost, and hashes made with any other cost report that they need upgrading.
+     */
+    public PasswordEncoder encoder(PasswordEncoder delegate, int strength) {
+        return new PasswordEncoder() {
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return call(encodeTimer, () -> delegate.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return call(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                int cost = costOf(encodedPassword);
+                return delegate.upgradeEncoding(encodedPassword) || (cost > 0 && cost != strength);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Timer timer, Callable<T> hash) {
+        RequestMetrics.Handoff metrics = RequestMetrics.handOff();
+        Future<T> future;
+        try {
+            future = executor.submit(metrics.wrap(() -> timer.recordCallable(hash)));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new BulkheadFullException("Too many sign-ins at once, please retry shortly", ex);
+        }
+
+        try {
+            T result = future.get(timeout, TimeUnit.MILLISECONDS);
+            metrics.join();
+            return result;
+        } catch (ExecutionException ex) {
+            metrics.join();
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw new BulkheadFullException("Password hashing did not finish in time, please retry shortly", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        }
+    }
+
+    /**
+     * The cost of a {@code $2a$NN$...} bcrypt hash, or -1 for anything else.
+     */
+    private static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || !encodedPassword.startsWith("$2")
+                || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("app.password.hash")
+                .description("Time spent hashing or checking a password, excluding the wait for a thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.maintenance.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt cost; stored hashes with a different cost are rehashed on the next login
+    private int strength = 10;
+
+    // Hashing threads; 0 uses one per available processor
+    private int threads = 0;
+
+    // Hashes waiting for a thread; beyond this they are rejected right away
+    private int queue = 64;
+
+    // How long a caller waits for its hash before giving up
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -1,7 +1,6 @@
 package com.maintenance.security;
 
 import com.maintenance.entity.User;
-import com.maintenance.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,8 +12,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SecurityService {
     
-    private final UserService userService;
+    private final AuthenticatedUserCache authenticatedUserCache;
     
+    /**
+     * The signed-in user, loaded once per request and UI; see {@link AuthenticatedUserCache}.
+     */
     public Optional<User> getAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
@@ -22,7 +24,7 @@ public class SecurityService {
             !"anonymousUser".equals(authentication.getPrincipal())) {
             
             String username = authentication.getName();
-            return userService.findByUsername(username);
+            return authenticatedUserCache.get(username);
         }
         
         return Optional.empty();
@@ -0,0 +1,215 @@
+package com.maintenance.security;
+
+import com.maintenance.entity.TokenRevocation;
+import com.maintenance.repository.TokenRevocationRepository;
+import com.maintenance.service.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked JWTs, kept in {@code token_revocations} and fronted by a {@link BloomFilter} of
+ * their jti values and usernames. Almost every request carries a token that was never
+ * revoked, and the filter answers that without touching the database; only filter hits,
+ * real or false, are looked up.
+ *
+ * <p>Revocations made here go into the filter at once. Those made through other instances are
+ * picked up every {@code app.security.token-revocation.refresh-interval}. Every
+ * {@code compaction-interval}, rows whose tokens have all expired are deleted and the filter
+ * is rebuilt from the rest, since a Bloom filter cannot forget keys.
+ */
+@Component
+@EnableConfigurationProperties(TokenRevocationProperties.class)
+@Slf4j
+public class TokenRevocationList {
+
+    private static final String JTI = "jti:";
+    private static final String USER = "user:";
+
+    // Rows created this long before the last refresh are read again, for transactions that committed late
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository repository;
+    private final TokenRevocationProperties properties;
+    private final Duration tokenLifetime;
+
+    private final Counter notRevoked;
+    private final Counter revoked;
+    private final Counter falsePositives;
+    private final AtomicInteger keys = new AtomicInteger();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private LocalDateTime lastRefresh;
+
+    public TokenRevocationList(TokenRevocationRepository repository, TokenRevocationProperties properties,
+                               @Value("${spring.security.jwt.expiration:86400000}") long jwtExpirationInMs,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.tokenLifetime = Duration.ofMillis(jwtExpirationInMs);
+
+        this.notRevoked = checkCounter("not-revoked", meterRegistry);
+        this.revoked = checkCounter("revoked", meterRegistry);
+        this.falsePositives = checkCounter("false-positive", meterRegistry);
+        Gauge.builder("app.token.revocation.keys", keys, AtomicInteger::get)
+                .description("Keys in the token revocation Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the token was revoked by its jti, or because its user's tokens issued before
+     * some point were.
+     */
+    public boolean isRevoked(String jti, String username, Date issuedAt) {
+        BloomFilter current = filter();
+        boolean jtiHit = jti != null && current.mightContain(JTI + jti);
+        boolean userHit = username != null && current.mightContain(USER + username);
+        if (!jtiHit && !userHit) {
+            notRevoked.increment();
+            return false;
+        }
+
+        LocalDateTime issued = issuedAt != null
+                ? LocalDateTime.ofInstant(issuedAt.toInstant(), ZoneId.systemDefault())
+                : LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault());
+        boolean result = (jtiHit && repository.existsByJti(jti))
+                || (userHit && repository.existsByUsernameAndNotBeforeAfter(username, issued));
+        (result ? revoked : falsePositives).increment();
+        return result;
+    }
+
+    /**
+     * Revokes a single token, as on logout.
+     */
+    public void revokeToken(String jti, String username, Date expiresAt) {
+        filter().put(JTI + jti);
+        keys.incrementAndGet();
+
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setJti(jti);
+        revocation.setUsername(username);
+        revocation.setExpiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+        repository.save(revocation);
+        log.debug("Revoked token {} of {}", jti, username);
+    }
+
+    /**
+     * Revokes every token issued to the user until now. JWT issue times are whole seconds,
+     * so a token issued in the same second, even just after, is revoked too.
+     */
+    public void revokeUser(String username) {
+        filter().put(USER + username);
+        keys.incrementAndGet();
+
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUsername(username);
+        revocation.setNotBefore(now);
+        revocation.setExpiresAt(now.plus(tokenLifetime));
+        repository.save(revocation);
+        log.info("Revoked all tokens of {} issued before {}", username, now);
+    }
+
+    /**
+     * Signs a user out everywhere in the same transaction as the change that calls for it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.signOut()) {
+            revokeUser(event.username());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.refresh-interval:30s}",
+               initialDelayString = "${app.security.token-revocation.refresh-interval:30s}")
+    public void refresh() {
+        rebuildLock.lock();
+        try {
+            if (filter == null) {
+                rebuild();
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<TokenRevocation> added = repository.findByCreatedAtAfterAndExpiresAtAfter(
+                    lastRefresh.minus(REFRESH_OVERLAP), now);
+            added.forEach(this::put);
+            lastRefresh = now;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.compaction-interval:1h}",
+               initialDelayString = "${app.security.token-revocation.compaction-interval:1h}")
+    public void compact() {
+        rebuildLock.lock();
+        try {
+            int deleted = repository.deleteExpired(LocalDateTime.now());
+            rebuild();
+            log.info("Compacted token revocations: {} expired, {} live", deleted, keys.get());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private BloomFilter filter() {
+        BloomFilter current = filter;
+        if (current != null) {
+            return current;
+        }
+        // First use only
+        rebuildLock.lock();
+        try {
+            if (filter == null) {
+                rebuild();
+            }
+            return filter;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Callers hold rebuildLock
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenRevocation> live = repository.findByExpiresAtAfter(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(properties.getExpectedRevocations(), live.size() * 2),
+                properties.getFalsePositiveRate());
+        live.forEach(revocation -> put(rebuilt, revocation));
+        filter = rebuilt;
+        keys.set(live.size());
+        lastRefresh = now;
+    }
+
+    private void put(TokenRevocation revocation) {
+        put(filter, revocation);
+    }
+
+    private static void put(BloomFilter target, TokenRevocation revocation) {
+        target.put(revocation.getJti() != null ? JTI + revocation.getJti() : USER + revocation.getUsername());
+    }
+
+    private static Counter checkCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("app.token.revocation.checks")
+                .description("Token revocation checks, by whether the Bloom filter alone could answer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.maintenance.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.security.token-revocation")
+public class TokenRevocationProperties {
+
+    // How often revocations made through other instances are added to the Bloom filter
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    // How often expired revocations are deleted and the Bloom filter is rebuilt without them
+    private Duration compactionInterval = Duration.ofHours(1);
+
+    // Live revocations the Bloom filter is sized for; it is resized on compaction if there are more
+    private int expectedRevocations = 10_000;
+
+    // Share of unrevoked tokens that still need a database lookup
+    private double falsePositiveRate = 0.001;
+}
@@ -0,0 +1,169 @@
+package com.maintenance.service;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Room;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the ticket categories, buildings, rooms and available technicians,
+ * indexed for the lookups forms and grids make. Built once per change and shared by all
+ * threads, so reading it needs neither the database nor a lock.
+ */
+public final class ReferenceData {
+
+    public static final ReferenceData EMPTY = new ReferenceData(List.of(), List.of(), List.of(), List.of());
+
+    private final Map<Long, CategoryRef> categories;
+    private final List<CategoryRef> activeCategories;
+    private final Map<Long, BuildingRef> buildings;
+    private final List<BuildingRef> activeBuildings;
+    private final Map<Long, RoomRef> rooms;
+    private final Map<Long, List<RoomRef>> roomsByBuilding;
+    private final Map<Long, Map<Integer, List<RoomRef>>> roomsByFloor;
+    private final Map<Long, TechnicianRef> technicians;
+    private final List<TechnicianRef> technicianList;
+
+    private ReferenceData(List<CategoryRef> categories, List<BuildingRef> buildings,
+                          List<RoomRef> rooms, List<TechnicianRef> technicians) {
+        this.categories = index(categories, CategoryRef::id);
+        this.activeCategories = categories.stream()
+                .filter(CategoryRef::active)
+                .sorted(Comparator.comparing(CategoryRef::name))
+                .toList();
+        this.buildings = index(buildings, BuildingRef::id);
+        this.activeBuildings = buildings.stream()
+                .filter(BuildingRef::active)
+                .sorted(Comparator.comparing(BuildingRef::name))
+                .toList();
+        this.rooms = index(rooms, RoomRef::id);
+
+        List<RoomRef> activeRooms = rooms.stream()
+                .filter(RoomRef::active)
+                .sorted(Comparator.comparing(RoomRef::floorNumber).thenComparing(RoomRef::roomNumber))
+                .toList();
+        this.roomsByBuilding = activeRooms.stream()
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(RoomRef::buildingId, Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+        this.roomsByFloor = roomsByBuilding.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().stream()
+                        .collect(Collectors.collectingAndThen(
+                                Collectors.groupingBy(RoomRef::floorNumber, Collectors.toUnmodifiableList()),
+                                Map::copyOf))));
+
+        this.technicians = index(technicians, TechnicianRef::id);
+        this.technicianList = List.copyOf(technicians);
+    }
+
+    public static ReferenceData of(Collection<TicketCategory> categories, Collection<Building> buildings,
+                                   Collection<Room> rooms, Collection<User> technicians) {
+        return new ReferenceData(
+                categories.stream().map(CategoryRef::of).toList(),
+                buildings.stream().map(BuildingRef::of).toList(),
+                rooms.stream().map(RoomRef::of).toList(),
+                technicians.stream().map(TechnicianRef::of).toList());
+    }
+
+    public Optional<CategoryRef> findCategory(Long id) {
+        return Optional.ofNullable(id != null ? categories.get(id) : null);
+    }
+
+    public List<CategoryRef> getActiveCategories() {
+        return activeCategories;
+    }
+
+    public Optional<BuildingRef> findBuilding(Long id) {
+        return Optional.ofNullable(id != null ? buildings.get(id) : null);
+    }
+
+    public List<BuildingRef> getActiveBuildings() {
+        return activeBuildings;
+    }
+
+    public Optional<RoomRef> findRoom(Long id) {
+        return Optional.ofNullable(id != null ? rooms.get(id) : null);
+    }
+
+    /**
+     * Active rooms of a building, by floor and room number.
+     */
+    public List<RoomRef> getRooms(Long buildingId) {
+        return roomsByBuilding.getOrDefault(buildingId, List.of());
+    }
+
+    public List<RoomRef> getRooms(Long buildingId, int floorNumber) {
+        return roomsByFloor.getOrDefault(buildingId, Map.of()).getOrDefault(floorNumber, List.of());
+    }
+
+    public Optional<TechnicianRef> findTechnician(Long id) {
+        return Optional.ofNullable(id != null ? technicians.get(id) : null);
+    }
+
+    /**
+     * Active technicians, by name.
+     */
+    public List<TechnicianRef> getTechnicians() {
+        return technicianList;
+    }
+
+    // Grid helpers; take the entity only for its id, which Hibernate proxies answer without loading
+
+    public String categoryName(TicketCategory category) {
+        return category == null ? "" : findCategory(category.getId()).map(CategoryRef::name).orElseGet(category::getName);
+    }
+
+    public String buildingName(Building building) {
+        return building == null ? "" : findBuilding(building.getId()).map(BuildingRef::name).orElseGet(building::getName);
+    }
+
+    public String assigneeName(User assignee) {
+        return assignee == null ? "Unassigned"
+                : findTechnician(assignee.getId()).map(TechnicianRef::fullName).orElseGet(assignee::getFullName);
+    }
+
+    private static <T> Map<Long, T> index(List<T> values, Function<T, Long> idOf) {
+        return values.stream().collect(Collectors.toUnmodifiableMap(idOf, Function.identity()));
+    }
+
+    public record CategoryRef(Long id, String name, Priority defaultPriority, boolean active) {
+
+        static CategoryRef of(TicketCategory category) {
+            return new CategoryRef(category.getId(), category.getName(), category.getDefaultPriority(),
+                    Boolean.TRUE.equals(category.getIsActive()));
+        }
+    }
+
+    public record BuildingRef(Long id, String name, String address, String city, boolean active) {
+
+        static BuildingRef of(Building building) {
+            return new BuildingRef(building.getId(), building.getName(), building.getAddress(), building.getCity(),
+                    Boolean.TRUE.equals(building.getIsActive()));
+        }
+    }
+
+    public record RoomRef(Long id, Long buildingId, Integer floorNumber, String roomNumber, String roomType,
+                          boolean active) {
+
+        static RoomRef of(Room room) {
+            return new RoomRef(room.getId(), room.getBuilding().getId(), room.getFloorNumber(), room.getRoomNumber(),
+                    room.getRoomType(), Boolean.TRUE.equals(room.getIsActive()));
+        }
+    }
+
+    public record TechnicianRef(Long id, String username, String fullName, String email) {
+
+        static TechnicianRef of(User user) {
+            return new TechnicianRef(user.getId(), user.getUsername(), user.getFullName(), user.getEmail());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.maintenance.service;
+
+/**
+ * Published by services that write categories, buildings, rooms or technicians; the
+ * reference-data snapshot is rebuilt once the writing transaction commits.
+ */
+public record ReferenceDataChangedEvent(String reason) {
+}
@@ -0,0 +1,10 @@
+package com.maintenance.service;
+
+public interface ReferenceDataService {
+    
+    // The current snapshot; keep the returned instance for lookups that must agree with each other
+    ReferenceData current();
+    
+    // Rebuilds the snapshot from the database and swaps it in
+    void refresh();
+}
@@ -0,0 +1,14 @@
+package com.maintenance.service;
+
+import com.maintenance.entity.Ticket;
+
+/**
+ * Published when a ticket is created, edited, changes status or is deleted; indexes kept
+ * beside the table catch up from the ticket as it stood once the transaction commits.
+ */
+public record TicketChangedEvent(Ticket ticket, boolean deleted) {
+
+    public TicketChangedEvent(Ticket ticket) {
+        this(ticket, false);
+    }
+}
@@ -1,5 +1,7 @@
 package com.maintenance.service;
 
+import com.maintenance.assignment.Assignment;
+import com.maintenance.duplicates.DuplicateCandidate;
 import com.maintenance.entity.Ticket;
 import com.maintenance.entity.User;
 import com.maintenance.entity.enums.Priority;
@@ -51,6 +53,14 @@ public interface TicketService {
     
     Ticket unassignTicket(Long ticketId, User changedBy);
     
+    // Automatic assignment; FeatureDisabledException when app.assignment.enabled is false
+    Optional<Ticket> autoAssignTicket(Long ticketId, User assignedBy);
+    
+    List<Assignment> autoAssignUnassigned(User assignedBy);
+    
+    // Work queue: takes an open ticket and starts it, unless another technician got there first
+    Optional<Ticket> claimTicket(Long ticketId, User technician);
+    
     // Search functionality
     List<Ticket> searchTickets(String search);
     
@@ -96,4 +106,7 @@ public interface TicketService {
     Map<String, Long> getTicketCountByCategory();
     
     Map<String, Long> getMonthlyTicketCount(int months);
+    
+    // Duplicate detection
+    List<DuplicateCandidate> findLikelyDuplicates(Long ticketId);
 }
\ No newline at end of file
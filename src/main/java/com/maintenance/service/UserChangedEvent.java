@@ -0,0 +1,13 @@
+package com.maintenance.service;
+
+/**
+ * Published when a user's details, role, active flag or password change, or the user is
+ * deleted; whatever was remembered about that username is dropped once the transaction
+ * commits. With {@code signOut}, every token issued to the user so far is revoked as well.
+ */
+public record UserChangedEvent(String username, boolean signOut) {
+
+    public UserChangedEvent(String username) {
+        this(username, false);
+    }
+}
@@ -5,10 +5,12 @@ import com.maintenance.entity.User;
 import com.maintenance.exception.ResourceNotFoundException;
 import com.maintenance.repository.BuildingRepository;
 import com.maintenance.service.BuildingService;
+import com.maintenance.service.ReferenceDataChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,12 +26,15 @@ import java.util.Optional;
 public class BuildingServiceImpl implements BuildingService {
     
     private final BuildingRepository buildingRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @CacheEvict(value = "buildings", allEntries = true)
     public Building saveBuilding(Building building) {
         log.info("Saving new building: {}", building.getName());
-        return buildingRepository.save(building);
+        Building saved = buildingRepository.save(building);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("building " + saved.getId() + " saved"));
+        return saved;
     }
     
     @Override
@@ -47,7 +52,9 @@ public class BuildingServiceImpl implements BuildingService {
         building.setZipCode(buildingDetails.getZipCode());
         building.setManager(buildingDetails.getManager());
         
-        return buildingRepository.save(building);
+        Building updated = buildingRepository.save(building);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("building " + id + " updated"));
+        return updated;
     }
     
     @Override
@@ -57,6 +64,7 @@ public class BuildingServiceImpl implements BuildingService {
         Building building = buildingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Building not found with id: " + id));
         buildingRepository.delete(building);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("building " + id + " deleted"));
     }
     
     @Override
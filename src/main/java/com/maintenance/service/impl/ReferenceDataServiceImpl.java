@@ -0,0 +1,98 @@
+package com.maintenance.service.impl;
+
+import com.maintenance.repository.BuildingRepository;
+import com.maintenance.repository.RoomRepository;
+import com.maintenance.repository.TicketCategoryRepository;
+import com.maintenance.repository.UserRepository;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataChangedEvent;
+import com.maintenance.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the reference-data snapshot in a volatile field and replaces it wholesale: readers
+ * never lock, and only rebuilds are serialized. The snapshot is rebuilt after every committed
+ * {@link ReferenceDataChangedEvent}, and every {@code app.reference-data.refresh-interval} to
+ * pick up changes made by other instances or outside the application.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataServiceImpl implements ReferenceDataService {
+
+    private final TicketCategoryRepository categoryRepository;
+    private final BuildingRepository buildingRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile ReferenceData snapshot;
+
+    @Override
+    public ReferenceData current() {
+        ReferenceData current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        // First use only
+        rebuildLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void refresh() {
+        rebuildLock.lock();
+        try {
+            snapshot = load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        log.debug("Refreshing reference data after {}", event.reason());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference-data.refresh-interval:5m}",
+               initialDelayString = "${app.reference-data.refresh-interval:5m}")
+    public void refreshPeriodically() {
+        refresh();
+    }
+
+    private ReferenceData load() {
+        long start = System.nanoTime();
+        // A new transaction, since this also runs after the commit of the writing one
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        ReferenceData data = transaction.execute(status -> ReferenceData.of(
+                categoryRepository.findAll(),
+                buildingRepository.findAll(),
+                roomRepository.findAll(),
+                userRepository.findAvailableTechnicians()));
+        log.info("Loaded reference data: {} categories, {} buildings, {} technicians in {} ms",
+                data.getActiveCategories().size(), data.getActiveBuildings().size(), data.getTechnicians().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return data;
+    }
+}
@@ -1,17 +1,31 @@
 package com.maintenance.service.impl;
 
+import com.maintenance.assignment.Assignment;
+import com.maintenance.assignment.AssignmentEngine;
+import com.maintenance.duplicates.DuplicateCandidate;
+import com.maintenance.duplicates.DuplicateDetector;
 import com.maintenance.entity.*;
 import com.maintenance.entity.enums.Priority;
 import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.exception.FeatureDisabledException;
 import com.maintenance.exception.ResourceNotFoundException;
+import com.maintenance.monitoring.jfr.TicketOperationEvent;
 import com.maintenance.repository.TicketRepository;
 import com.maintenance.repository.TicketStatusHistoryRepository;
+import com.maintenance.repository.UserRepository;
+import com.maintenance.resilience.Bulkhead;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataService;
+import com.maintenance.service.TicketChangedEvent;
 import com.maintenance.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,28 +42,60 @@ public class TicketServiceImpl implements TicketService {
     
     private final TicketRepository ticketRepository;
     private final TicketStatusHistoryRepository statusHistoryRepository;
+    private final ReferenceDataService referenceDataService;
+    private final ObjectProvider<DuplicateDetector> duplicateDetector;
+    private final ObjectProvider<AssignmentEngine> assignmentEngine;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
     public Ticket createTicket(Ticket ticket) {
         log.info("Creating new ticket: {}", ticket.getTitle());
+        TicketOperationEvent event = TicketOperationEvent.start("create");
         
         // Set default values if not provided
         if (ticket.getPriority() == null) {
-            ticket.setPriority(ticket.getCategory().getDefaultPriority());
+            ticket.setPriority(referenceDataService.current().findCategory(ticket.getCategory().getId())
+                    .map(ReferenceData.CategoryRef::defaultPriority)
+                    .orElseGet(() -> ticket.getCategory().getDefaultPriority()));
         }
         
         if (ticket.getStatus() == null) {
             ticket.setStatus(TicketStatus.OPEN);
         }
         
+        // Look for open tickets reporting the same problem
+        DuplicateDetector detector = duplicateDetector.getIfAvailable();
+        List<DuplicateCandidate> duplicates = detector != null ? detector.findDuplicates(ticket) : List.of();
+        if (!duplicates.isEmpty()) {
+            log.info("Ticket '{}' looks like a duplicate of {}", ticket.getTitle(), duplicates);
+            DuplicateCandidate closest = duplicates.get(0);
+            if (detector.shouldAutoLink(closest) && ticketRepository.existsById(closest.ticketId())) {
+                ticket.setDuplicateOfId(closest.ticketId());
+            }
+        }
+        
         // Save the ticket
         Ticket savedTicket = ticketRepository.save(ticket);
         
         // Create initial status history entry
+        String reason = savedTicket.getDuplicateOfId() != null
+                ? "Ticket created as a likely duplicate of #" + savedTicket.getDuplicateOfId()
+                : "Ticket created";
         createStatusHistoryEntry(savedTicket, null, savedTicket.getStatus(), 
-                savedTicket.getReporter(), "Ticket created");
+                savedTicket.getReporter(), reason);
+        
+        // Hand it to the least loaded technician, unless it is a duplicate whoever has the original will handle
+        AssignmentEngine engine = assignmentEngine.getIfAvailable();
+        if (engine != null && engine.assignsOnCreate() && savedTicket.getAssignee() == null
+                && savedTicket.getDuplicateOfId() == null) {
+            engine.assign(savedTicket).ifPresent(technicianId -> applyAssignment(savedTicket, technicianId,
+                    savedTicket.getReporter(), "Ticket auto-assigned to " + technicianName(technicianId)));
+        }
+        eventPublisher.publishEvent(new TicketChangedEvent(savedTicket));
         
+        event.finish(savedTicket, savedTicket.getReporter(), null);
         return savedTicket;
     }
     
@@ -82,6 +128,7 @@ public class TicketServiceImpl implements TicketService {
             createStatusHistoryEntry(updatedTicket, oldStatus, ticketDetails.getStatus(), 
                     ticketDetails.getReporter(), "Status updated");
         }
+        eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
         
         return updatedTicket;
     }
@@ -95,6 +142,7 @@ public class TicketServiceImpl implements TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + id));
         
         ticketRepository.delete(ticket);
+        eventPublisher.publishEvent(new TicketChangedEvent(ticket, true));
     }
     
     @Override
@@ -169,6 +217,7 @@ public class TicketServiceImpl implements TicketService {
     @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
     public Ticket updateTicketStatus(Long ticketId, TicketStatus newStatus, User changedBy, String reason) {
         log.info("Updating ticket {} status to {}", ticketId, newStatus);
+        TicketOperationEvent event = TicketOperationEvent.start("status");
         
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
@@ -185,7 +234,9 @@ public class TicketServiceImpl implements TicketService {
         
         // Create status history entry
         createStatusHistoryEntry(updatedTicket, oldStatus, newStatus, changedBy, reason);
+        eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
         
+        event.finish(updatedTicket, changedBy, oldStatus);
         return updatedTicket;
     }
     
@@ -193,6 +244,7 @@ public class TicketServiceImpl implements TicketService {
     @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
     public Ticket assignTicket(Long ticketId, User assignee, User assignedBy) {
         log.info("Assigning ticket {} to user {}", ticketId, assignee.getUsername());
+        TicketOperationEvent event = TicketOperationEvent.start("assign");
         
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
@@ -203,14 +255,92 @@ public class TicketServiceImpl implements TicketService {
         // Create status history entry
         createStatusHistoryEntry(updatedTicket, updatedTicket.getStatus(), updatedTicket.getStatus(), 
                 assignedBy, "Ticket assigned to " + assignee.getFullName());
+        eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
         
+        event.finish(updatedTicket, assignedBy, updatedTicket.getStatus());
         return updatedTicket;
     }
     
+    @Override
+    @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
+    public Optional<Ticket> autoAssignTicket(Long ticketId, User assignedBy) {
+        log.info("Auto-assigning ticket {}", ticketId);
+        AssignmentEngine engine = requireAssignmentEngine();
+        TicketOperationEvent event = TicketOperationEvent.start("assign");
+        
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
+        // Finished tickets are not worked on, and assigned ones are changed by naming the assignee
+        if (ticket.getAssignee() != null || ticket.getStatus() == TicketStatus.RESOLVED
+                || ticket.getStatus() == TicketStatus.CLOSED) {
+            log.info("Not auto-assigning ticket {}: it is {}", ticketId,
+                    ticket.getAssignee() != null ? "already assigned" : ticket.getStatus());
+            return Optional.empty();
+        }
+        
+        Optional<Long> technicianId = engine.assign(ticket);
+        if (technicianId.isEmpty()) {
+            return Optional.empty();
+        }
+        Ticket updatedTicket = applyAssignment(ticket, technicianId.get(), assignedBy,
+                "Ticket auto-assigned to " + technicianName(technicianId.get()));
+        eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
+        
+        event.finish(updatedTicket, assignedBy, updatedTicket.getStatus());
+        return Optional.of(updatedTicket);
+    }
+    
+    @Override
+    @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
+    public List<Assignment> autoAssignUnassigned(User assignedBy) {
+        AssignmentEngine engine = requireAssignmentEngine();
+        
+        // Most urgent first, while the least loaded technicians are still free
+        List<Ticket> backlog = ticketRepository.findUnassignedBacklog(PageRequest.of(0, engine.maxBulkSize()));
+        log.info("Auto-assigning {} unassigned tickets", backlog.size());
+        
+        List<Assignment> assignments = new ArrayList<>(backlog.size());
+        for (Ticket ticket : backlog) {
+            Optional<Long> technicianId = engine.assign(ticket);
+            if (technicianId.isEmpty()) {
+                break;
+            }
+            Ticket updatedTicket = applyAssignment(ticket, technicianId.get(), assignedBy,
+                    "Ticket auto-assigned to " + technicianName(technicianId.get()));
+            eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
+            assignments.add(new Assignment(ticket.getId(), technicianId.get()));
+        }
+        return assignments;
+    }
+    
+    @Override
+    @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
+    public Optional<Ticket> claimTicket(Long ticketId, User technician) {
+        TicketOperationEvent event = TicketOperationEvent.start("claim");
+        
+        // A conditional update rather than read-then-save: of two technicians claiming the
+        // same ticket, the second finds it no longer open and updates nothing
+        if (ticketRepository.claim(ticketId, technician, LocalDateTime.now()) == 0) {
+            log.debug("Ticket {} could not be claimed by {}", ticketId, technician.getUsername());
+            return Optional.empty();
+        }
+        log.info("Ticket {} claimed by {}", ticketId, technician.getUsername());
+        
+        Ticket claimedTicket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
+        createStatusHistoryEntry(claimedTicket, TicketStatus.OPEN, TicketStatus.IN_PROGRESS, technician,
+                "Ticket claimed by " + technician.getFullName());
+        eventPublisher.publishEvent(new TicketChangedEvent(claimedTicket));
+        
+        event.finish(claimedTicket, technician, TicketStatus.OPEN);
+        return Optional.of(claimedTicket);
+    }
+    
     @Override
     @CacheEvict(value = {"tickets", "ticketStats"}, allEntries = true)
     public Ticket unassignTicket(Long ticketId, User changedBy) {
         log.info("Unassigning ticket {}", ticketId);
+        TicketOperationEvent event = TicketOperationEvent.start("unassign");
         
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
@@ -224,7 +354,9 @@ public class TicketServiceImpl implements TicketService {
                 "Ticket unassigned from " + previousAssignee.getFullName() : "Ticket unassigned";
         createStatusHistoryEntry(updatedTicket, updatedTicket.getStatus(), updatedTicket.getStatus(), 
                 changedBy, reason);
+        eventPublisher.publishEvent(new TicketChangedEvent(updatedTicket));
         
+        event.finish(updatedTicket, changedBy, updatedTicket.getStatus());
         return updatedTicket;
     }
     
@@ -282,6 +414,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countAll'")
     public long countAllTickets() {
@@ -289,6 +422,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countByStatus_' + #status")
     public long countTicketsByStatus(TicketStatus status) {
@@ -320,6 +454,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countOverdue'")
     public long countOverdueTickets() {
@@ -333,6 +468,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countByStatus'")
     public Map<String, Long> getTicketCountByStatus() {
@@ -345,6 +481,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countByPriority'")
     public Map<String, Long> getTicketCountByPriority() {
@@ -357,6 +494,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'countByCategory'")
     public Map<String, Long> getTicketCountByCategory() {
@@ -369,6 +507,7 @@ public class TicketServiceImpl implements TicketService {
     }
     
     @Override
+    @Bulkhead("reporting")
     @Transactional(readOnly = true)
     @Cacheable(value = "ticketStats", key = "'monthlyCount_' + #months")
     public Map<String, Long> getMonthlyTicketCount(int months) {
@@ -397,6 +536,38 @@ public class TicketServiceImpl implements TicketService {
         return monthlyCount;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findLikelyDuplicates(Long ticketId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with id: " + ticketId));
+        DuplicateDetector detector = duplicateDetector.getIfAvailable();
+        return detector != null ? detector.findDuplicates(ticket) : List.of();
+    }
+    
+    private AssignmentEngine requireAssignmentEngine() {
+        AssignmentEngine engine = assignmentEngine.getIfAvailable();
+        if (engine == null) {
+            throw new FeatureDisabledException("Automatic assignment is disabled (app.assignment.enabled)");
+        }
+        return engine;
+    }
+    
+    // The technician is taken by reference; naming them in the history needs no query either
+    private Ticket applyAssignment(Ticket ticket, Long technicianId, User assignedBy, String reason) {
+        ticket.setAssignee(userRepository.getReferenceById(technicianId));
+        Ticket updatedTicket = ticketRepository.save(ticket);
+        createStatusHistoryEntry(updatedTicket, updatedTicket.getStatus(), updatedTicket.getStatus(),
+                assignedBy, reason);
+        return updatedTicket;
+    }
+    
+    private String technicianName(Long technicianId) {
+        return referenceDataService.current().findTechnician(technicianId)
+                .map(ReferenceData.TechnicianRef::fullName)
+                .orElse("technician #" + technicianId);
+    }
+    
     private void createStatusHistoryEntry(Ticket ticket, TicketStatus oldStatus, 
                                         TicketStatus newStatus, User changedBy, String reason) {
         TicketStatusHistory history = new TicketStatusHistory();
@@ -5,9 +5,12 @@ import com.maintenance.entity.enums.Role;
 import com.maintenance.exception.ResourceNotFoundException;
 import com.maintenance.exception.UserAlreadyExistsException;
 import com.maintenance.repository.UserRepository;
+import com.maintenance.service.ReferenceDataChangedEvent;
+import com.maintenance.service.UserChangedEvent;
 import com.maintenance.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +30,7 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public User saveUser(User user) {
@@ -44,7 +48,9 @@ public class UserServiceImpl implements UserService {
         // Encode password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        technicianChanged(saved.getRole() == Role.TECHNICIAN, "user " + saved.getId() + " saved");
+        return saved;
     }
     
     @Override
@@ -66,6 +72,9 @@ public class UserServiceImpl implements UserService {
             throw new UserAlreadyExistsException("Email already exists: " + userDetails.getEmail());
         }
         
+        Role previousRole = user.getRole();
+        String previousUsername = user.getUsername();
+        
         // Update user details
         user.setUsername(userDetails.getUsername());
         user.setEmail(userDetails.getEmail());
@@ -74,7 +83,11 @@ public class UserServiceImpl implements UserService {
         user.setRole(userDetails.getRole());
         user.setPhoneNumber(userDetails.getPhoneNumber());
         
-        return userRepository.save(user);
+        User updated = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(previousUsername));
+        technicianChanged(previousRole == Role.TECHNICIAN || updated.getRole() == Role.TECHNICIAN,
+                "user " + id + " updated");
+        return updated;
     }
     
     @Override
@@ -85,6 +98,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername(), true));
+        technicianChanged(user.getRole() == Role.TECHNICIAN, "user " + id + " deleted");
     }
     
     @Override
@@ -210,6 +225,7 @@ public class UserServiceImpl implements UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername(), true));
     }
     
     @Override
@@ -221,6 +237,7 @@ public class UserServiceImpl implements UserService {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername(), true));
     }
     
     @Override
@@ -232,6 +249,8 @@ public class UserServiceImpl implements UserService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+        technicianChanged(user.getRole() == Role.TECHNICIAN, "user " + userId + " activated");
     }
     
     @Override
@@ -243,6 +262,8 @@ public class UserServiceImpl implements UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername(), true));
+        technicianChanged(user.getRole() == Role.TECHNICIAN, "user " + userId + " deactivated");
     }
     
     @Override
@@ -261,4 +282,11 @@ public class UserServiceImpl implements UserService {
                 .disabled(!user.getIsActive())
                 .build();
     }
-}
\ No newline at end of file
+    
+    // The technician list is part of the reference data
+    private void technicianChanged(boolean technician, String reason) {
+        if (technician) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(reason));
+        }
+    }
+}
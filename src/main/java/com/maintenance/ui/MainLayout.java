@@ -5,6 +5,7 @@ import com.maintenance.entity.enums.Role;
 import com.maintenance.security.SecurityService;
 import com.maintenance.ui.views.admin.AdminView;
 import com.maintenance.ui.views.dashboard.DashboardView;
+import com.maintenance.ui.views.queue.WorkQueueView;
 import com.maintenance.ui.views.reports.ReportsView;
 import com.maintenance.ui.views.tickets.TicketView;
 import com.vaadin.flow.component.Component;
@@ -151,9 +152,12 @@ public class MainLayout extends AppLayout {
         tabs.add(createTab(VaadinIcon.TICKET, "Tickets", TicketView.class));
         tabs.add(createTab(VaadinIcon.CHART, "Reports", ReportsView.class));
         
-        // Admin-only tabs
+        // Role-specific tabs
         if (securityService.getAuthenticatedUser().isPresent()) {
             User user = securityService.getAuthenticatedUser().get();
+            if (user.getRole() == Role.TECHNICIAN) {
+                tabs.add(createTab(VaadinIcon.TASKS, "My Queue", WorkQueueView.class));
+            }
             if (user.getRole() == Role.ADMIN) {
                 tabs.add(createTab(VaadinIcon.COG, "Admin", AdminView.class));
             }
@@ -5,6 +5,8 @@ import com.maintenance.entity.User;
 import com.maintenance.entity.enums.Priority;
 import com.maintenance.entity.enums.TicketStatus;
 import com.maintenance.security.SecurityService;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataService;
 import com.maintenance.service.TicketService;
 import com.maintenance.service.UserService;
 import com.maintenance.ui.components.StatisticsCard;
@@ -38,10 +40,15 @@ public class DashboardView extends VerticalLayout {
     private final SecurityService securityService;
     private final UserService userService;
     
-    public DashboardView(TicketService ticketService, SecurityService securityService, UserService userService) {
+    // One snapshot for all grids of the dashboard
+    private final ReferenceData referenceData;
+    
+    public DashboardView(TicketService ticketService, SecurityService securityService, UserService userService,
+                         ReferenceDataService referenceDataService) {
         this.ticketService = ticketService;
         this.securityService = securityService;
         this.userService = userService;
+        this.referenceData = referenceDataService.current();
         
         addClassName("dashboard-view");
         setSpacing(true);
@@ -315,8 +322,7 @@ public class DashboardView extends VerticalLayout {
         grid.addClassNames(LumoUtility.Border.NONE, LumoUtility.Padding.NONE);
         
         grid.addColumn(Ticket::getTitle).setHeader("Title").setAutoWidth(true);
-        grid.addColumn(ticket -> ticket.getAssignee() != null ? 
-                ticket.getAssignee().getFullName() : "Unassigned").setHeader("Assignee");
+        grid.addColumn(ticket -> referenceData.assigneeName(ticket.getAssignee())).setHeader("Assignee");
         grid.addColumn(Ticket::getEstimatedCompletion).setHeader("Due Date");
         
         // Load overdue tickets
@@ -339,7 +345,7 @@ public class DashboardView extends VerticalLayout {
         grid.addClassNames(LumoUtility.Border.NONE, LumoUtility.Padding.NONE);
         
         grid.addColumn(Ticket::getTitle).setHeader("Title").setAutoWidth(true);
-        grid.addColumn(ticket -> ticket.getCategory().getName()).setHeader("Category");
+        grid.addColumn(ticket -> referenceData.categoryName(ticket.getCategory())).setHeader("Category");
         grid.addColumn(Ticket::getPriority).setHeader("Priority");
         grid.addColumn(Ticket::getStatus).setHeader("Status");
         grid.addColumn(Ticket::getEstimatedCompletion).setHeader("Due Date");
@@ -367,7 +373,7 @@ public class DashboardView extends VerticalLayout {
         grid.addClassNames(LumoUtility.Border.NONE, LumoUtility.Padding.NONE);
         
         grid.addColumn(Ticket::getTitle).setHeader("Title").setAutoWidth(true);
-        grid.addColumn(ticket -> ticket.getCategory().getName()).setHeader("Category");
+        grid.addColumn(ticket -> referenceData.categoryName(ticket.getCategory())).setHeader("Category");
         grid.addColumn(Ticket::getPriority).setHeader("Priority");
         grid.addColumn(Ticket::getStatus).setHeader("Status");
         grid.addColumn(Ticket::getCreatedAt).setHeader("Created");
@@ -0,0 +1,163 @@
+package com.maintenance.ui.views.queue;
+
+import com.maintenance.assignment.WorkItem;
+import com.maintenance.assignment.WorkQueue;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.security.SecurityService;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataService;
+import com.maintenance.service.TicketService;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.MultiSelectComboBox;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.theme.lumo.LumoUtility;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+
+@Route(value = "queue", layout = com.maintenance.ui.MainLayout.class)
+@PageTitle("My Queue | Building Maintenance System")
+@RolesAllowed("TECHNICIAN")
+public class WorkQueueView extends VerticalLayout {
+
+    private static final int PAGE_SIZE = 25;
+
+    private final WorkQueue workQueue;
+    private final TicketService ticketService;
+    private final SecurityService securityService;
+    private final ReferenceDataService referenceDataService;
+
+    // Names for the grid cells, taken again with each reload of the queue
+    private ReferenceData referenceData;
+
+    private final MultiSelectComboBox<ReferenceData.CategoryRef> teamFilter = new MultiSelectComboBox<>("Teams");
+    private final Grid<WorkItem> queueGrid = new Grid<>(WorkItem.class, false);
+
+    public WorkQueueView(ObjectProvider<WorkQueue> workQueue, TicketService ticketService,
+                         SecurityService securityService, ReferenceDataService referenceDataService) {
+        this.workQueue = workQueue.getIfAvailable();
+        this.ticketService = ticketService;
+        this.securityService = securityService;
+        this.referenceDataService = referenceDataService;
+        this.referenceData = referenceDataService.current();
+
+        addClassName("work-queue-view");
+        setSpacing(true);
+        setPadding(true);
+        setSizeFull();
+
+        H2 title = new H2("My Queue");
+        title.addClassNames(LumoUtility.Margin.Bottom.MEDIUM);
+        add(title);
+
+        if (this.workQueue == null) {
+            add(new Span("The work queue is turned off."));
+            return;
+        }
+
+        add(createToolbar());
+        configureGrid();
+        add(queueGrid);
+
+        loadQueue();
+    }
+
+    private HorizontalLayout createToolbar() {
+        teamFilter.setItems(referenceData.getActiveCategories());
+        teamFilter.setItemLabelGenerator(ReferenceData.CategoryRef::name);
+        teamFilter.setPlaceholder("All teams");
+        teamFilter.addValueChangeListener(event -> loadQueue());
+
+        Button pullButton = new Button("Pull Next", VaadinIcon.HAND.create());
+        pullButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        pullButton.addClickListener(event -> pullNext());
+
+        Button refreshButton = new Button("Refresh", VaadinIcon.REFRESH.create());
+        refreshButton.addClickListener(event -> loadQueue());
+
+        HorizontalLayout toolbar = new HorizontalLayout(teamFilter, pullButton, refreshButton);
+        toolbar.setDefaultVerticalComponentAlignment(FlexComponent.Alignment.BASELINE);
+        return toolbar;
+    }
+
+    private void configureGrid() {
+        queueGrid.setWidthFull();
+        queueGrid.setHeight("600px");
+
+        queueGrid.addColumn(item -> item.ticket().getTitle())
+                .setHeader("Title")
+                .setAutoWidth(true)
+                .setFlexGrow(1);
+
+        queueGrid.addColumn(item -> item.ticket().getPriority().name())
+                .setHeader("Priority")
+                .setAutoWidth(true);
+
+        queueGrid.addColumn(WorkItem::dueAt)
+                .setHeader("Start By")
+                .setAutoWidth(true);
+
+        queueGrid.addColumn(item -> referenceData.categoryName(item.ticket().getCategory()))
+                .setHeader("Category")
+                .setAutoWidth(true);
+
+        queueGrid.addColumn(item -> referenceData.buildingName(item.ticket().getBuilding()))
+                .setHeader("Building")
+                .setAutoWidth(true);
+
+        queueGrid.addColumn(item -> item.assignedToMe() ? "Assigned to me" : "Team")
+                .setHeader("Queue")
+                .setAutoWidth(true);
+
+        queueGrid.addComponentColumn(item -> {
+            Button claimButton = new Button("Claim");
+            claimButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
+            claimButton.addClickListener(event -> claim(item.ticket()));
+            return claimButton;
+        }).setAutoWidth(true);
+    }
+
+    private void loadQueue() {
+        referenceData = referenceDataService.current();
+        currentUser().ifPresent(user -> queueGrid.setItems(workQueue.peek(user, selectedTeams(), PAGE_SIZE)));
+    }
+
+    private void pullNext() {
+        currentUser().ifPresent(user -> {
+            Optional<Ticket> ticket = workQueue.pullNext(user, selectedTeams());
+            Notification.show(ticket.map(claimed -> "Started \"" + claimed.getTitle() + "\"")
+                    .orElse("Nothing to pull right now"));
+            loadQueue();
+        });
+    }
+
+    private void claim(Ticket ticket) {
+        currentUser().ifPresent(user -> {
+            boolean claimed = ticketService.claimTicket(ticket.getId(), user).isPresent();
+            Notification.show(claimed ? "Started \"" + ticket.getTitle() + "\""
+                    : "Someone else has already taken this ticket");
+            loadQueue();
+        });
+    }
+
+    private List<Long> selectedTeams() {
+        return teamFilter.getSelectedItems().stream().map(ReferenceData.CategoryRef::id).toList();
+    }
+
+    private Optional<User> currentUser() {
+        return securityService.getAuthenticatedUser();
+    }
+}
@@ -2,6 +2,8 @@ package com.maintenance.ui.views.reports;
 
 import com.maintenance.entity.Ticket;
 import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataService;
 import com.maintenance.service.TicketService;
 import com.maintenance.ui.components.TicketChart;
 import com.vaadin.flow.component.button.Button;
@@ -29,6 +31,10 @@ import java.util.Map;
 public class ReportsView extends VerticalLayout {
     
     private final TicketService ticketService;
+    private final ReferenceDataService referenceDataService;
+    
+    // Names for the grid cells, taken again with each reload of the tickets
+    private ReferenceData referenceData;
     
     private final DatePicker startDatePicker;
     private final DatePicker endDatePicker;
@@ -40,8 +46,10 @@ public class ReportsView extends VerticalLayout {
     
     private final Grid<Ticket> ticketGrid;
     
-    public ReportsView(TicketService ticketService) {
+    public ReportsView(TicketService ticketService, ReferenceDataService referenceDataService) {
         this.ticketService = ticketService;
+        this.referenceDataService = referenceDataService;
+        this.referenceData = referenceDataService.current();
         
         addClassName("reports-view");
         setSpacing(true);
@@ -131,7 +139,7 @@ public class ReportsView extends VerticalLayout {
                 .setHeader("Priority")
                 .setAutoWidth(true);
         
-        ticketGrid.addColumn(ticket -> ticket.getCategory().getName())
+        ticketGrid.addColumn(ticket -> referenceData.categoryName(ticket.getCategory()))
                 .setHeader("Category")
                 .setAutoWidth(true);
         
@@ -139,12 +147,7 @@ public class ReportsView extends VerticalLayout {
                 .setHeader("Reporter")
                 .setAutoWidth(true);
         
-        ticketGrid.addColumn(ticket -> {
-                    if (ticket.getAssignee() != null) {
-                        return ticket.getAssignee().getFullName();
-                    }
-                    return "Unassigned";
-                })
+        ticketGrid.addColumn(ticket -> referenceData.assigneeName(ticket.getAssignee()))
                 .setHeader("Assignee")
                 .setAutoWidth(true);
         
@@ -181,6 +184,7 @@ public class ReportsView extends VerticalLayout {
     }
     
     private void loadTicketsTable() {
+        referenceData = referenceDataService.current();
         List<Ticket> tickets = ticketService.findAllTickets();
         
         // Filter by date range if specified
@@ -3,6 +3,8 @@ package com.maintenance.ui.views.tickets;
 import com.maintenance.entity.Ticket;
 import com.maintenance.entity.enums.TicketStatus;
 import com.maintenance.security.SecurityService;
+import com.maintenance.service.ReferenceData;
+import com.maintenance.service.ReferenceDataService;
 import com.maintenance.service.TicketService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -26,14 +28,21 @@ public class TicketView extends VerticalLayout {
     
     private final TicketService ticketService;
     private final SecurityService securityService;
+    private final ReferenceDataService referenceDataService;
+    
+    // Names for the grid cells, taken again with each reload of the tickets
+    private ReferenceData referenceData;
     
     private final Grid<Ticket> ticketGrid;
     private final Button createButton;
     private final Button refreshButton;
     
-    public TicketView(TicketService ticketService, SecurityService securityService) {
+    public TicketView(TicketService ticketService, SecurityService securityService,
+                      ReferenceDataService referenceDataService) {
         this.ticketService = ticketService;
         this.securityService = securityService;
+        this.referenceDataService = referenceDataService;
+        this.referenceData = referenceDataService.current();
         
         addClassName("tickets-view");
         setSpacing(true);
@@ -101,7 +110,7 @@ public class TicketView extends VerticalLayout {
                 .setHeader("Priority")
                 .setAutoWidth(true);
         
-        grid.addColumn(ticket -> ticket.getCategory().getName())
+        grid.addColumn(ticket -> referenceData.categoryName(ticket.getCategory()))
                 .setHeader("Category")
                 .setAutoWidth(true);
         
@@ -109,7 +118,7 @@ public class TicketView extends VerticalLayout {
                 .setHeader("Reporter")
                 .setAutoWidth(true);
         
-        grid.addColumn(ticket -> ticket.getBuilding().getName())
+        grid.addColumn(ticket -> referenceData.buildingName(ticket.getBuilding()))
                 .setHeader("Building")
                 .setAutoWidth(true);
         
@@ -119,12 +128,7 @@ public class TicketView extends VerticalLayout {
         
         // Additional columns for admins and technicians
         if (securityService.isAdmin() || securityService.isTechnician()) {
-            grid.addColumn(ticket -> {
-                        if (ticket.getAssignee() != null) {
-                            return ticket.getAssignee().getFullName();
-                        }
-                        return "Unassigned";
-                    })
+            grid.addColumn(ticket -> referenceData.assigneeName(ticket.getAssignee()))
                     .setHeader("Assignee")
                     .setAutoWidth(true);
             
@@ -135,6 +139,7 @@ public class TicketView extends VerticalLayout {
     }
     
     private void loadTickets() {
+        referenceData = referenceDataService.current();
         List<Ticket> tickets;
         
         // Load tickets based on user role
@@ -0,0 +1,34 @@
+package com.maintenance.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // Whole warm-up budget; whatever is left when it runs out is skipped and readiness turns UP anyway
+    private Duration timeout = Duration.ofSeconds(90);
+
+    // Requests sent to each endpoint; a few hundred get the hot paths through C1 and most of them to C2
+    private int iterations = 300;
+
+    // Parallel synthetic clients, kept low so warm-up does not queue on the connection pool
+    private int concurrency = 4;
+
+    // Read-only endpoints to exercise, with the query string they are called with
+    private List<String> endpoints = new ArrayList<>(List.of(
+            "/api/tickets?page=0&size=20",
+            "/api/tickets/statistics",
+            "/api/buildings?page=0&size=20",
+            "/api/auth/me"));
+
+    // Account the synthetic requests authenticate as; the first active admin when empty
+    private String username = "";
+}
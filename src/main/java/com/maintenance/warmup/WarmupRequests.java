@@ -0,0 +1,44 @@
+package com.maintenance.warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Marks the synthetic requests {@link WarmupRunner} sends, so the rate limiter lets them
+ * through instead of spending the warm-up account's allowance. They carry a random secret in
+ * {@link #HEADER} that exists only while the warm-up is sending, and only in those requests.
+ */
+public final class WarmupRequests {
+
+    public static final String HEADER = "X-Warmup-Secret";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static volatile String secret;
+
+    private WarmupRequests() {
+    }
+
+    /**
+     * Whether a request with this header value was sent by the running warm-up.
+     */
+    public static boolean isWarmup(String headerValue) {
+        String current = secret;
+        return current != null && headerValue != null
+                && MessageDigest.isEqual(current.getBytes(StandardCharsets.UTF_8),
+                        headerValue.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String open() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        secret = HexFormat.of().formatHex(bytes);
+        return secret;
+    }
+
+    static void close() {
+        secret = null;
+    }
+}
@@ -0,0 +1,332 @@
+package com.maintenance.warmup;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Role;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.security.JwtTokenProvider;
+import com.maintenance.service.BuildingService;
+import com.maintenance.service.ReferenceDataService;
+import com.maintenance.service.TicketService;
+import com.maintenance.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the application up before it takes traffic. Application runners finish before Spring
+ * Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so {@code /actuator/health/readiness}
+ * reports OUT_OF_SERVICE until this is done or its time budget runs out.
+ *
+ * <p>Steps, in order: load reference data (buildings, rooms, categories, technicians), fill
+ * the statistics caches, run every JPQL query in {@link TicketRepository} once so Hibernate
+ * has their plans cached, and send synthetic requests to the hot endpoints so Tomcat, the
+ * security filters, Jackson and the services are JIT compiled. Publishes
+ * {@code app.warmup.progress}, {@code app.warmup.step} and {@code app.warmup.requests}.
+ */
+@Component
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(WarmupProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String STEP = "app.warmup.step";
+    static final String REQUESTS = "app.warmup.requests";
+
+    private static final int STEPS = 4;
+
+    private final WarmupProperties properties;
+    private final BuildingService buildingService;
+    private final TicketService ticketService;
+    private final UserService userService;
+    private final ReferenceDataService referenceDataService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger finishedSteps = new AtomicInteger();
+    private Instant deadline;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("app.warmup.progress", finishedSteps, steps -> (double) steps.get() / STEPS)
+                .description("Share of the start-up warm-up steps finished")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        deadline = Instant.now().plus(properties.getTimeout());
+        log.info("Warming up for at most {} s before reporting ready", properties.getTimeout().toSeconds());
+
+        User user = warmupUser();
+        boolean inTime = step("reference-data", this::loadReferenceData)
+                && step("caches", this::primeCaches)
+                && step("queries", () -> runTicketQueries(user))
+                && step("endpoints", () -> exerciseEndpoints(user));
+
+        log.info("Warm-up {} in {} ms", inTime ? "finished" : "cut short",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Runs one step and records it; returns false once the time budget is spent.
+     */
+    private boolean step(String name, Runnable work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "completed";
+        try {
+            checkDeadline();
+            work.run();
+            log.info("Warm-up step {} done", name);
+        } catch (WarmupTimeoutException ex) {
+            outcome = "timed-out";
+            log.warn("Warm-up ran out of time in step {}, skipping the rest", name);
+        } catch (RuntimeException ex) {
+            outcome = "failed";
+            log.warn("Warm-up step {} failed: {}", name, ex.getMessage());
+        } finally {
+            sample.stop(Timer.builder(STEP)
+                    .description("Time spent in each start-up warm-up step")
+                    .tags("step", name, "outcome", outcome)
+                    .register(meterRegistry));
+            if (!"timed-out".equals(outcome)) {
+                finishedSteps.incrementAndGet();
+            }
+        }
+        return !"timed-out".equals(outcome);
+    }
+
+    private void loadReferenceData() {
+        for (Building building : buildingService.findActiveBuildings()) {
+            checkDeadline();
+            buildingService.findById(building.getId());
+        }
+        referenceDataService.current();
+    }
+
+    private void primeCaches() {
+        buildingService.countAllBuildings();
+        buildingService.countActiveBuildings();
+        ticketService.countAllTickets();
+        for (TicketStatus status : TicketStatus.values()) {
+            ticketService.countTicketsByStatus(status);
+        }
+        checkDeadline();
+        ticketService.countOverdueTickets();
+        ticketService.getTicketCountByStatus();
+        ticketService.getTicketCountByPriority();
+        ticketService.getTicketCountByCategory();
+        // The period ReportsView asks for
+        ticketService.getMonthlyTicketCount(12);
+    }
+
+    /**
+     * Spring Data only parses these at start-up; running them once also caches the SQL
+     * translation. Derived queries are covered by the endpoint step, and updates are left alone.
+     */
+    private void runTicketQueries(User user) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        int executed = 0;
+        for (Method method : TicketRepository.class.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query == null || query.nativeQuery() || method.isAnnotationPresent(Modifying.class)) {
+                continue;
+            }
+            checkDeadline();
+            try {
+                transaction.executeWithoutResult(status -> runQuery(method, query.value(), user));
+                executed++;
+            } catch (RuntimeException ex) {
+                log.warn("Could not warm up TicketRepository.{}: {}", method.getName(), ex.getMessage());
+            }
+        }
+        log.debug("Ran {} TicketRepository queries", executed);
+    }
+
+    private void runQuery(Method method, String jpql, User user) {
+        var query = entityManager.createQuery(jpql);
+        for (Parameter parameter : method.getParameters()) {
+            Param param = parameter.getAnnotation(Param.class);
+            if (param != null) {
+                query.setParameter(param.value(), sampleValue(parameter.getParameterizedType(), user));
+            }
+        }
+        // Limiting a collection fetch would make Hibernate paginate in memory
+        if (!jpql.contains("FETCH")) {
+            query.setMaxResults(1);
+        }
+        query.getResultList();
+    }
+
+    private static Object sampleValue(Type genericType, User user) {
+        if (genericType instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            return List.of(sampleValue(parameterized.getActualTypeArguments()[0], user));
+        }
+        Class<?> type = (Class<?>) genericType;
+        if (type == User.class) {
+            return user;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == String.class) {
+            return "warm-up";
+        }
+        if (type == Long.class || type == long.class) {
+            return 0L;
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        throw new IllegalArgumentException("No sample value for parameter type " + genericType.getTypeName());
+    }
+
+    private void exerciseEndpoints(User user) {
+        if (user == null) {
+            log.info("No active admin account, skipping the endpoint warm-up");
+            return;
+        }
+        if (!(applicationContext instanceof WebServerApplicationContext webContext)) {
+            return;
+        }
+
+        String token = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user.getUsername(), null, List.of()));
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort();
+        // Exempts these requests from the rate limit, which would otherwise refuse most of them
+        String secret = WarmupRequests.open();
+        List<HttpRequest> requests = properties.getEndpoints().stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(WarmupRequests.HEADER, secret)
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build())
+                .toList();
+        if (requests.isEmpty()) {
+            WarmupRequests.close();
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Counter succeeded = requestCounter("success");
+        Counter failed = requestCounter("error");
+        AtomicInteger remaining = new AtomicInteger(properties.getIterations() * requests.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()),
+                new CustomizableThreadFactory("warmup-"));
+        for (int i = 0; i < Math.max(1, properties.getConcurrency()); i++) {
+            executor.execute(() -> {
+                int next;
+                while ((next = remaining.decrementAndGet()) >= 0
+                        && Instant.now().isBefore(deadline) && !Thread.currentThread().isInterrupted()) {
+                    send(client, requests.get(next % requests.size()), succeeded, failed);
+                }
+            });
+        }
+        executor.shutdown();
+
+        try {
+            long millisLeft = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+            if (!executor.awaitTermination(millisLeft, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            WarmupRequests.close();
+        }
+        log.info("Sent {} warm-up requests ({} failed)", (long) (succeeded.count() + failed.count()), (long) failed.count());
+        if (remaining.get() > 0) {
+            throw new WarmupTimeoutException();
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, Counter succeeded, Counter failed) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            (response.statusCode() < 400 ? succeeded : failed).increment();
+        } catch (IOException ex) {
+            failed.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Counter requestCounter(String outcome) {
+        return Counter.builder(REQUESTS)
+                .description("Synthetic requests sent to warm up the hot endpoints")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private User warmupUser() {
+        if (StringUtils.hasText(properties.getUsername())) {
+            return userService.findByUsername(properties.getUsername()).orElse(null);
+        }
+        return userService.findUsersByRole(Role.ADMIN).stream()
+                .filter(user -> Boolean.TRUE.equals(user.getIsActive()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void checkDeadline() {
+        if (Instant.now().isAfter(deadline)) {
+            throw new WarmupTimeoutException();
+        }
+    }
+
+    private static final class WarmupTimeoutException extends RuntimeException {
+
+        WarmupTimeoutException() {
+            super("Warm-up time budget spent", null, false, false);
+        }
+    }
+}
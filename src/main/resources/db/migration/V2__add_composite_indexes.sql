@@ -0,0 +1,69 @@
+-- Composite and covering indexes for the repository queries
+-- Applied on top of the baseline created from database-schema.sql (baseline-on-migrate)
+
+-- Tickets
+ALTER TABLE tickets
+    -- findOverdueTicketsByAssignee, countByAssigneeAndStatus, findByAssigneeAndStatus,
+    -- countTicketsByStatusForAssignee
+    ADD INDEX idx_tickets_assignee_status_due (assignee_id, status, estimated_completion),
+    -- findOverdueTickets, findTicketsDueSoon, findByStatusInAndEstimatedCompletionBefore
+    ADD INDEX idx_tickets_status_due (status, estimated_completion),
+    -- findUnassignedTickets (assignee_id IS NULL AND status = 'OPEN')
+    ADD INDEX idx_tickets_status_assignee_created (status, assignee_id, created_at),
+    -- countByReporterAndStatus, countTicketsByStatusForReporter, findByReporter ordered by creation
+    ADD INDEX idx_tickets_reporter_status (reporter_id, status),
+    ADD INDEX idx_tickets_reporter_created (reporter_id, created_at),
+    -- findByBuildingAndStatus, BuildingRepository active/overdue ticket lookups
+    ADD INDEX idx_tickets_building_status_due (building_id, status, estimated_completion),
+    -- countTicketsByCategory
+    ADD INDEX idx_tickets_category_status (category_id, status),
+    -- countTicketsByMonth covering the created_at range scan
+    ADD INDEX idx_tickets_created_status (created_at, status),
+    -- findRecentlyUpdated (range + descending order without filesort)
+    ADD INDEX idx_tickets_updated_status (updated_at, status);
+
+-- Ticket status history
+ALTER TABLE ticket_status_history
+    -- findByTicketOrderByCreatedAtDesc, findRecentHistoryByTicket, findLatestHistoryByTicket
+    ADD INDEX idx_history_ticket_created (ticket_id, created_at),
+    -- findByChangedByOrderByCreatedAtDesc
+    ADD INDEX idx_history_changed_by_created (changed_by, created_at),
+    -- findByStatusChange
+    ADD INDEX idx_history_status_change_created (old_status, new_status, created_at);
+
+-- Comments
+ALTER TABLE comments
+    -- findByTicketOrderByCreatedAtDesc, findRecentCommentsByTicket
+    ADD INDEX idx_comments_ticket_created (ticket_id, created_at),
+    -- findByTicketAndIsInternalFalseOrderByCreatedAtDesc
+    ADD INDEX idx_comments_ticket_internal_created (ticket_id, is_internal, created_at),
+    -- findByAuthorOrderByCreatedAtDesc
+    ADD INDEX idx_comments_author_created (author_id, created_at);
+
+-- Attachments
+ALTER TABLE attachments
+    -- findByTicketOrderByUploadedAtDesc, getTotalFileSizeByTicket
+    ADD INDEX idx_attachments_ticket_uploaded (ticket_id, uploaded_at, file_size),
+    -- findByUploadedByOrderByUploadedAtDesc
+    ADD INDEX idx_attachments_uploader_uploaded (uploaded_by, uploaded_at);
+
+-- Users
+ALTER TABLE users
+    -- findAvailableTechnicians, findActiveByRole (ordered by name)
+    ADD INDEX idx_users_role_active_name (role, is_active, first_name, last_name);
+
+-- Rooms
+ALTER TABLE rooms
+    -- findByBuildingAndIsActiveTrue
+    ADD INDEX idx_rooms_building_active (building_id, is_active);
+
+-- Buildings
+ALTER TABLE buildings
+    -- findBuildingsWithActiveTicketsByManager, searchBuildingsByManager
+    ADD INDEX idx_buildings_manager_active (manager_id, is_active);
+
+-- Email notifications
+ALTER TABLE email_notifications
+    -- findByStatusOrderByCreatedAtAsc, findByStatusAndCreatedAtBeforeOrderByCreatedAtAsc,
+    -- findByStatusAndCreatedAtAfter
+    ADD INDEX idx_email_status_created (status, created_at);
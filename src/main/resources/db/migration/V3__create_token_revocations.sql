@@ -0,0 +1,19 @@
+-- Revoked JWTs: either one token by its jti (logout), or every token of a user issued
+-- before not_before (deactivation, password change). Rows are deleted once expires_at has
+-- passed, since by then every token they cover has expired on its own.
+CREATE TABLE token_revocations (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    jti VARCHAR(36),
+    username VARCHAR(50) NOT NULL,
+    not_before DATETIME(6),
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+
+    UNIQUE INDEX idx_token_revocations_jti (jti),
+    -- isRevoked for tokens whose username is in the Bloom filter
+    INDEX idx_token_revocations_username_not_before (username, not_before),
+    -- refresh of the Bloom filter from rows written by other instances
+    INDEX idx_token_revocations_created (created_at),
+    -- compaction
+    INDEX idx_token_revocations_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,19 @@
+-- Responses to mutating ticket requests sent with an Idempotency-Key header, per user. A row
+-- without response_status is a request still in progress, kept alive through heartbeat_at by
+-- the instance running it. Keys are compared byte for byte. Bodies are stored gzip-compressed.
+CREATE TABLE idempotency_keys (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    fingerprint CHAR(64) NOT NULL,
+    response_status SMALLINT,
+    response_content_type VARCHAR(100),
+    response_body MEDIUMBLOB,
+    created_at DATETIME(6) NOT NULL,
+    heartbeat_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+
+    UNIQUE INDEX idx_idempotency_keys_user_key (username, idempotency_key),
+    -- cleanup
+    INDEX idx_idempotency_keys_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,6 @@
+-- Tickets linked to an earlier open ticket reporting the same problem, set when a new ticket is
+-- auto-linked as a near-duplicate.
+ALTER TABLE tickets
+    ADD COLUMN duplicate_of_id BIGINT NULL,
+    ADD CONSTRAINT fk_tickets_duplicate_of FOREIGN KEY (duplicate_of_id) REFERENCES tickets (id) ON DELETE SET NULL,
+    ADD INDEX idx_tickets_duplicate_of (duplicate_of_id);
@@ -0,0 +1,34 @@
+package com.maintenance;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Base for tests against a real MySQL. One container serves the whole run; it is created
+ * from database-schema.sql and migrated by Flyway, like a deployed database. Without Docker
+ * the tests are skipped.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlIntegrationTest {
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withDatabaseName("maintenance_system")
+            .withCopyFileToContainer(MountableFile.forHostPath("database-schema.sql"),
+                    "/docker-entrypoint-initdb.d/database-schema.sql");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        // Started here rather than by @Container so that every subclass shares it
+        MYSQL.start();
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        // The second-level cache would hide statements from the tests that look at them
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+}
@@ -0,0 +1,127 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssignmentEngineTest {
+
+    private static final long BUILDING = 10;
+    private static final long CATEGORY = 3;
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AssignmentEngine engine = new AssignmentEngine(ticketRepository, userRepository,
+            new AssignmentProperties(), new SimpleMeterRegistry());
+
+    private final List<TicketRepository.OpenAssignmentRow> openAssignments = new ArrayList<>();
+    private final List<Object[]> buildingCounts = new ArrayList<>();
+    private final List<Object[]> categoryCounts = new ArrayList<>();
+
+    @Test
+    void prefersTheLowestCostAfterSlackOverTheLeastLoadedOfEachAffinity() {
+        // With the default slack of 4 for the building and 2 for the category:
+        // 1 knows the building, load 5, cost 1; 2 knows both, load 6, cost 0;
+        // 3 knows the category, load 3, cost 1; 4 knows neither, load 2, cost 2
+        technicians(1, 2, 3, 4);
+        familiar(buildingCounts, 1, BUILDING);
+        familiar(buildingCounts, 2, BUILDING);
+        familiar(categoryCounts, 2, CATEGORY);
+        familiar(categoryCounts, 3, CATEGORY);
+        loaded(1, Priority.HIGH, Priority.LOW);
+        loaded(2, Priority.HIGH, Priority.MEDIUM);
+        loaded(3, Priority.MEDIUM, Priority.LOW);
+        loaded(4, Priority.MEDIUM);
+        engine.resync();
+
+        assertThat(engine.assign(ticket(100, Priority.LOW))).contains(2L);
+        // Now at cost 1, tied with 1 and 3; the lower id wins
+        assertThat(engine.assign(ticket(101, Priority.LOW))).contains(1L);
+    }
+
+    @Test
+    void prefersTheLeastLoadedWithoutAnyAffinity() {
+        technicians(1, 2);
+        loaded(1, Priority.URGENT);
+        engine.resync();
+
+        assertThat(engine.assign(ticket(100, Priority.HIGH))).contains(2L);
+        assertThat(engine.loadOf(2L)).isEqualTo(4);
+        assertThat(engine.assign(ticket(101, Priority.HIGH))).contains(2L);
+        // Both at 8: the lower id
+        assertThat(engine.assign(ticket(102, Priority.HIGH))).contains(1L);
+    }
+
+    @Test
+    void assignsNobodyWithoutTechnicians() {
+        engine.resync();
+
+        assertThat(engine.assign(ticket(100, Priority.LOW))).isEmpty();
+    }
+
+    private void technicians(long... ids) {
+        List<User> technicians = new ArrayList<>();
+        for (long id : ids) {
+            User user = new User();
+            user.setId(id);
+            technicians.add(user);
+        }
+        when(userRepository.findAvailableTechnicians()).thenReturn(technicians);
+        when(ticketRepository.countAssignmentsByBuildingSince(any())).thenReturn(buildingCounts);
+        when(ticketRepository.countAssignmentsByCategorySince(any())).thenReturn(categoryCounts);
+        when(ticketRepository.findOpenAssignments()).thenReturn(openAssignments);
+    }
+
+    private static void familiar(List<Object[]> counts, long technicianId, long id) {
+        counts.add(new Object[] {technicianId, id, 5L});
+    }
+
+    private void loaded(long technicianId, Priority... priorities) {
+        for (Priority priority : priorities) {
+            long ticketId = openAssignments.size() + 1;
+            openAssignments.add(new TicketRepository.OpenAssignmentRow() {
+                @Override
+                public Long getId() {
+                    return ticketId;
+                }
+
+                @Override
+                public Long getAssigneeId() {
+                    return technicianId;
+                }
+
+                @Override
+                public Priority getPriority() {
+                    return priority;
+                }
+            });
+        }
+    }
+
+    private static Ticket ticket(long id, Priority priority) {
+        Building building = new Building();
+        building.setId(BUILDING);
+        TicketCategory category = new TicketCategory();
+        category.setId(CATEGORY);
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setBuilding(building);
+        ticket.setCategory(category);
+        ticket.setPriority(priority);
+        return ticket;
+    }
+}
@@ -0,0 +1,126 @@
+package com.maintenance.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void peeksInKeyOrderWithTiesToTheLowerId() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.put(5, 30);
+        heap.put(3, 10);
+        heap.put(9, 20);
+        heap.put(1, 20);
+        heap.put(7, 10);
+
+        assertThat(heap.peek()).isEqualTo(3);
+        assertThat(heap.peek(3)).containsExactly(3, 7, 1);
+        assertThat(heap.peek(10)).containsExactly(3, 7, 1, 9, 5);
+        assertThat(heap.peek(0)).isEmpty();
+        // Peeking changes nothing
+        assertThat(heap.size()).isEqualTo(5);
+        assertThat(heap.peek(5)).containsExactly(3, 7, 1, 9, 5);
+    }
+
+    @Test
+    void movesAnIdWhenItsKeyChanges() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        for (long id = 1; id <= 7; id++) {
+            heap.put(id, id * 10);
+        }
+
+        heap.put(7, 5);
+        heap.put(1, 100);
+
+        assertThat(heap.size()).isEqualTo(7);
+        assertThat(heap.keyOf(7)).isEqualTo(5);
+        assertThat(heap.peek(7)).containsExactly(7, 2, 3, 4, 5, 6, 1);
+    }
+
+    @Test
+    void removalCanMoveTheLastEntryUpRatherThanDown() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        // Positions: 0 -> 1, 1 -> 100, 2 -> 2, 3 -> 101, 4 -> 102, 5 -> 3, 6 -> 4
+        heap.put(1, 1);
+        heap.put(2, 100);
+        heap.put(3, 2);
+        heap.put(4, 101);
+        heap.put(5, 102);
+        heap.put(6, 3);
+        heap.put(7, 4);
+
+        // The last entry (key 4) fills the removed slot under key 100 and has to rise above it
+        heap.remove(4);
+
+        assertThat(heap.contains(4)).isFalse();
+        assertThat(heap.peek(6)).containsExactly(1, 3, 6, 7, 2, 5);
+        heap.remove(1);
+        heap.remove(3);
+        assertThat(heap.peek()).isEqualTo(6);
+        assertThat(heap.peek(10)).containsExactly(6, 7, 2, 5);
+    }
+
+    @Test
+    void removingTheLastOrAnAbsentIdIsHarmless() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.put(1, 1);
+        heap.put(2, 2);
+
+        heap.remove(2);
+        heap.remove(2);
+        heap.remove(3);
+
+        assertThat(heap.peek(5)).containsExactly(1);
+        heap.remove(1);
+        assertThat(heap.isEmpty()).isTrue();
+        assertThat(heap.peek(5)).isEmpty();
+    }
+
+    @Test
+    void agreesWithASortedListThroughRandomPutsAndRemoves() {
+        Random random = new Random(3);
+        IndexedMinHeap heap = new IndexedMinHeap();
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                heap.remove(id);
+                expected.remove(id);
+            } else {
+                // Few distinct keys, so ties are common
+                long key = random.nextInt(50);
+                heap.put(id, key);
+                expected.put(id, key);
+            }
+
+            if (step % 100 == 0) {
+                List<Long> sorted = sorted(expected);
+                int n = random.nextInt(sorted.size() + 2);
+                assertThat(heap.size()).isEqualTo(sorted.size());
+                assertThat(heap.peek(n)).as("step %d", step)
+                        .containsExactly(sorted.subList(0, Math.min(n, sorted.size())).stream()
+                                .mapToLong(Long::longValue).toArray());
+                if (!sorted.isEmpty()) {
+                    assertThat(heap.peek()).isEqualTo(sorted.get(0));
+                }
+            }
+        }
+        expected.forEach((id, key) -> assertThat(heap.keyOf(id)).isEqualTo(key));
+    }
+
+    private static List<Long> sorted(Map<Long, Long> keys) {
+        List<Long> ids = new ArrayList<>(keys.keySet());
+        ids.sort(Comparator.comparing((Long id) -> keys.get(id)).thenComparingLong(id -> id));
+        return ids;
+    }
+}
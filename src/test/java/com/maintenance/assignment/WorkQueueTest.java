@@ -0,0 +1,163 @@
+package com.maintenance.assignment;
+
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Priority;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.service.TicketChangedEvent;
+import com.maintenance.service.TicketService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final WorkQueue workQueue = new WorkQueue(ticketRepository, mock(TicketService.class),
+            new WorkQueueProperties(), new SimpleMeterRegistry());
+    private final Map<Long, Ticket> tickets = new HashMap<>();
+    private final User technician = user(7);
+
+    @BeforeEach
+    void loadTicketsFromTheMap() {
+        when(ticketRepository.findAllByIdWithDetails(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(tickets::get).filter(Objects::nonNull).toList();
+        });
+    }
+
+    @Test
+    void mergesTheTechniciansAndTheirTeamsQueuesByDueTime() {
+        // Medium tickets are due three days after creation, so creation order is due order
+        open(1, 7L, 1L, T0.plusHours(5));
+        open(2, null, 1L, T0.plusHours(1));
+        open(3, null, 2L, T0.plusHours(2));
+        open(4, 7L, 2L, T0.plusHours(3));
+        open(5, null, 1L, T0.plusHours(4));
+        open(6, null, 2L, T0.plusHours(6));
+        // Another team's and another technician's tickets stay out
+        open(7, null, 3L, T0);
+        open(8, 9L, 1L, T0);
+
+        assertThat(ids(workQueue.peek(technician, Set.of(1L, 2L), 10))).containsExactly(2L, 3L, 4L, 5L, 1L, 6L);
+        assertThat(ids(workQueue.peek(technician, Set.of(1L, 2L), 4))).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(ids(workQueue.peek(technician, Set.of(2L), 10))).containsExactly(3L, 4L, 1L, 6L);
+        // Without teams, every team's unassigned tickets
+        assertThat(ids(workQueue.peek(technician, Set.of(), 3))).containsExactly(7L, 2L, 3L);
+    }
+
+    @Test
+    void ordersByPriorityDeadlineBeforeAge() {
+        Ticket low = open(1, null, 1L, T0.minusDays(6));
+        low.setPriority(Priority.LOW);
+        Ticket urgent = open(2, null, 1L, T0);
+        urgent.setPriority(Priority.URGENT);
+        Ticket medium = open(3, null, 1L, T0.minusDays(2));
+        place(low);
+        place(urgent);
+        place(medium);
+
+        // The urgent one is due in 4 hours; the week-old low one and the two-day-old medium one
+        // both in a day, so those two go by id
+        assertThat(ids(workQueue.peek(technician, Set.of(1L), 10))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void followsTicketsAsTheyChange() {
+        Ticket first = open(1, null, 1L, T0);
+        open(2, null, 1L, T0.plusHours(1));
+        Ticket third = open(3, null, 1L, T0.plusHours(2));
+
+        // Claimed by the technician: moves from the team's queue to theirs, keeping its place
+        first.setAssignee(technician);
+        place(first);
+        // Resolved: leaves the queues
+        third.setStatus(TicketStatus.RESOLVED);
+        place(third);
+        // Deleted
+        workQueue.onTicketChanged(new TicketChangedEvent(tickets.get(2L), true));
+        open(4, null, 1L, T0.plusHours(3));
+
+        List<WorkItem> items = workQueue.peek(technician, Set.of(1L), 10);
+        assertThat(ids(items)).containsExactly(1L, 4L);
+        assertThat(items.get(0).assignedToMe()).isTrue();
+        assertThat(items.get(1).assignedToMe()).isFalse();
+    }
+
+    @Test
+    void skipsAndDropsTicketsTakenThroughAnotherInstance() {
+        open(1, null, 1L, T0);
+        open(2, null, 1L, T0.plusHours(1));
+        // Claimed elsewhere; this instance has not heard yet
+        tickets.get(1L).setAssignee(user(9));
+        tickets.get(1L).setStatus(TicketStatus.IN_PROGRESS);
+
+        assertThat(ids(workQueue.peek(technician, Set.of(1L), 10))).containsExactly(2L);
+        assertThat(workQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesOutTicketsLinkedAsDuplicates() {
+        open(1, null, 1L, T0);
+        Ticket duplicate = ticketWithoutPlacing(2, null, 1L, T0.minusHours(1));
+        duplicate.setDuplicateOfId(1L);
+        place(duplicate);
+        // Linked after it was queued, for instance through another instance
+        Ticket linkedLater = open(3, 7L, 1L, T0.minusHours(2));
+        linkedLater.setDuplicateOfId(1L);
+
+        assertThat(ids(workQueue.peek(technician, Set.of(1L), 10))).containsExactly(1L);
+        assertThat(workQueue.size()).isEqualTo(1);
+    }
+
+    private Ticket open(long id, Long assigneeId, Long categoryId, LocalDateTime createdAt) {
+        Ticket ticket = ticketWithoutPlacing(id, assigneeId, categoryId, createdAt);
+        place(ticket);
+        return ticket;
+    }
+
+    private Ticket ticketWithoutPlacing(long id, Long assigneeId, Long categoryId, LocalDateTime createdAt) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setAssignee(assigneeId != null ? user(assigneeId) : null);
+        TicketCategory category = new TicketCategory();
+        category.setId(categoryId);
+        ticket.setCategory(category);
+        ticket.setPriority(Priority.MEDIUM);
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setCreatedAt(createdAt);
+        tickets.put(id, ticket);
+        return ticket;
+    }
+
+    private void place(Ticket ticket) {
+        workQueue.onTicketChanged(new TicketChangedEvent(ticket));
+    }
+
+    private static List<Long> ids(List<WorkItem> items) {
+        return items.stream().map(item -> item.ticket().getId()).toList();
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,157 @@
+package com.maintenance.datasource;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing through a web request, with a second in-memory H2 database standing in for the
+ * replica. The replica gets the table but never the rows, so a row found there was written
+ * through a replica connection.
+ */
+@SpringBootTest(classes = ReadReplicaRoutingTest.TestApplication.class, properties = {
+        // Keeps application.yml, and everything it switches on, out of this context
+        "spring.config.name=read-replica-routing-test",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false",
+        "app.read-replicas.enabled=true",
+        "app.read-replicas.lag-check=false",
+        "app.read-replicas.nodes[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.read-replicas.nodes[0].username=sa",
+        "app.read-replicas.nodes[0].password="
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;"
+            + "INIT=CREATE TABLE IF NOT EXISTS routing_probe (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50))";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void writeAfterReadInOneRequestGoesToThePrimary() throws Exception {
+        ReadWriteRoutingDataSource routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        long replicaReads = routing.replicaReads.sum();
+
+        mockMvc.perform(post("/probes").param("name", "after-read"))
+                .andExpect(status().isOk());
+
+        assertThat(routing.replicaReads.sum()).isGreaterThan(replicaReads);
+        String count = "SELECT COUNT(*) FROM routing_probe WHERE name = 'after-read'";
+        assertThat(new JdbcTemplate(dataSource).queryForObject(count, Integer.class)).isEqualTo(1);
+        assertThat(new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""))
+                .queryForObject(count, Integer.class)).isZero();
+    }
+
+    @Test
+    void refusesToStartWithOpenInView() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(ReadReplicaConfig.class)
+                .withPropertyValues("app.read-replicas.enabled=true")
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().rootCause().hasMessageContaining("spring.jpa.open-in-view=false"));
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, AopAutoConfiguration.class, JacksonAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class, WebMvcAutoConfiguration.class})
+    @EntityScan(basePackageClasses = ReadReplicaRoutingTest.class)
+    @Import({ReadReplicaConfig.class, ReadReplicaRoutingAspect.class, RecentWriters.class,
+            ProbeService.class, ProbeController.class})
+    static class TestApplication {
+    }
+
+    @Entity(name = "RoutingProbe")
+    @Table(name = "routing_probe")
+    public static class RoutingProbe {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String name;
+
+        protected RoutingProbe() {
+        }
+
+        RoutingProbe(String name) {
+            this.name = name;
+        }
+    }
+
+    @Service
+    @Transactional
+    public static class ProbeService {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public long count() {
+            return entityManager.createQuery("SELECT COUNT(p) FROM RoutingProbe p", Long.class).getSingleResult();
+        }
+
+        public void add(String name) {
+            entityManager.persist(new RoutingProbe(name));
+        }
+    }
+
+    @RestController
+    public static class ProbeController {
+
+        private final ProbeService probeService;
+
+        ProbeController(ProbeService probeService) {
+            this.probeService = probeService;
+        }
+
+        @PostMapping("/probes")
+        public long create(@RequestParam String name) {
+            long before = probeService.count();
+            probeService.add(name);
+            return before + 1;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.maintenance.duplicates;
+
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.service.TicketChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DuplicateDetectorTest {
+
+    private final DuplicateDetectionProperties properties = new DuplicateDetectionProperties();
+    private final DuplicateDetector detector = new DuplicateDetector(mock(TicketRepository.class), properties,
+            new SimpleMeterRegistry());
+
+    @Test
+    void findsTicketsOfTheSameBuildingAndCategoryOnly() {
+        index(ticket(1, 1, 1, "Water leaking under the kitchen sink in flat 4"));
+        index(ticket(2, 1, 2, "Water leaking under the kitchen sink in flat 4"));
+        index(ticket(3, 2, 1, "Water leaking under the kitchen sink in flat 4"));
+
+        assertThat(detector.findDuplicates(ticket(4, 1, 1, "Water leaks under kitchen sink, flat 4")))
+                .extracting(DuplicateCandidate::ticketId).containsExactly(1L);
+        // Never itself
+        assertThat(detector.findDuplicates(ticket(1, 1, 1, "Water leaking under the kitchen sink in flat 4")))
+                .isEmpty();
+    }
+
+    @Test
+    void dropsTicketsThatAreDeletedOrNoLongerOpen() {
+        Ticket resolved = ticket(1, 1, 1, "Broken window in the stairwell");
+        Ticket deleted = ticket(2, 1, 1, "Broken window in the stairwell");
+        index(resolved);
+        index(deleted);
+
+        resolved.setStatus(TicketStatus.RESOLVED);
+        index(resolved);
+        detector.onTicketChanged(new TicketChangedEvent(deleted, true));
+
+        assertThat(detector.findDuplicates(ticket(3, 1, 1, "Broken window in the stairwell"))).isEmpty();
+    }
+
+    @Test
+    void refreshDropsTicketsPastTheMaximumAge() {
+        Ticket old = ticket(1, 1, 1, "Heating not working in room 12");
+        old.setCreatedAt(LocalDateTime.now().minusDays(30));
+        Ticket recent = ticket(2, 1, 1, "Heating not working in room 12");
+        recent.setCreatedAt(LocalDateTime.now().minusDays(1));
+        index(old);
+        index(recent);
+
+        properties.setMaxAge(Duration.ofDays(7));
+        detector.refresh();
+
+        assertThat(detector.findDuplicates(ticket(3, 1, 1, "Heating not working in room 12")))
+                .extracting(DuplicateCandidate::ticketId).containsExactly(2L);
+    }
+
+    @Test
+    void findsNearCopiesAndSkipsUnrelatedTicketsAtTheConfiguredBandsAndRows() {
+        Random random = new Random(11);
+        int trials = 200;
+        int nearFound = 0;
+        int farFound = 0;
+        for (int trial = 0; trial < trials; trial++) {
+            // Each trial in a building of its own, so that trials cannot find one another
+            long building = trial + 1;
+            String[] words = IntStream.range(0, 20).mapToObj(i -> "word" + random.nextInt(100_000))
+                    .toArray(String[]::new);
+            String text = String.join(" ", words);
+            // The last two words replaced: 35 of 43 shingles shared, about 0.8. All but the first four: about 0.1
+            String near = replacedFrom(words, 18, random);
+            String far = replacedFrom(words, 4, random);
+
+            long id = trial * 3L;
+            index(ticket(id + 1, building, 1, near));
+            index(ticket(id + 2, building, 1, far));
+            for (DuplicateCandidate candidate : detector.findDuplicates(ticket(id, building, 1, text))) {
+                if (candidate.ticketId() == id + 1) {
+                    nearFound++;
+                } else if (candidate.ticketId() == id + 2) {
+                    farFound++;
+                }
+            }
+        }
+
+        assertThat(properties.getBands()).isEqualTo(8);
+        assertThat(properties.getRows()).isEqualTo(4);
+        assertThat(nearFound).isGreaterThanOrEqualTo(trials * 95 / 100);
+        assertThat(farFound).isLessThanOrEqualTo(trials * 2 / 100);
+    }
+
+    private static String replacedFrom(String[] words, int from, Random random) {
+        return IntStream.range(0, words.length)
+                .mapToObj(i -> i < from ? words[i] : "other" + random.nextInt(100_000))
+                .collect(Collectors.joining(" "));
+    }
+
+    private void index(Ticket ticket) {
+        detector.onTicketChanged(new TicketChangedEvent(ticket));
+    }
+
+    private static Ticket ticket(long id, long buildingId, long categoryId, String title) {
+        Building building = new Building();
+        building.setId(buildingId);
+        TicketCategory category = new TicketCategory();
+        category.setId(categoryId);
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setBuilding(building);
+        ticket.setCategory(category);
+        ticket.setTitle(title);
+        ticket.setCreatedAt(LocalDateTime.now());
+        return ticket;
+    }
+}
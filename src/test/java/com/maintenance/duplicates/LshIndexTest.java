@@ -0,0 +1,164 @@
+package com.maintenance.duplicates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LshIndexTest {
+
+    private static final int BANDS = 8;
+    private static final int ROWS = 4;
+    private static final long PARTITION = 42;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void findsATicketByItsOwnSignature() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        byte[] signature = randomSignature();
+        index.put(1, PARTITION, null, signature);
+
+        assertThat(index.query(PARTITION, signature, 0.5, -1, 5))
+                .containsExactly(new LshIndex.Match(1, 1.0));
+        assertThat(index.query(PARTITION, signature, 0.5, 1, 5)).isEmpty();
+        assertThat(index.query(PARTITION + 1, signature, 0.5, -1, 5)).isEmpty();
+    }
+
+    @Test
+    void putRemovePutAgain() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        byte[] first = randomSignature();
+        byte[] second = randomSignature();
+
+        index.put(1, PARTITION, null, first);
+        index.remove(1);
+        assertThat(index.size()).isZero();
+        assertThat(index.query(PARTITION, first, 0.5, -1, 5)).isEmpty();
+
+        index.put(1, PARTITION, null, second);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.query(PARTITION, first, 0.5, -1, 5)).isEmpty();
+        assertThat(index.query(PARTITION, second, 0.5, -1, 5)).extracting(LshIndex.Match::ticketId).containsExactly(1L);
+
+        // Removing twice, or what was never there, changes nothing
+        index.remove(1);
+        index.remove(1);
+        index.remove(2);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void putReplacesWhatWasIndexedBefore() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        byte[] first = randomSignature();
+        byte[] second = randomSignature();
+
+        index.put(1, PARTITION, null, first);
+        index.put(1, PARTITION + 1, null, second);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.query(PARTITION, first, 0.5, -1, 5)).isEmpty();
+        assertThat(index.query(PARTITION + 1, second, 0.5, -1, 5))
+                .extracting(LshIndex.Match::ticketId).containsExactly(1L);
+    }
+
+    @Test
+    void ordersMatchesBySimilarityAndKeepsTheLimit() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        byte[] signature = randomSignature();
+        // Sharing the first k bands, and nothing after them
+        for (int k = 1; k <= 6; k++) {
+            index.put(k, PARTITION, null, sharingBands(signature, k));
+        }
+
+        assertThat(index.query(PARTITION, signature, 0.0, -1, 3))
+                .extracting(LshIndex.Match::ticketId).containsExactly(6L, 5L, 4L);
+        // Half the values shared, less the chance agreements: just under 0.5
+        assertThat(index.query(PARTITION, signature, 0.4, -1, 10))
+                .extracting(LshIndex.Match::ticketId).containsExactly(6L, 5L, 4L);
+    }
+
+    @Test
+    void staysCorrectAndSmallThroughResizesAndTombstones() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        List<byte[]> signatures = new ArrayList<>();
+        for (int id = 0; id < 2_000; id++) {
+            signatures.add(randomSignature());
+        }
+
+        // Churn through many more tickets than are ever indexed at once, leaving tombstones behind
+        for (int id = 0; id < 2_000; id++) {
+            index.put(id, PARTITION, null, signatures.get(id));
+            if (id >= 50) {
+                index.remove(id - 50);
+            }
+        }
+        assertThat(index.size()).isEqualTo(50);
+        long churned = index.memoryBytes();
+
+        // Then grow well past the initial capacity, reusing the freed slots first
+        for (int id = 0; id < 1_950; id++) {
+            index.put(id, PARTITION, null, signatures.get(id));
+        }
+        assertThat(index.size()).isEqualTo(2_000);
+        for (int id = 0; id < 2_000; id++) {
+            assertThat(index.query(PARTITION, signatures.get(id), 0.9, -1, 5))
+                    .as("ticket %d", id)
+                    .extracting(LshIndex.Match::ticketId).containsExactly((long) id);
+        }
+
+        for (int id = 0; id < 2_000; id += 2) {
+            index.remove(id);
+        }
+        assertThat(index.size()).isEqualTo(1_000);
+        for (int id = 0; id < 2_000; id++) {
+            assertThat(index.query(PARTITION, signatures.get(id), 0.9, -1, 5)).as("ticket %d", id).hasSize(id % 2);
+        }
+
+        // Tombstones are dropped when the tables are rebuilt rather than growing them
+        assertThat(churned).isLessThan(64 * 1024);
+    }
+
+    @Test
+    void removesTicketsCreatedBeforeTheCutoff() {
+        LshIndex index = new LshIndex(BANDS, ROWS, 16);
+        byte[] old = randomSignature();
+        byte[] recent = randomSignature();
+        byte[] ageless = randomSignature();
+        index.put(1, PARTITION, 1_000L, old);
+        index.put(2, PARTITION, 2_000L, recent);
+        index.put(3, PARTITION, null, ageless);
+        index.put(4, PARTITION, 500L, randomSignature());
+        index.remove(4);
+
+        assertThat(index.removeCreatedBefore(1_500)).isEqualTo(1);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.query(PARTITION, old, 0.5, -1, 5)).isEmpty();
+        assertThat(index.query(PARTITION, recent, 0.5, -1, 5)).hasSize(1);
+        assertThat(index.query(PARTITION, ageless, 0.5, -1, 5)).hasSize(1);
+
+        // A freed slot taken by a new ticket carries the new ticket's age
+        index.put(5, PARTITION, 3_000L, old);
+        assertThat(index.removeCreatedBefore(2_500)).isEqualTo(1);
+        assertThat(index.query(PARTITION, old, 0.5, -1, 5)).extracting(LshIndex.Match::ticketId).containsExactly(5L);
+    }
+
+    private byte[] randomSignature() {
+        byte[] signature = new byte[BANDS * ROWS];
+        random.nextBytes(signature);
+        return signature;
+    }
+
+    private byte[] sharingBands(byte[] signature, int bands) {
+        byte[] other = new byte[signature.length];
+        for (int i = 0; i < other.length; i++) {
+            other[i] = i < bands * ROWS ? signature[i] : (byte) (signature[i] + 1);
+        }
+        return other;
+    }
+}
@@ -0,0 +1,70 @@
+package com.maintenance.duplicates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHasherTest {
+
+    @Test
+    void ignoresCaseStopWordsPunctuationAndWordEndings() {
+        MinHasher minHasher = new MinHasher(32);
+
+        assertThat(minHasher.signature("Water LEAKING under the sink!", null))
+                .isEqualTo(minHasher.signature("water leaks", "under sink"));
+    }
+
+    @Test
+    void hasNoSignatureWithoutWordsWorthComparing() {
+        MinHasher minHasher = new MinHasher(32);
+
+        assertThat(minHasher.signature(null, null)).isNull();
+        assertThat(minHasher.signature("", "  ")).isNull();
+        assertThat(minHasher.signature("It is in the", "a - ?")).isNull();
+    }
+
+    @Test
+    void correctsForValuesAgreeingByChance() {
+        byte[] signature = new byte[32];
+        byte[] same = signature.clone();
+        byte[] none = new byte[32];
+        byte[] half = signature.clone();
+        for (int i = 0; i < 32; i++) {
+            none[i] = 1;
+            if (i % 2 == 0) {
+                half[i] = 1;
+            }
+        }
+
+        assertThat(MinHasher.similarity(signature, same, 0)).isEqualTo(1.0);
+        assertThat(MinHasher.similarity(signature, none, 0)).isZero();
+        assertThat(MinHasher.similarity(signature, half, 0)).isCloseTo((0.5 - 1.0 / 256) / (1 - 1.0 / 256), within(1e-9));
+
+        byte[] stored = new byte[64];
+        System.arraycopy(signature, 0, stored, 32, 32);
+        assertThat(MinHasher.similarity(signature, stored, 32)).isEqualTo(1.0);
+    }
+
+    @Test
+    void estimatesTheJaccardSimilarityOfTheShingles() {
+        MinHasher minHasher = new MinHasher(512);
+        // 60 words and 59 pairs each, of which 40 words and 39 pairs are shared: 79 / 159
+        String first = words(0, 60);
+        String second = words(20, 80);
+
+        double similarity = MinHasher.similarity(minHasher.signature(first, null),
+                minHasher.signature(second, null), 0);
+
+        assertThat(similarity).isCloseTo(79.0 / 159, within(0.08));
+        assertThat(MinHasher.similarity(minHasher.signature(first, null),
+                minHasher.signature(words(100, 160), null), 0)).isLessThan(0.08);
+    }
+
+    static String words(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "w" + i).collect(Collectors.joining(" "));
+    }
+}
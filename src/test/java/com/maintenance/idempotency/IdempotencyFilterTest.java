@@ -0,0 +1,194 @@
+package com.maintenance.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"title\":\"Lift stuck on floor 3\"}";
+
+    private final IdempotencyStore store = mock(IdempotencyStore.class);
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void signIn() {
+        properties.setMaxBodySize(DataSize.ofBytes(64));
+        filter = new IdempotencyFilter(store, properties, new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void runsTheFirstRequestAndRecordsItsResponse() throws Exception {
+        when(store.claim(eq("alice"), eq("k1"), anyString())).thenReturn(IdempotencyStore.Claim.ACQUIRED);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(keyed(BODY), response, (request, servletResponse) -> {
+            // The controller still gets the body the filter read
+            assertThat(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+            ((HttpServletResponse) servletResponse).setStatus(201);
+            servletResponse.setContentType("application/json");
+            servletResponse.getWriter().write("{\"id\":1}");
+        });
+
+        ArgumentCaptor<IdempotencyStore.StoredResponse> recorded = ArgumentCaptor.forClass(IdempotencyStore.StoredResponse.class);
+        verify(store).complete(eq("alice"), eq("k1"), recorded.capture());
+        assertThat(recorded.getValue().status()).isEqualTo(201);
+        assertThat(new String(recorded.getValue().body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void releasesTheKeyWhenTheRequestFailsOnOurSide() throws Exception {
+        when(store.claim(eq("alice"), eq("k1"), anyString())).thenReturn(IdempotencyStore.Claim.ACQUIRED);
+
+        filter.doFilter(keyed(BODY), new MockHttpServletResponse(), (request, response) ->
+                ((HttpServletResponse) response).setStatus(503));
+
+        verify(store).release("alice", "k1");
+        verify(store, never()).complete(anyString(), anyString(), any());
+    }
+
+    @Test
+    void replaysTheRecordedResponseWithoutRunningTheRequest() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        when(store.claim(eq("alice"), eq("k1"), anyString())).thenReturn(
+                IdempotencyStore.Claim.replay(new IdempotencyStore.StoredResponse(201, "application/json", body)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(keyed(BODY), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void answersConflictWhileTheFirstAttemptIsRunning() throws Exception {
+        when(store.claim(eq("alice"), eq("k1"), anyString())).thenReturn(IdempotencyStore.Claim.IN_FLIGHT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(keyed(BODY), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() throws Exception {
+        when(store.claim(eq("alice"), eq("k1"), anyString())).thenReturn(IdempotencyStore.Claim.MISMATCH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(keyed(BODY), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void fingerprintsTheBodySoThatADifferentBodyIsADifferentRequest() throws Exception {
+        when(store.claim(anyString(), anyString(), anyString())).thenReturn(IdempotencyStore.Claim.IN_FLIGHT);
+
+        filter.doFilter(keyed(BODY), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(keyed(BODY), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(keyed(BODY.replace('3', '4')), new MockHttpServletResponse(), new MockFilterChain());
+
+        ArgumentCaptor<String> fingerprints = ArgumentCaptor.forClass(String.class);
+        verify(store, times(3)).claim(eq("alice"), eq("k1"), fingerprints.capture());
+        assertThat(fingerprints.getAllValues().get(0)).isEqualTo(fingerprints.getAllValues().get(1));
+        assertThat(fingerprints.getAllValues().get(2)).isNotEqualTo(fingerprints.getAllValues().get(0));
+    }
+
+    @Test
+    void rejectsABodyOverTheLimitByItsDeclaredLength() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(keyed("x".repeat(65)), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void rejectsABodyOverTheLimitSentWithoutALength() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tickets") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.addHeader(IdempotencyFilter.KEY_HEADER, "k1");
+        request.setContent("x".repeat(65).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void passesThroughRequestsWithoutAKeyOrOnOtherRoutes() throws Exception {
+        MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/tickets");
+        withoutKey.setContent("x".repeat(65).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest otherRoute = new MockHttpServletRequest("GET", "/api/tickets/1");
+        otherRoute.addHeader(IdempotencyFilter.KEY_HEADER, "k1");
+        MockFilterChain first = new MockFilterChain();
+        MockFilterChain second = new MockFilterChain();
+
+        filter.doFilter(withoutKey, new MockHttpServletResponse(), first);
+        filter.doFilter(otherRoute, new MockHttpServletResponse(), second);
+
+        assertThat(first.getRequest()).isSameAs(withoutKey);
+        assertThat(second.getRequest()).isSameAs(otherRoute);
+        verifyNoInteractions(store);
+    }
+
+    private static MockHttpServletRequest keyed(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tickets");
+        request.addHeader(IdempotencyFilter.KEY_HEADER, "k1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
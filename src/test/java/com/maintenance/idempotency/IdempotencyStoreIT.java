@@ -0,0 +1,132 @@
+package com.maintenance.idempotency;
+
+import com.maintenance.MySqlIntegrationTest;
+import com.maintenance.entity.IdempotencyRecord;
+import com.maintenance.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The store against the migrated {@code idempotency_keys} table, which the entity must also
+ * pass Hibernate's schema validation against for the context to start.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// The store commits in transactions of its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyStoreIT extends MySqlIntegrationTest {
+
+    private static final IdempotencyStore.StoredResponse CREATED = new IdempotencyStore.StoredResponse(
+            201, "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private String username;
+
+    @BeforeEach
+    void newUser() {
+        username = "idem-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void runsOnceThenReplaysTheRecordedResponse() {
+        IdempotencyStore store = newStore();
+
+        assertThat(store.claim(username, "k1", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+        assertThat(store.claim(username, "k1", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.IN_FLIGHT);
+        assertThat(store.claim(username, "k1", "f2").outcome()).isEqualTo(IdempotencyStore.Outcome.MISMATCH);
+
+        store.complete(username, "k1", CREATED);
+
+        assertReplays(store.claim(username, "k1", "f1"));
+        assertThat(store.claim(username, "k1", "f2").outcome()).isEqualTo(IdempotencyStore.Outcome.MISMATCH);
+        // Another instance, with nothing cached, reads the response back from the table
+        assertReplays(newStore().claim(username, "k1", "f1"));
+    }
+
+    @Test
+    void keysAreCaseSensitiveAndPerUser() {
+        IdempotencyStore store = newStore();
+
+        assertThat(store.claim(username, "key", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+        assertThat(store.claim(username, "KEY", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+        assertThat(store.claim(username + "x", "key", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+    }
+
+    @Test
+    void aReleasedKeyRunsAgain() {
+        IdempotencyStore store = newStore();
+        store.claim(username, "k1", "f1");
+
+        store.release(username, "k1");
+
+        assertThat(store.claim(username, "k1", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+    }
+
+    @Test
+    void takesOverOnlyAKeyWhoseHeartbeatHasStopped() {
+        IdempotencyStore crashed = newStore();
+        IdempotencyStore running = newStore();
+        crashed.claim(username, "abandoned", "f1");
+        running.claim(username, "slow", "f1");
+        setHeartbeat("abandoned", LocalDateTime.now().minus(properties.getInFlightTimeout()).minusSeconds(1));
+        setHeartbeat("slow", LocalDateTime.now().minus(properties.getInFlightTimeout()).minusSeconds(1));
+
+        // The instance still running the slow request renews its key; the crashed one cannot
+        running.renewRunning();
+
+        IdempotencyStore other = newStore();
+        assertThat(other.claim(username, "abandoned", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.ACQUIRED);
+        assertThat(other.claim(username, "slow", "f1").outcome()).isEqualTo(IdempotencyStore.Outcome.IN_FLIGHT);
+    }
+
+    @Test
+    void deletesExpiredKeys() {
+        IdempotencyStore store = newStore();
+        store.claim(username, "old", "f1");
+        store.complete(username, "old", CREATED);
+        store.claim(username, "recent", "f1");
+        IdempotencyRecord old = repository.findByUsernameAndIdempotencyKey(username, "old").orElseThrow();
+        old.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        repository.save(old);
+
+        store.deleteExpired();
+
+        assertThat(repository.findByUsernameAndIdempotencyKey(username, "old")).isEmpty();
+        assertThat(repository.findByUsernameAndIdempotencyKey(username, "recent")).isPresent();
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(repository, properties, transactionManager);
+    }
+
+    private void setHeartbeat(String key, LocalDateTime heartbeatAt) {
+        IdempotencyRecord record = repository.findByUsernameAndIdempotencyKey(username, key).orElseThrow();
+        record.setHeartbeatAt(heartbeatAt);
+        repository.save(record);
+    }
+
+    private static void assertReplays(IdempotencyStore.Claim claim) {
+        assertThat(claim.outcome()).isEqualTo(IdempotencyStore.Outcome.REPLAY);
+        assertThat(claim.response().status()).isEqualTo(201);
+        assertThat(claim.response().contentType()).isEqualTo("application/json");
+        assertThat(claim.response().body()).isEqualTo(CREATED.body());
+    }
+}
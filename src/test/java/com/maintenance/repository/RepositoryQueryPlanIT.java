@@ -0,0 +1,359 @@
+package com.maintenance.repository;
+
+import com.maintenance.MySqlIntegrationTest;
+import com.maintenance.datagen.DataGenerator;
+import com.maintenance.datagen.DataGeneratorProperties;
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Room;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.TicketCategory;
+import com.maintenance.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for every repository query method, against a
+ * seeded MySQL, and fails on full table scans and filesorts. The statements are recorded at
+ * the pool with the parameters Hibernate bound, so the plans are those of the real queries
+ * rather than of hand-written copies.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.use_sql_comments=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanIT extends MySqlIntegrationTest {
+
+    // Tables small and static enough that a scan is always fine
+    private static final Set<String> FULL_SCAN_ALLOWED_TABLES = Set.of("ticket_categories", "system_config");
+
+    // Repositories over tables the generator does not fill; a plan on an empty table says nothing
+    private static final Set<Class<?>> UNSEEDED_REPOSITORIES = Set.of(
+            IdempotencyRecordRepository.class, TokenRevocationRepository.class, TicketCategoryRepository.class);
+
+    private static final String LEADING_WILDCARD = "Leading-wildcard LIKE cannot use a B-tree index";
+    private static final String NEARLY_EVERY_ROW = "Returns nearly every row; a scan is cheaper than the index";
+    private static final String EVERY_ACTIVE_BUILDING = "Reports on every active building; there are few of them";
+
+    private static final Map<String, Exemption> EXEMPTIONS = Map.ofEntries(
+            Map.entry("TicketRepository.searchTickets", Exemption.fullScan(LEADING_WILDCARD)),
+            Map.entry("TicketRepository.searchTicketsList", Exemption.fullScan(LEADING_WILDCARD)),
+            Map.entry("UserRepository.searchUsers", Exemption.fullScan(LEADING_WILDCARD)),
+            Map.entry("UserRepository.searchUsersList", Exemption.fullScan(LEADING_WILDCARD)),
+            Map.entry("BuildingRepository.searchBuildings", Exemption.fullScan(LEADING_WILDCARD)),
+            Map.entry("UserRepository.findByIsActiveTrue", Exemption.fullScan(NEARLY_EVERY_ROW)),
+            Map.entry("UserRepository.countActiveUsers", Exemption.fullScan(NEARLY_EVERY_ROW)),
+            Map.entry("BuildingRepository.findByIsActiveTrue", Exemption.fullScan(NEARLY_EVERY_ROW)),
+            Map.entry("BuildingRepository.countActiveBuildings", Exemption.fullScan(NEARLY_EVERY_ROW)),
+            Map.entry("BuildingRepository.countTicketsByBuilding", Exemption.fullScan(EVERY_ACTIVE_BUILDING)),
+            Map.entry("BuildingRepository.countRoomsByBuilding", Exemption.fullScan(EVERY_ACTIVE_BUILDING)),
+            Map.entry("BuildingRepository.findBuildingsWithActiveTickets", Exemption.fullScan(EVERY_ACTIVE_BUILDING)),
+            Map.entry("BuildingRepository.findBuildingsWithOverdueTickets", Exemption.fullScan(EVERY_ACTIVE_BUILDING)),
+            Map.entry("NotificationSettingsRepository.findByEmailNotificationsTrue",
+                    Exemption.fullScan("Preference flags are set for most users")),
+            Map.entry("NotificationSettingsRepository.findByTicketAssignedTrue",
+                    Exemption.fullScan("Preference flags are set for most users")),
+            Map.entry("UserRepository.findManagers",
+                    Exemption.filesort("OR across two roles produces two index ranges; the result is small")),
+            Map.entry("TicketStatusHistoryRepository.findByTicketsOrderByCreatedAtDesc",
+                    Exemption.filesort("Merging several ticket ranges by created_at requires a sort")),
+            Map.entry("TicketRepository.findUnassignedBacklog",
+                    Exemption.filesort("Priority rank comes from a CASE over the unassigned open tickets; "
+                            + "the page is bounded by app.assignment.max-bulk-size")));
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() throws Exception {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Long tickets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Long.class);
+        if (tickets != null && tickets > 0) {
+            return;
+        }
+
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setBuildings(20);
+        properties.setRooms(2_000);
+        properties.setTenants(2_000);
+        properties.setTechnicians(40);
+        properties.setAdmins(5);
+        properties.setTickets(50_000);
+        new DataGenerator(dataSource, new BCryptPasswordEncoder(4), properties).generate(LocalDateTime.now());
+        jdbcTemplate.execute("ANALYZE TABLE users, buildings, rooms, tickets, ticket_status_history, comments");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        Samples samples = new Samples();
+        List<String> violations = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Class<?> repositoryInterface = information.getRepositoryInterface();
+            if (UNSEEDED_REPOSITORIES.contains(repositoryInterface)) {
+                continue;
+            }
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(Modifying.class) || method.getName().startsWith("delete")) {
+                    continue;
+                }
+                String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                List<StatementRecorder.RecordedStatement> statements = execute(repository, method, samples);
+                if (statements.isEmpty()) {
+                    violations.add(name + ": no statement was executed");
+                }
+                for (StatementRecorder.RecordedStatement statement : statements) {
+                    violations.addAll(explain(name, statement));
+                }
+            }
+        }
+
+        assertThat(violations).isEmpty();
+    }
+
+    private List<StatementRecorder.RecordedStatement> execute(Object repository, Method method, Samples samples)
+            throws Exception {
+        Object[] arguments = new Object[method.getParameterCount()];
+        Parameter[] parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = samples.valueFor(parameterName(parameters[i]), parameters[i].getParameterizedType());
+        }
+
+        // Entities come from the persistence context otherwise, and their lookups would be missed
+        entityManager.clear();
+        recorder.start();
+        try {
+            method.invoke(repository, arguments);
+        } catch (InvocationTargetException ex) {
+            recorder.stop();
+            throw new AssertionError(method + " failed", ex.getCause());
+        }
+        return recorder.stop();
+    }
+
+    private List<String> explain(String name, StatementRecorder.RecordedStatement statement) {
+        if (!statement.sql().stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            return List.of();
+        }
+        Exemption exemption = EXEMPTIONS.getOrDefault(name, Exemption.NONE);
+        List<String> violations = new ArrayList<>();
+
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.parameters().toArray())) {
+            String table = valueOf(row, "table");
+            String type = valueOf(row, "type");
+            String extra = valueOf(row, "Extra");
+
+            // Derived tables and subquery results are materialized by MySQL itself
+            if (table.startsWith("<")) {
+                continue;
+            }
+
+            if ("ALL".equals(type) && !exemption.fullScanAllowed() && !FULL_SCAN_ALLOWED_TABLES.contains(table)) {
+                violations.add(String.format("%s: full table scan on '%s' (rows=%s) in %s",
+                        name, table, valueOf(row, "rows"), statement.sql()));
+            }
+
+            if (extra.contains("Using filesort") && !exemption.filesortAllowed()) {
+                violations.add(String.format("%s: filesort on '%s' (key=%s) in %s",
+                        name, table, valueOf(row, "key"), statement.sql()));
+            }
+        }
+        return violations;
+    }
+
+    private static String parameterName(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        return param != null ? param.value() : parameter.getName();
+    }
+
+    private static String valueOf(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Argument values for repository methods, taken from the seeded data by parameter name and
+     * type: a ticket that has an assignee, room and category, and the users around it.
+     */
+    private final class Samples {
+
+        private final LocalDateTime now = LocalDateTime.now();
+        private final Ticket ticket;
+        private final User reporter;
+        private final User technician;
+        private final User manager;
+        private final Room room;
+        // Read up front; the entities are detached before each call
+        private final String username;
+        private final String email;
+        private final Integer floorNumber;
+        private final String roomNumber;
+
+        Samples() {
+            Long ticketId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tickets WHERE assignee_id IS NOT NULL "
+                    + "AND room_id IS NOT NULL AND category_id IS NOT NULL", Long.class);
+            Long managerId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(manager_id) FROM buildings WHERE manager_id IS NOT NULL", Long.class);
+            ticket = entityManager.find(Ticket.class, ticketId);
+            reporter = ticket.getReporter();
+            technician = ticket.getAssignee();
+            room = ticket.getRoom();
+            manager = entityManager.find(User.class, managerId);
+            username = reporter.getUsername();
+            email = reporter.getEmail();
+            floorNumber = room.getFloorNumber();
+            roomNumber = room.getRoomNumber();
+        }
+
+        Object valueFor(String name, Type type) {
+            Class<?> raw = rawType(type);
+            if (Collection.class.isAssignableFrom(raw)) {
+                Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+                return List.of(valueFor(name, element));
+            }
+            if (raw == Pageable.class) {
+                return PageRequest.of(0, 20);
+            }
+            if (raw.isEnum()) {
+                return raw.getEnumConstants()[0];
+            }
+            if (raw == Ticket.class) {
+                return ticket;
+            }
+            if (raw == User.class) {
+                return user(name);
+            }
+            if (raw == Building.class) {
+                return ticket.getBuilding();
+            }
+            if (raw == Room.class) {
+                return room;
+            }
+            if (raw == TicketCategory.class) {
+                return ticket.getCategory();
+            }
+            if (raw == LocalDateTime.class) {
+                return switch (name) {
+                    case "now" -> now;
+                    case "dueDate" -> now.plusDays(3);
+                    case "startDate" -> now.minusMonths(12);
+                    default -> now.minusDays(7);
+                };
+            }
+            if (raw == Long.class || raw == long.class) {
+                return switch (name) {
+                    case "afterId" -> 0L;
+                    case "userId" -> reporter.getId();
+                    case "buildingId" -> ticket.getBuilding().getId();
+                    case "ids", "id", "ticketId" -> ticket.getId();
+                    default -> throw new IllegalArgumentException("No sample for Long parameter " + name);
+                };
+            }
+            if (raw == Integer.class || raw == int.class) {
+                return floorNumber;
+            }
+            if (raw == String.class) {
+                return switch (name) {
+                    case "username" -> username;
+                    case "email" -> email;
+                    case "roomNumber" -> roomNumber;
+                    default -> "leak";
+                };
+            }
+            throw new IllegalArgumentException("No sample for parameter " + name + " of type " + type);
+        }
+
+        private User user(String name) {
+            return switch (name) {
+                case "assignee", "technician", "user", "changedBy", "uploadedBy" -> technician;
+                case "manager" -> manager;
+                default -> reporter;
+            };
+        }
+
+        private static Class<?> rawType(Type type) {
+            return type instanceof ParameterizedType parameterized
+                    ? (Class<?>) parameterized.getRawType()
+                    : (Class<?>) type;
+        }
+    }
+
+    private record Exemption(boolean fullScanAllowed, boolean filesortAllowed, String reason) {
+
+        static final Exemption NONE = new Exemption(false, false, null);
+
+        static Exemption fullScan(String reason) {
+            return new Exemption(true, false, reason);
+        }
+
+        static Exemption filesort(String reason) {
+            return new Exemption(false, true, reason);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor statementRecorderPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof StatementRecorder)) {
+                        return new StatementRecorder(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
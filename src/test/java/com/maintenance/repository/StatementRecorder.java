@@ -0,0 +1,105 @@
+package com.maintenance.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Records the prepared statements executed through the pool while recording is on, with the
+ * parameters bound to them, so a test can replay exactly what Hibernate sent.
+ */
+class StatementRecorder extends DelegatingDataSource {
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private volatile boolean recording;
+
+    StatementRecorder(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    synchronized List<RecordedStatement> stop() {
+        recording = false;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private synchronized void record(String sql, TreeMap<Integer, Object> parameters) {
+        if (recording) {
+            statements.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if ("prepareStatement".equals(method.getName()) && result instanceof PreparedStatement statement) {
+                        return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                new Class<?>[] {PreparedStatement.class},
+                                new StatementHandler(statement, (String) args[0]));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement target;
+        private final String sql;
+        // Index to bound value, in index order; setNull binds null
+        private final TreeMap<Integer, Object> parameters = new TreeMap<>();
+
+        StatementHandler(PreparedStatement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameters.clear();
+            } else if (name.startsWith("execute")) {
+                record(sql, parameters);
+            }
+            return StatementRecorder.invoke(target, method, args);
+        }
+    }
+
+    record RecordedStatement(String sql, List<Object> parameters) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.maintenance.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    // Arbitrary, and negative like System.nanoTime() may be
+    private static final long T0 = -5_000 * SECOND;
+
+    @Test
+    void allowsTheBurstAtOnceThenOneTokenPerEmissionInterval() {
+        // 60 a minute: one token a second, up to 10 at once
+        TokenBucketLimiter limiter = limiter(60, 10);
+
+        for (int i = 0; i < 10; i++) {
+            TokenBucketLimiter.Decision decision = limiter.tryAcquire("client", T0);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(9 - i);
+            assertThat(decision.resetNanos()).isEqualTo((i + 1) * SECOND);
+        }
+
+        TokenBucketLimiter.Decision refused = limiter.tryAcquire("client", T0);
+        assertThat(refused.allowed()).isFalse();
+        assertThat(refused.remaining()).isZero();
+        assertThat(refused.retryAfterNanos()).isEqualTo(SECOND);
+
+        assertThat(limiter.tryAcquire("client", T0 + SECOND - 1).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("client", T0 + SECOND).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("client", T0 + SECOND).allowed()).isFalse();
+    }
+
+    @Test
+    void refillsCompletelyAfterAQuietSpellButNoFurther() {
+        TokenBucketLimiter limiter = limiter(60, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("client", T0);
+        }
+
+        long later = T0 + 60 * SECOND;
+        int allowed = 0;
+        while (limiter.tryAcquire("client", later).allowed()) {
+            allowed++;
+        }
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    void countsClientsSeparately() {
+        TokenBucketLimiter limiter = limiter(60, 1);
+
+        assertThat(limiter.tryAcquire("a", T0).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a", T0).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("b", T0).allowed()).isTrue();
+    }
+
+    @Test
+    void burstDefaultsToTheLimit() {
+        TokenBucketLimiter limiter = limiter(5, 0);
+
+        assertThat(limiter.getBurst()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("client", T0).allowed()).isTrue();
+        }
+        assertThat(limiter.tryAcquire("client", T0).allowed()).isFalse();
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        TokenBucketLimiter limiter = limiter(60, 10);
+        limiter.tryAcquire("busy", T0);
+        limiter.tryAcquire("busy", T0);
+        limiter.tryAcquire("quiet", T0);
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // "quiet" is full again after one second, "busy" only after two
+        limiter.evictIdle(T0 + SECOND);
+
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy", T0 + SECOND).remaining()).isEqualTo(8);
+    }
+
+    @Test
+    void sharesAnOverflowBucketOnceAStripeIsFull() {
+        RateLimitProperties.Group group = group(60, 1);
+        TokenBucketLimiter limiter = new TokenBucketLimiter(group, 1, 2);
+
+        assertThat(limiter.tryAcquire("a", T0).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("b", T0).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("c", T0).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("d", T0).allowed()).isFalse();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tokensTakenWhileEvictingAreNeverLost() throws Exception {
+        int threads = 4;
+        int keys = 200;
+        // One token each, so a second grant for any key means the first was lost
+        TokenBucketLimiter limiter = new TokenBucketLimiter(group(60, 1), 4, 1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            // Evicts at the time the clients ask, so every bucket not yet taken from is a candidate
+            Future<?> evictor = executor.submit(() -> {
+                while (running.get()) {
+                    limiter.evictIdle(T0);
+                }
+            });
+
+            for (int round = 0; round < 1_000; round++) {
+                String prefix = "client-" + round + "-";
+                AtomicInteger allowed = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> clients = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    clients.add(executor.submit(() -> {
+                        start.await();
+                        for (int k = 0; k < keys; k++) {
+                            if (limiter.tryAcquire(prefix + k, T0).allowed()) {
+                                allowed.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> client : clients) {
+                    client.get(10, TimeUnit.SECONDS);
+                }
+                assertThat(allowed.get()).as("tokens granted in round %d", round).isEqualTo(keys);
+            }
+
+            running.set(false);
+            evictor.get(10, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static TokenBucketLimiter limiter(int limit, int burst) {
+        return new TokenBucketLimiter(group(limit, burst), 4, 1_000);
+    }
+
+    private static RateLimitProperties.Group group(int limit, int burst) {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setLimit(limit);
+        group.setBurst(burst);
+        group.setPeriod(Duration.ofMinutes(1));
+        return group;
+    }
+}
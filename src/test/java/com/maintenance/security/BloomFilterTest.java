@@ -0,0 +1,68 @@
+package com.maintenance.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAKeyThatWasPut() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("jti:" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("jti:" + i))).isTrue();
+    }
+
+    @Test
+    void wronglyReportsAboutTheRateItWasSizedFor() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("jti:" + i));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("user:" + i)).count();
+
+        // About 1,000 expected
+        assertThat(falsePositives).isBetween(500L, 2_000L);
+    }
+
+    @Test
+    void anEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.001);
+
+        assertThat(filter.mightContain("jti:1")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+
+    @Test
+    void losesNoKeyToConcurrentPuts() throws Exception {
+        // Small, so that threads keep setting bits in the same words
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> puts = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                puts.add(executor.submit(() -> {
+                    for (int i = offset; i < 8_000; i += 8) {
+                        filter.put("user:" + i);
+                    }
+                }));
+            }
+            for (Future<?> put : puts) {
+                put.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(IntStream.range(0, 8_000).allMatch(i -> filter.mightContain("user:" + i))).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.maintenance.security;
+
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    // HS512 needs a key of at least 64 bytes
+    private static final String SECRET = "test-secret-for-the-jwt-authentication-filter-".repeat(2);
+
+    private final AuthenticatedUserCache userCache = mock(AuthenticatedUserCache.class);
+    private final TokenRevocationList revocations = mock(TokenRevocationList.class);
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 3_600_000L);
+        tokenProvider = spy(provider);
+        filter = new JwtAuthenticationFilter(tokenProvider, userCache, revocations);
+        when(userCache.get("alice")).thenReturn(Optional.of(user("alice")));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesAValidTokenThatWasNotRevoked() throws Exception {
+        String token = token("alice");
+        Claims claims = tokenProvider.getClaimsFromToken(token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("alice");
+        verify(revocations).isRevoked(claims.getId(), "alice", claims.getIssuedAt());
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void rejectsARevokedToken() throws Exception {
+        when(revocations.isRevoked(any(), anyString(), any())).thenReturn(true);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(bearer(token("alice")), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        // Left to the security chain to refuse
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void rejectsATokenWithABadSignatureWithoutCheckingRevocation() throws Exception {
+        String[] alice = token("alice").split("\\.");
+        String[] bob = token("bob").split("\\.");
+        // Bob's claims under Alice's signature
+        String tampered = alice[0] + "." + bob[1] + "." + alice[2];
+
+        filter.doFilter(bearer(tampered), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(revocations, never()).isRevoked(any(), any(), any());
+    }
+
+    @Test
+    void verifiesTheTokenOncePerRequest() throws Exception {
+        MockHttpServletRequest request = bearer(token("alice"));
+        // As the rate limiter does before the security chain
+        assertThat(tokenProvider.resolveClaims(request).getSubject()).isEqualTo("alice");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("alice");
+        verify(tokenProvider, times(1)).getClaimsFromToken(anyString());
+        verify(tokenProvider, never()).validateToken(anyString());
+    }
+
+    private String token(String username) {
+        return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(username, null));
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tickets");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("not-a-real-hash");
+        user.setRole(Role.TECHNICIAN);
+        user.setIsActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,117 @@
+package com.maintenance.security;
+
+import com.maintenance.MySqlIntegrationTest;
+import com.maintenance.repository.TokenRevocationRepository;
+import com.maintenance.service.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Revocations against the migrated {@code token_revocations} table.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Revocations are written in the repository's own transactions, as they are in the application
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationListIT extends MySqlIntegrationTest {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofDays(1);
+
+    @Autowired
+    private TokenRevocationRepository repository;
+
+    private TokenRevocationList revocations;
+    private String username;
+
+    @BeforeEach
+    void newList() {
+        revocations = newInstance();
+        username = "revoke-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void rejectsARevokedTokenOnly() {
+        String revoked = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+
+        revocations.revokeToken(revoked, username, inOneHour());
+
+        assertThat(revocations.isRevoked(revoked, username, new Date())).isTrue();
+        assertThat(revocations.isRevoked(other, username, new Date())).isFalse();
+        // Another instance, building its filter from the table
+        assertThat(newInstance().isRevoked(revoked, username, new Date())).isTrue();
+    }
+
+    @Test
+    void rejectsTheUsersTokensIssuedBeforeNotBefore() {
+        Date before = Date.from(Instant.now().minusSeconds(60));
+
+        revocations.onUserChanged(new UserChangedEvent(username, true));
+
+        assertThat(revocations.isRevoked(UUID.randomUUID().toString(), username, before)).isTrue();
+        // Tokens without an issue time count as issued long ago
+        assertThat(revocations.isRevoked(UUID.randomUUID().toString(), username, null)).isTrue();
+        // Signing in again afterwards gives a token that works
+        Date after = Date.from(Instant.now().plusSeconds(2));
+        assertThat(revocations.isRevoked(UUID.randomUUID().toString(), username, after)).isFalse();
+        assertThat(revocations.isRevoked(UUID.randomUUID().toString(), username + "x", before)).isFalse();
+    }
+
+    @Test
+    void ignoresUserChangesThatDoNotSignOut() {
+        revocations.onUserChanged(new UserChangedEvent(username));
+
+        assertThat(revocations.isRevoked(UUID.randomUUID().toString(), username,
+                Date.from(Instant.now().minusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void compactionDeletesExpiredRowsAndForgetsThem() {
+        String expired = UUID.randomUUID().toString();
+        String live = UUID.randomUUID().toString();
+        revocations.revokeToken(expired, username, Date.from(Instant.now().minusSeconds(60)));
+        revocations.revokeToken(live, username, inOneHour());
+        assertThat(revocations.isRevoked(expired, username, new Date())).isTrue();
+
+        revocations.compact();
+
+        assertThat(repository.existsByJti(expired)).isFalse();
+        assertThat(repository.existsByJti(live)).isTrue();
+        assertThat(revocations.isRevoked(expired, username, new Date())).isFalse();
+        assertThat(revocations.isRevoked(live, username, new Date())).isTrue();
+    }
+
+    @Test
+    void refreshPicksUpRevocationsMadeThroughAnotherInstance() {
+        String jti = UUID.randomUUID().toString();
+        // Built before the revocation exists
+        assertThat(revocations.isRevoked(jti, username, new Date())).isFalse();
+
+        newInstance().revokeToken(jti, username, inOneHour());
+        revocations.refresh();
+
+        assertThat(revocations.isRevoked(jti, username, new Date())).isTrue();
+    }
+
+    private TokenRevocationList newInstance() {
+        return new TokenRevocationList(repository, new TokenRevocationProperties(), TOKEN_LIFETIME.toMillis(),
+                new SimpleMeterRegistry());
+    }
+
+    private static Date inOneHour() {
+        return Date.from(Instant.now().plus(Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,167 @@
+package com.maintenance.service.impl;
+
+import com.maintenance.MySqlIntegrationTest;
+import com.maintenance.entity.Building;
+import com.maintenance.entity.Ticket;
+import com.maintenance.entity.User;
+import com.maintenance.entity.enums.Role;
+import com.maintenance.entity.enums.TicketStatus;
+import com.maintenance.repository.BuildingRepository;
+import com.maintenance.repository.TicketCategoryRepository;
+import com.maintenance.repository.TicketRepository;
+import com.maintenance.repository.TicketStatusHistoryRepository;
+import com.maintenance.repository.UserRepository;
+import com.maintenance.service.ReferenceDataService;
+import com.maintenance.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claims race through the service against a real MySQL, each claim in its own transaction as
+ * two requests would be, so it is the database's row lock that decides who gets the ticket.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TicketServiceImpl.class)
+// The claims must see committed rows, not a test transaction's
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TicketClaimIT extends MySqlIntegrationTest {
+
+    private static final int ROUNDS = 20;
+
+    @MockBean
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private TicketCategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User first;
+    private User second;
+    private Building building;
+
+    @BeforeEach
+    void createTechniciansAndBuilding() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            first = userRepository.save(technician());
+            second = userRepository.save(technician());
+            building = buildingRepository.save(building());
+        });
+    }
+
+    @Test
+    void ofTwoTechniciansClaimingOneOpenTicketExactlyOneGetsIt() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long ticketId = ticketRepository.save(openTicket()).getId();
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Optional<Ticket>> byFirst = executor.submit(() -> {
+                    start.await();
+                    return ticketService.claimTicket(ticketId, first);
+                });
+                Future<Optional<Ticket>> bySecond = executor.submit(() -> {
+                    start.await();
+                    return ticketService.claimTicket(ticketId, second);
+                });
+                Optional<Ticket> firstResult = byFirst.get(30, TimeUnit.SECONDS);
+                Optional<Ticket> secondResult = bySecond.get(30, TimeUnit.SECONDS);
+
+                assertThat(firstResult.isPresent() ^ secondResult.isPresent())
+                        .as("exactly one claim succeeds in round %d", round).isTrue();
+                User winner = firstResult.isPresent() ? first : second;
+                Ticket stored = ticketRepository.findById(ticketId).orElseThrow();
+                assertThat(stored.getStatus()).isEqualTo(TicketStatus.IN_PROGRESS);
+                assertThat(stored.getAssignee().getId()).isEqualTo(winner.getId());
+                assertThat(statusHistoryRepository.countByTicket(stored)).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void claimsOnlyTicketsThatAreOpenAndNotSomeoneElses() {
+        Ticket assignedToFirst = openTicket();
+        assignedToFirst.setAssignee(first);
+        Long assignedId = ticketRepository.save(assignedToFirst).getId();
+        Ticket resolved = openTicket();
+        resolved.setStatus(TicketStatus.RESOLVED);
+        Long resolvedId = ticketRepository.save(resolved).getId();
+
+        assertThat(ticketService.claimTicket(assignedId, second)).isEmpty();
+        assertThat(ticketService.claimTicket(resolvedId, first)).isEmpty();
+        assertThat(ticketService.claimTicket(assignedId, first)).isPresent();
+        // Once started, no longer open
+        assertThat(ticketService.claimTicket(assignedId, first)).isEmpty();
+    }
+
+    private Ticket openTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Radiator cold");
+        ticket.setDescription("The radiator in the hallway stays cold");
+        ticket.setCategory(categoryRepository.findAll().get(0));
+        ticket.setReporter(first);
+        ticket.setBuilding(building);
+        ticket.setStatus(TicketStatus.OPEN);
+        return ticket;
+    }
+
+    private static User technician() {
+        String name = "claim-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setFirstName("Claim");
+        user.setLastName("Test");
+        user.setRole(Role.TECHNICIAN);
+        return user;
+    }
+
+    private static Building building() {
+        Building building = new Building();
+        building.setName("Claim Test " + UUID.randomUUID());
+        building.setAddress("1 Test Street");
+        building.setCity("Testville");
+        building.setState("TS");
+        building.setZipCode("00000");
+        return building;
+    }
+}